@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.securityanalytics.util.AutoCorrelationsRepo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intrusion set matching of the mitre tags of a finding, as done for every finding when auto correlations are enabled.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AutoCorrelationsBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int tagsPerFinding;
+
+    private Set<String> findingTags;
+
+    private Map<String, Set<String>> autoCorrelations;
+
+    @Setup
+    public void setup() throws IOException {
+        autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
+
+        List<String> allTags = new ArrayList<>();
+        for (Set<String> tags: autoCorrelations.values()) {
+            allTags.addAll(tags);
+        }
+        Random random = new Random(42L);
+        findingTags = new HashSet<>();
+        while (findingTags.size() < tagsPerFinding) {
+            findingTags.add(allTags.get(random.nextInt(allTags.size())));
+        }
+    }
+
+    @Benchmark
+    public Set<String> validIntrusionSets() throws IOException {
+        return AutoCorrelationsRepo.validIntrusionSets(findingTags);
+    }
+
+    @Benchmark
+    public Set<String> validIntrusionSetsLinearScan() {
+        return AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, findingTags);
+    }
+
+    @Benchmark
+    public Set<String> correlatableTags() throws IOException {
+        return AutoCorrelationsRepo.correlatableTags(findingTags);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.action.PublishFindingsRequest;
+import org.opensearch.commons.alerting.action.SubscribeFindingsResponse;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriteBuffer;
+import org.opensearch.securityanalytics.correlation.CorrelationLevelAllocator;
+import org.opensearch.securityanalytics.correlation.CorrelationLookupCache;
+import org.opensearch.securityanalytics.correlation.CorrelationMetrics;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.logtype.LogTypeSnapshot;
+import org.opensearch.securityanalytics.model.CustomLogType;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.IndexUtils;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end throughput of {@link TransportCorrelateFindingAction} in a single JVM. The cluster is replaced by
+ * {@link StubClient}, so the benchmark measures the correlation engine itself: micro-batching, join & vector embedding
+ * of findings, level allocation and buffered history writes.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CorrelateFindingsBenchmark {
+
+    private static final int FINDINGS_PER_INVOCATION = 1000;
+
+    private static final String MONITOR_ID = "monitor-1";
+
+    private static final String LOG_TYPE = "test_windows";
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private ThreadPool threadPool;
+
+    private StubClient client;
+
+    private TransportCorrelateFindingAction action;
+
+    private Task task;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        threadPool = new TestThreadPool(CorrelateFindingsBenchmark.class.getSimpleName());
+
+        Detector detector = new Detector("detector-1", 1L, "benchmark detector", false,
+                new IntervalSchedule(5, ChronoUnit.MINUTES, null), Instant.now(), null, LOG_TYPE, null,
+                List.of(new DetectorInput("", List.of("windows"), List.of(), List.of())), List.of(), List.of(MONITOR_ID),
+                "", "", "", "", "", "", Map.of(), List.of(), false);
+        client = new StubClient(threadPool, detector);
+
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE.getKey(), batchSize)
+                .put(SecurityAnalyticsSettings.CORRELATION_BATCH_DELAY.getKey(), TimeValue.timeValueMillis(5))
+                .put(SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_INTERVAL.getKey(), TimeValue.timeValueMillis(50))
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings())
+                .thenReturn(new ClusterSettings(settings, new HashSet<>(new SecurityAnalyticsPlugin().getSettings())));
+
+        DetectorIndices detectorIndices = mock(DetectorIndices.class);
+        when(detectorIndices.detectorIndexExists()).thenReturn(true);
+        when(detectorIndices.getThreadPool()).thenReturn(threadPool);
+
+        CorrelationIndices correlationIndices = mock(CorrelationIndices.class);
+        when(correlationIndices.correlationIndexExists()).thenReturn(true);
+        when(correlationIndices.correlationMetadataIndexExists()).thenReturn(true);
+        when(correlationIndices.correlationAlertIndexExists()).thenReturn(true);
+        when(correlationIndices.correlationGraphIndexExists()).thenReturn(true);
+        IndexUtils.correlationIndexUpdated();
+
+        LogTypeSnapshot snapshot = new LogTypeSnapshot(1L, "benchmark",
+                Map.of(LOG_TYPE, new CustomLogType(null, null, LOG_TYPE, "", "Other", "Sigma", Map.of("correlation_id", 1))),
+                List.of());
+        LogTypeService logTypeService = mock(LogTypeService.class);
+        doAnswer(invocation -> {
+            ActionListener<LogTypeSnapshot> listener = invocation.getArgument(0);
+            listener.onResponse(snapshot);
+            return null;
+        }).when(logTypeService).getLogTypeSnapshot(any());
+
+        NamedXContentRegistry xContentRegistry = new NamedXContentRegistry(new SecurityAnalyticsPlugin().getNamedXContent());
+        action = new TransportCorrelateFindingAction(
+                mock(TransportService.class),
+                client,
+                xContentRegistry,
+                detectorIndices,
+                correlationIndices,
+                logTypeService,
+                new CorrelationRuleCache(client, clusterService, xContentRegistry),
+                new CorrelationLevelAllocator(client, clusterService),
+                new CorrelationHistoryWriteBuffer(client, clusterService, threadPool),
+                new CorrelationLookupCache(clusterService),
+                clusterService,
+                settings,
+                new ActionFilters(Set.of()),
+                mock(CorrelationRuleScheduler.class),
+                new CorrelationMetrics()
+        );
+        task = new Task(1L, "transport", TransportCorrelateFindingAction.class.getSimpleName(), "", TaskId.EMPTY_TASK_ID, Map.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Correlates {@link #FINDINGS_PER_INVOCATION} findings, failing the iteration if any of them fails to be correlated
+     * so that failures never show up as throughput.
+     */
+    @Benchmark
+    @OperationsPerInvocation(FINDINGS_PER_INVOCATION)
+    public void correlateFindings() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(FINDINGS_PER_INVOCATION);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ActionListener<SubscribeFindingsResponse> listener = ActionListener.wrap(
+                response -> latch.countDown(),
+                e -> {
+                    failures.incrementAndGet();
+                    failure.compareAndSet(null, e);
+                    latch.countDown();
+                }
+        );
+
+        for (int i = 0; i < FINDINGS_PER_INVOCATION; ++i) {
+            action.execute(task, new PublishFindingsRequest(MONITOR_ID, randomFinding()), listener);
+        }
+        if (!latch.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Timed out waiting for findings to be correlated");
+        }
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " of " + FINDINGS_PER_INVOCATION + " findings failed to be correlated", failure.get());
+        }
+    }
+
+    private static Finding randomFinding() {
+        String docId = UUID.randomUUID().toString();
+        return new Finding(
+                UUID.randomUUID().toString(),
+                List.of(docId),
+                List.of(docId),
+                MONITOR_ID,
+                "benchmark monitor",
+                "windows",
+                List.of(new DocLevelQuery("1", "q", List.of(), "fieldA:val", List.of("attack.t1000"))),
+                Instant.now(),
+                "1234"
+        );
+    }
+}
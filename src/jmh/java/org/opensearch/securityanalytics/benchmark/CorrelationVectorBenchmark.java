@@ -0,0 +1,103 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsArraySerializer;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of correlation vectors & the correlation history documents carrying them, and the encoding of the
+ * vectors into the binary doc values written by {@link org.opensearch.securityanalytics.correlation.index.VectorField}.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CorrelationVectorBenchmark {
+
+    private final CorrelationVectorSerializer serializer = new CorrelationVectorAsArraySerializer();
+
+    private long counter;
+
+    private float timestampFeature;
+
+    private float[] vector;
+
+    private byte[] encodedVector;
+
+    @Setup
+    public void setup() {
+        counter = 12_350L;
+        timestampFeature = 86_400f;
+        vector = new float[]{(float) counter, ((float) counter) - 50.0f, timestampFeature};
+        encodedVector = serializer.floatToByteArray(vector);
+    }
+
+    /**
+     * Builds the document of an orphan finding the way {@code VectorEmbeddingsEngine} does.
+     */
+    @Benchmark
+    public BytesReference orphanFindingDocument() throws IOException {
+        float[] corrVector = new float[3];
+        corrVector[0] = (float) counter;
+        corrVector[1] = ((float) counter) - 50.0f;
+        corrVector[2] = timestampFeature;
+
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.field("root", false);
+        builder.field("counter", counter);
+        builder.field("finding1", "5b6e1a0a-3c5f-4c4a-8a7e-1e2b5b0b3f6e");
+        builder.field("finding2", "");
+        builder.field("logType", "3");
+        builder.field("timestamp", 1_700_000_000_000L);
+        builder.field("corr_vector", corrVector);
+        builder.field("recordType", "finding");
+        builder.field("scoreTimestamp", 0L);
+        builder.endObject();
+        return BytesReference.bytes(builder);
+    }
+
+    /**
+     * Builds the neighbour query vector of a finding the way {@code VectorEmbeddingsEngine} does.
+     */
+    @Benchmark
+    public float[] neighbourQueryVector() {
+        float[] query = new float[3];
+        for (int i = 0; i < 2; ++i) {
+            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
+        }
+        query[2] = timestampFeature;
+        return query;
+    }
+
+    @Benchmark
+    public byte[] encodeVector() {
+        return serializer.floatToByteArray(vector);
+    }
+
+    @Benchmark
+    public float[] decodeVector() {
+        return serializer.byteToFloatArray(new ByteArrayInputStream(encodedVector));
+    }
+}
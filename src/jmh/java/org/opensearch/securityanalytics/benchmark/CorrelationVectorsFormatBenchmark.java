@@ -0,0 +1,110 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.securityanalytics.correlation.index.codec.correlation990.CorrelationCodec990;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes & reads synthetic segments of correlation vectors through {@link CorrelationCodec990}, i.e. the HNSW vectors
+ * format of {@code PerFieldCorrelationVectorsFormat990}.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CorrelationVectorsFormatBenchmark {
+
+    private static final String FIELD = "corr_vector";
+
+    @Param({"10000", "100000"})
+    public int numVectors;
+
+    private float[][] vectors;
+
+    private Directory searchDirectory;
+
+    private DirectoryReader reader;
+
+    private IndexSearcher searcher;
+
+    private float[] queryVector;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random random = new Random(42L);
+        vectors = new float[numVectors][];
+        for (int i = 0; i < numVectors; ++i) {
+            // levels are spaced by 50, the timestamp feature is the age of the finding in seconds.
+            long level = 50L * (1 + random.nextInt(numVectors / 10 + 1));
+            vectors[i] = new float[]{(float) level, ((float) level) - 50.0f, (float) random.nextInt(86_400)};
+        }
+
+        searchDirectory = new ByteBuffersDirectory();
+        writeSegment(searchDirectory);
+        reader = DirectoryReader.open(searchDirectory);
+        searcher = new IndexSearcher(reader);
+        queryVector = vectors[random.nextInt(numVectors)];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        searchDirectory.close();
+    }
+
+    @Benchmark
+    public void writeSegment() throws IOException {
+        try (Directory directory = new ByteBuffersDirectory()) {
+            writeSegment(directory);
+        }
+    }
+
+    @Benchmark
+    public TopDocs searchNeighbours() throws IOException {
+        return searcher.search(new KnnFloatVectorQuery(FIELD, queryVector, 100), 100);
+    }
+
+    private void writeSegment(Directory directory) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig().setCodec(new CorrelationCodec990());
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (float[] vector: vectors) {
+                Document doc = new Document();
+                doc.add(new KnnFloatVectorField(FIELD, vector, VectorSimilarityFunction.EUCLIDEAN));
+                writer.addDocument(doc);
+            }
+            writer.forceMerge(1);
+        }
+    }
+}
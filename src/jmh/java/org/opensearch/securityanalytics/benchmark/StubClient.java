@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.benchmark;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.client.NoOpClient;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link org.opensearch.client.Client} answering the requests of the correlation engine without a cluster:
+ * detector searches return the given detector, the correlation metadata index holds a single root document, every other
+ * search is empty and all writes succeed.
+ */
+public class StubClient extends NoOpClient {
+
+    private static final String ROOT_DOC_ID = "root";
+
+    private final BytesReference detectorSource;
+
+    private final String detectorId;
+
+    private final AtomicLong seqNo = new AtomicLong();
+
+    public StubClient(ThreadPool threadPool, Detector detector) throws IOException {
+        super(threadPool);
+        this.detectorId = detector.getId();
+        this.detectorSource = BytesReference.bytes(detector.toXContentWithUser(XContentFactory.jsonBuilder(),
+                new ToXContent.MapParams(Map.of("with_type", "true"))));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+            ActionType<Response> action,
+            Request request,
+            ActionListener<Response> listener
+    ) {
+        try {
+            if (request instanceof SearchRequest) {
+                listener.onResponse((Response) search((SearchRequest) request));
+            } else if (request instanceof MultiSearchRequest) {
+                List<SearchRequest> requests = ((MultiSearchRequest) request).requests();
+                MultiSearchResponse.Item[] items = new MultiSearchResponse.Item[requests.size()];
+                for (int idx = 0; idx < items.length; ++idx) {
+                    items[idx] = new MultiSearchResponse.Item(search(requests.get(idx)), null);
+                }
+                listener.onResponse((Response) new MultiSearchResponse(items, 1L));
+            } else if (request instanceof GetRequest) {
+                GetRequest getRequest = (GetRequest) request;
+                GetResult result = new GetResult(getRequest.index(), getRequest.id(), seqNo.incrementAndGet(), 1L, 1L, true,
+                        rootDoc(0L), Map.of(), Map.of());
+                listener.onResponse((Response) new GetResponse(result));
+            } else if (request instanceof IndexRequest) {
+                listener.onResponse((Response) indexResponse((IndexRequest) request));
+            } else if (request instanceof BulkRequest) {
+                List<DocWriteRequest<?>> requests = ((BulkRequest) request).requests();
+                BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+                for (int idx = 0; idx < items.length; ++idx) {
+                    DocWriteRequest<?> docRequest = requests.get(idx);
+                    items[idx] = BulkItemResponse.success(idx, docRequest.opType(),
+                            new IndexResponse(new ShardId(docRequest.index(), "_na_", 0), String.valueOf(idx), seqNo.incrementAndGet(), 1L, 1L, true));
+                }
+                listener.onResponse((Response) new BulkResponse(items, 1L));
+            } else {
+                listener.onResponse(null);
+            }
+        } catch (IOException e) {
+            listener.onFailure(new UncheckedIOException(e));
+        }
+    }
+
+    private SearchResponse search(SearchRequest request) throws IOException {
+        List<String> indices = Arrays.asList(request.indices());
+        if (indices.contains(Detector.DETECTORS_INDEX)) {
+            SearchHit hit = new SearchHit(0, detectorId, Map.of(), Map.of());
+            hit.sourceRef(detectorSource);
+            return searchResponse(hit);
+        } else if (indices.contains(CorrelationIndices.CORRELATION_METADATA_INDEX)) {
+            SearchHit hit = new SearchHit(0, ROOT_DOC_ID, Map.of(), Map.of());
+            hit.sourceRef(rootDoc(System.currentTimeMillis()));
+            return searchResponse(hit);
+        }
+        return searchResponse();
+    }
+
+    private IndexResponse indexResponse(IndexRequest request) {
+        String id = request.id() != null ? request.id() : String.valueOf(seqNo.get());
+        return new IndexResponse(new ShardId(request.index(), "_na_", 0), id, seqNo.incrementAndGet(), 1L, 1L, true);
+    }
+
+    private static BytesReference rootDoc(long scoreTimestamp) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.field("root", true);
+        builder.field("counter", 0L);
+        builder.field("timestamp", 0L);
+        builder.field("scoreTimestamp", scoreTimestamp);
+        builder.endObject();
+        return BytesReference.bytes(builder);
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        InternalSearchResponse internalResponse = new InternalSearchResponse(searchHits, InternalAggregations.EMPTY, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
@@ -31,6 +31,7 @@ import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.core.xcontent.XContentParserUtils;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
+import org.opensearch.index.IndexModule;
 import org.opensearch.index.IndexSettings;
 import org.opensearch.index.codec.CodecServiceFactory;
 import org.opensearch.index.engine.EngineFactory;
@@ -52,7 +53,10 @@ import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
 import org.opensearch.securityanalytics.action.AckAlertsAction;
 import org.opensearch.securityanalytics.action.AckCorrelationAlertsAction;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingAction;
 import org.opensearch.securityanalytics.action.CorrelatedFindingAction;
+import org.opensearch.securityanalytics.action.CorrelationGraphAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
 import org.opensearch.securityanalytics.action.CreateIndexMappingsAction;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.DeleteCustomLogTypeAction;
@@ -78,7 +82,13 @@ import org.opensearch.securityanalytics.action.SearchRuleAction;
 import org.opensearch.securityanalytics.action.TestS3ConnectionAction;
 import org.opensearch.securityanalytics.action.UpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.action.ValidateRulesAction;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriteBuffer;
+import org.opensearch.securityanalytics.correlation.CorrelationLevelAllocator;
+import org.opensearch.securityanalytics.correlation.CorrelationLookupCache;
+import org.opensearch.securityanalytics.correlation.CorrelationMetrics;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
 import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodecService;
 import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
@@ -89,6 +99,7 @@ import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.mapper.IndexTemplateManager;
 import org.opensearch.securityanalytics.mapper.MapperService;
+import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.DetectorInput;
@@ -114,6 +125,9 @@ import org.opensearch.securityanalytics.resthandler.RestIndexDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestIndexRuleAction;
 import org.opensearch.securityanalytics.resthandler.RestListCorrelationAction;
 import org.opensearch.securityanalytics.resthandler.RestListIOCsAction;
+import org.opensearch.securityanalytics.resthandler.RestBatchSearchCorrelationAction;
+import org.opensearch.securityanalytics.resthandler.RestCorrelationGraphAction;
+import org.opensearch.securityanalytics.resthandler.RestCorrelationStatsAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchCorrelationAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchCorrelationRuleAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchCustomLogTypeAction;
@@ -198,6 +212,9 @@ import org.opensearch.securityanalytics.transport.TransportIndexDetectorAction;
 import org.opensearch.securityanalytics.transport.TransportIndexRuleAction;
 import org.opensearch.securityanalytics.transport.TransportListCorrelationAction;
 import org.opensearch.securityanalytics.transport.TransportListIOCsAction;
+import org.opensearch.securityanalytics.transport.TransportBatchSearchCorrelationAction;
+import org.opensearch.securityanalytics.transport.TransportCorrelationGraphAction;
+import org.opensearch.securityanalytics.transport.TransportCorrelationStatsAction;
 import org.opensearch.securityanalytics.transport.TransportSearchCorrelationAction;
 import org.opensearch.securityanalytics.transport.TransportSearchCorrelationRuleAction;
 import org.opensearch.securityanalytics.transport.TransportSearchCustomLogTypeAction;
@@ -239,7 +256,10 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
     public static final String DETECTOR_BASE_URI = PLUGINS_BASE_URI + "/detectors";
     public static final String RULE_BASE_URI = PLUGINS_BASE_URI + "/rules";
     public static final String FINDINGS_CORRELATE_URI = FINDINGS_BASE_URI + "/correlate";
+    public static final String FINDINGS_CORRELATION_GRAPH_URI = FINDINGS_CORRELATE_URI + "/graph";
     public static final String LIST_CORRELATIONS_URI = PLUGINS_BASE_URI + "/correlations";
+    public static final String STATS_URI = PLUGINS_BASE_URI + "/stats";
+    public static final String NODE_STATS_URI = PLUGINS_BASE_URI + "/{nodeId}/stats";
     public static final String CORRELATION_RULES_BASE_URI = PLUGINS_BASE_URI + "/correlation/rules";
     public static final String THREAT_INTEL_BASE_URI = PLUGINS_BASE_URI + "/threat_intel";
     public static final String THREAT_INTEL_SOURCE_URI = PLUGINS_BASE_URI + "/threat_intel/sources";
@@ -282,6 +302,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
 
     private SATIFSourceConfigService saTifSourceConfigService;
 
+    private CorrelationRuleCache correlationRuleCache;
+
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
         return Collections.singletonList(new SystemIndexDescriptor(THREAT_INTEL_DATA_INDEX_NAME_PREFIX, "System index used for threat intel data"));
@@ -312,6 +334,12 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         mapperService = new MapperService(client, clusterService, indexNameExpressionResolver, indexTemplateManager, logTypeService);
         ruleIndices = new RuleIndices(logTypeService, client, clusterService, threadPool);
         correlationRuleIndices = new CorrelationRuleIndices(client, clusterService);
+        correlationRuleCache = new CorrelationRuleCache(client, clusterService, xContentRegistry);
+        CorrelationLevelAllocator correlationLevelAllocator = new CorrelationLevelAllocator(client, clusterService);
+        CorrelationHistoryWriteBuffer correlationHistoryWriteBuffer = new CorrelationHistoryWriteBuffer(client, clusterService, threadPool);
+        CorrelationLookupCache correlationLookupCache = new CorrelationLookupCache(clusterService);
+        CorrelationMetrics correlationMetrics = new CorrelationMetrics();
+        correlationMetrics.registerQueue("history_write_buffer", correlationHistoryWriteBuffer::pendingDocs);
         ThreatIntelFeedDataService threatIntelFeedDataService = new ThreatIntelFeedDataService(clusterService, client, indexNameExpressionResolver, xContentRegistry);
         DetectorThreatIntelService detectorThreatIntelService = new DetectorThreatIntelService(threatIntelFeedDataService, client, xContentRegistry);
         TIFJobParameterService tifJobParameterService = new TIFJobParameterService(client, clusterService);
@@ -322,8 +350,10 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         SATIFSourceConfigManagementService saTifSourceConfigManagementService = new SATIFSourceConfigManagementService(saTifSourceConfigService, threatIntelLockService, stix2IOCFetchService, xContentRegistry, clusterService);
         SecurityAnalyticsRunner.getJobRunnerInstance();
         TIFSourceConfigRunner.getJobRunnerInstance().initialize(clusterService, threatIntelLockService, threadPool, saTifSourceConfigManagementService, saTifSourceConfigService);
-        CorrelationAlertService correlationAlertService = new CorrelationAlertService(client, xContentRegistry);
+        CorrelationAlertService correlationAlertService = new CorrelationAlertService(client, xContentRegistry, clusterService);
         NotificationService notificationService = new NotificationService((NodeClient) client, scriptService);
+        CorrelationRuleScheduler correlationRuleScheduler = new CorrelationRuleScheduler(correlationAlertService, notificationService, clusterService, threadPool);
+        correlationMetrics.registerQueue("alert_scheduler", correlationRuleScheduler::pendingAlerts);
         TIFJobRunner.getJobRunnerInstance().initialize(clusterService, tifJobUpdateService, tifJobParameterService, threatIntelLockService, threadPool, detectorThreatIntelService);
         IocFindingService iocFindingService = new IocFindingService(client, clusterService, xContentRegistry);
         ThreatIntelAlertService threatIntelAlertService = new ThreatIntelAlertService(client, clusterService, xContentRegistry);
@@ -331,12 +361,23 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         DefaultTifSourceConfigLoaderService defaultTifSourceConfigLoaderService = new DefaultTifSourceConfigLoaderService(builtInTIFMetadataLoader, client, saTifSourceConfigManagementService);
         return List.of(
                 detectorIndices, correlationIndices, correlationRuleIndices, ruleTopicIndices, customLogTypeIndices, ruleIndices, threatIntelAlertService,
-                mapperService, indexTemplateManager, builtinLogTypeLoader, builtInTIFMetadataLoader, threatIntelFeedDataService, detectorThreatIntelService,
-                correlationAlertService, notificationService,
+                mapperService, indexTemplateManager, builtinLogTypeLoader, logTypeService, builtInTIFMetadataLoader, threatIntelFeedDataService, detectorThreatIntelService,
+                correlationAlertService, notificationService, correlationRuleScheduler, correlationRuleCache, correlationLevelAllocator, correlationHistoryWriteBuffer, correlationLookupCache,
+                correlationMetrics,
                 tifJobUpdateService, tifJobParameterService, threatIntelLockService, saTifSourceConfigService, saTifSourceConfigManagementService, stix2IOCFetchService,
                 ioCScanService, defaultTifSourceConfigLoaderService);
     }
 
+    @Override
+    public void onIndexModule(IndexModule indexModule) {
+        if (CorrelationRule.CORRELATION_RULE_INDEX.equals(indexModule.getIndex().getName()) && correlationRuleCache != null) {
+            indexModule.addIndexOperationListener(correlationRuleCache);
+        }
+        if (LogTypeService.LOG_TYPE_INDEX.equals(indexModule.getIndex().getName()) && logTypeService != null) {
+            indexModule.addIndexOperationListener(logTypeService);
+        }
+    }
+
     @Override
     public Collection<Class<? extends LifecycleComponent>> getGuiceServiceClasses() {
         return List.of(DetectorIndexManagementService.class, BuiltinLogTypeLoader.class);
@@ -370,6 +411,9 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestValidateRulesAction(),
                 new RestGetAllRuleCategoriesAction(),
                 new RestSearchCorrelationAction(),
+                new RestBatchSearchCorrelationAction(),
+                new RestCorrelationGraphAction(),
+                new RestCorrelationStatsAction(),
                 new RestIndexCorrelationRuleAction(),
                 new RestDeleteCorrelationRuleAction(),
                 new RestListCorrelationAction(),
@@ -496,6 +540,20 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 SecurityAnalyticsSettings.IS_CORRELATION_INDEX_SETTING,
                 SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
                 SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS,
+                SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_TTL,
+                SecurityAnalyticsSettings.LOG_TYPE_SNAPSHOT_TTL,
+                SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_BATCH_DELAY,
+                SecurityAnalyticsSettings.CORRELATION_LEVEL_LEASE_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_SEARCH_PAGE_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_ASYNC_WRITES,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_INTERVAL,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_ALERT_FLUSH_INTERVAL,
+                SecurityAnalyticsSettings.CORRELATION_ALERT_REGISTRY_TTL,
+                SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_TTL,
+                SecurityAnalyticsSettings.RULE_COMPILATION_PARALLELISM,
                 SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA,
                 SecurityAnalyticsSettings.ENABLE_WORKFLOW_USAGE,
                 SecurityAnalyticsSettings.TIF_UPDATE_INTERVAL,
@@ -526,6 +584,9 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionPlugin.ActionHandler<>(ValidateRulesAction.INSTANCE, TransportValidateRulesAction.class),
                 new ActionPlugin.ActionHandler<>(GetAllRuleCategoriesAction.INSTANCE, TransportGetAllRuleCategoriesAction.class),
                 new ActionPlugin.ActionHandler<>(CorrelatedFindingAction.INSTANCE, TransportSearchCorrelationAction.class),
+                new ActionPlugin.ActionHandler<>(BatchCorrelatedFindingAction.INSTANCE, TransportBatchSearchCorrelationAction.class),
+                new ActionPlugin.ActionHandler<>(CorrelationGraphAction.INSTANCE, TransportCorrelationGraphAction.class),
+                new ActionPlugin.ActionHandler<>(CorrelationStatsAction.INSTANCE, TransportCorrelationStatsAction.class),
                 new ActionPlugin.ActionHandler<>(IndexCorrelationRuleAction.INSTANCE, TransportIndexCorrelationRuleAction.class),
                 new ActionPlugin.ActionHandler<>(DeleteCorrelationRuleAction.INSTANCE, TransportDeleteCorrelationRuleAction.class),
                 new ActionPlugin.ActionHandler<>(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_TYPE, TransportCorrelateFindingAction.class),
@@ -0,0 +1,16 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class BatchCorrelatedFindingAction extends ActionType<BatchCorrelatedFindingResponse> {
+    public static final BatchCorrelatedFindingAction INSTANCE = new BatchCorrelatedFindingAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/correlations/findings/batch";
+
+    public BatchCorrelatedFindingAction() {
+        super(NAME, BatchCorrelatedFindingResponse::new);
+    }
+}
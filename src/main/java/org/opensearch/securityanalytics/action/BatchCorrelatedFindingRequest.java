@@ -0,0 +1,85 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.ValidateActions;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class BatchCorrelatedFindingRequest extends ActionRequest {
+
+    public static final int MAX_FINDINGS = 1000;
+
+    private List<String> findingIds;
+
+    private String detectorType;
+
+    private long timeWindow;
+
+    private int noOfNearbyFindings;
+
+    public BatchCorrelatedFindingRequest(List<String> findingIds, String detectorType, long timeWindow, int noOfNearbyFindings) {
+        super();
+        this.findingIds = findingIds;
+        this.detectorType = detectorType;
+        this.timeWindow = timeWindow;
+        this.noOfNearbyFindings = noOfNearbyFindings;
+    }
+
+    public BatchCorrelatedFindingRequest(StreamInput sin) throws IOException {
+        this(
+                Collections.unmodifiableList(sin.readStringList()),
+                sin.readString(),
+                sin.readLong(),
+                sin.readInt()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (findingIds == null || findingIds.isEmpty()) {
+            validationException = ValidateActions.addValidationError("finding ids list cannot be empty", validationException);
+        } else if (findingIds.size() > MAX_FINDINGS) {
+            validationException = ValidateActions.addValidationError(String.format(Locale.getDefault(),
+                    "cannot correlate more than %d findings per request", MAX_FINDINGS), validationException);
+        }
+        if (detectorType == null) {
+            validationException = ValidateActions.addValidationError("detector type is missing", validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeStringCollection(findingIds);
+        out.writeString(detectorType);
+        out.writeLong(timeWindow);
+        out.writeInt(noOfNearbyFindings);
+    }
+
+    public List<String> getFindingIds() {
+        return findingIds;
+    }
+
+    public String getDetectorType() {
+        return detectorType;
+    }
+
+    public long getTimeWindow() {
+        return timeWindow;
+    }
+
+    public int getNoOfNearbyFindings() {
+        return noOfNearbyFindings;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Correlated findings of every requested finding, in request order.
+ */
+public class BatchCorrelatedFindingResponse extends ActionResponse implements ToXContentObject {
+
+    private Map<String, List<FindingWithScore>> findings;
+
+    protected static final String FINDINGS = "findings";
+
+    public BatchCorrelatedFindingResponse(Map<String, List<FindingWithScore>> findings) {
+        super();
+        this.findings = findings;
+    }
+
+    public BatchCorrelatedFindingResponse(StreamInput sin) throws IOException {
+        this.findings = new LinkedHashMap<>();
+        int size = sin.readVInt();
+        for (int i = 0; i < size; ++i) {
+            findings.put(sin.readString(), sin.readList(FindingWithScore::new));
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(findings.size());
+        for (Map.Entry<String, List<FindingWithScore>> entry: findings.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeCollection(entry.getValue());
+        }
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().startObject(FINDINGS);
+        for (Map.Entry<String, List<FindingWithScore>> entry: findings.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        return builder.endObject().endObject();
+    }
+
+    public Map<String, List<FindingWithScore>> getFindings() {
+        return findings;
+    }
+}
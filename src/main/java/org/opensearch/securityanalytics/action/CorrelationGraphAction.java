@@ -0,0 +1,16 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class CorrelationGraphAction extends ActionType<CorrelationGraphResponse> {
+    public static final CorrelationGraphAction INSTANCE = new CorrelationGraphAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/correlations/findings/graph";
+
+    public CorrelationGraphAction() {
+        super(NAME, CorrelationGraphResponse::new);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.ValidateActions;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Neighbourhood of a finding in the correlation graph. With {@code hops} 0 the whole connected component of the finding
+ * is returned, in both cases at most {@code maxFindings} findings.
+ */
+public class CorrelationGraphRequest extends ActionRequest {
+
+    public static final int MAX_FINDINGS = 10000;
+
+    private String findingId;
+
+    private int hops;
+
+    private int maxFindings;
+
+    public CorrelationGraphRequest(String findingId, int hops, int maxFindings) {
+        super();
+        this.findingId = findingId;
+        this.hops = hops;
+        this.maxFindings = maxFindings;
+    }
+
+    public CorrelationGraphRequest(StreamInput sin) throws IOException {
+        this(
+                sin.readString(),
+                sin.readInt(),
+                sin.readInt()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (findingId == null || findingId.isEmpty()) {
+            validationException = ValidateActions.addValidationError("finding id is missing", validationException);
+        }
+        if (hops < 0) {
+            validationException = ValidateActions.addValidationError("hops cannot be negative", validationException);
+        }
+        if (maxFindings < 1 || maxFindings > MAX_FINDINGS) {
+            validationException = ValidateActions.addValidationError(String.format(Locale.getDefault(),
+                    "max findings must be between 1 and %d", MAX_FINDINGS), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(findingId);
+        out.writeInt(hops);
+        out.writeInt(maxFindings);
+    }
+
+    public String getFindingId() {
+        return findingId;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public int getMaxFindings() {
+        return maxFindings;
+    }
+}
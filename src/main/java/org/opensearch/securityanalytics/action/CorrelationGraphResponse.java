@@ -0,0 +1,107 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Findings of a correlation graph neighbourhood with their distance in hops from the requested finding, in traversal
+ * order, and the edges traversed to reach them.
+ */
+public class CorrelationGraphResponse extends ActionResponse implements ToXContentObject {
+
+    private Map<String, Integer> findings;
+
+    private List<List<String>> edges;
+
+    private boolean truncated;
+
+    protected static final String FINDINGS = "findings";
+    protected static final String FINDING = "finding";
+    protected static final String HOPS = "hops";
+    protected static final String EDGES = "edges";
+    protected static final String FINDING1 = "finding1";
+    protected static final String FINDING2 = "finding2";
+    protected static final String TRUNCATED = "truncated";
+
+    public CorrelationGraphResponse(Map<String, Integer> findings, List<List<String>> edges, boolean truncated) {
+        super();
+        this.findings = findings;
+        this.edges = edges;
+        this.truncated = truncated;
+    }
+
+    public CorrelationGraphResponse(StreamInput sin) throws IOException {
+        this.findings = new LinkedHashMap<>();
+        int size = sin.readVInt();
+        for (int i = 0; i < size; ++i) {
+            findings.put(sin.readString(), sin.readVInt());
+        }
+        this.edges = new ArrayList<>();
+        size = sin.readVInt();
+        for (int i = 0; i < size; ++i) {
+            edges.add(List.of(sin.readString(), sin.readString()));
+        }
+        this.truncated = sin.readBoolean();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(findings.size());
+        for (Map.Entry<String, Integer> entry: findings.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeVInt(entry.getValue());
+        }
+        out.writeVInt(edges.size());
+        for (List<String> edge: edges) {
+            out.writeString(edge.get(0));
+            out.writeString(edge.get(1));
+        }
+        out.writeBoolean(truncated);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().startArray(FINDINGS);
+        for (Map.Entry<String, Integer> entry: findings.entrySet()) {
+            builder.startObject()
+                    .field(FINDING, entry.getKey())
+                    .field(HOPS, entry.getValue())
+                    .endObject();
+        }
+        builder.endArray().startArray(EDGES);
+        for (List<String> edge: edges) {
+            builder.startObject()
+                    .field(FINDING1, edge.get(0))
+                    .field(FINDING2, edge.get(1))
+                    .endObject();
+        }
+        builder.endArray();
+        builder.field(TRUNCATED, truncated);
+        return builder.endObject();
+    }
+
+    public Map<String, Integer> getFindings() {
+        return findings;
+    }
+
+    public List<List<String>> getEdges() {
+        return edges;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.transport.TransportRequest;
+
+import java.io.IOException;
+
+public class CorrelationStatsNodeRequest extends TransportRequest {
+
+    public CorrelationStatsNodeRequest() {
+        super();
+    }
+
+    public CorrelationStatsNodeRequest(StreamInput sin) throws IOException {
+        super(sin);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.correlation.CorrelationStats;
+
+import java.io.IOException;
+
+public class CorrelationStatsNodeResponse extends BaseNodeResponse {
+
+    private final CorrelationStats stats;
+
+    public CorrelationStatsNodeResponse(DiscoveryNode node, CorrelationStats stats) {
+        super(node);
+        this.stats = stats;
+    }
+
+    public CorrelationStatsNodeResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.stats = new CorrelationStats(sin);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        stats.writeTo(out);
+    }
+
+    public CorrelationStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+import java.io.IOException;
+
+/**
+ * Correlation stats of the given nodes, all nodes if none are given.
+ */
+public class CorrelationStatsRequest extends BaseNodesRequest<CorrelationStatsRequest> {
+
+    public CorrelationStatsRequest(String... nodeIds) {
+        super(nodeIds);
+    }
+
+    public CorrelationStatsRequest(StreamInput sin) throws IOException {
+        super(sin);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.correlation.CorrelationStats;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Correlation stats of the requested nodes, together with their sum across all of them.
+ */
+public class CorrelationStatsResponse extends BaseNodesResponse<CorrelationStatsNodeResponse> implements ToXContentFragment {
+
+    protected static final String TOTAL = "total";
+    protected static final String NODES = "nodes";
+    protected static final String NAME = "name";
+
+    public CorrelationStatsResponse(ClusterName clusterName, List<CorrelationStatsNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    public CorrelationStatsResponse(StreamInput sin) throws IOException {
+        super(sin);
+    }
+
+    @Override
+    protected List<CorrelationStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(CorrelationStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<CorrelationStatsNodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    /**
+     * Returns the stats summed across all responding nodes.
+     */
+    public CorrelationStats getTotal() {
+        CorrelationStats total = new CorrelationStats(Map.of(), Map.of(), Map.of());
+        for (CorrelationStatsNodeResponse node: getNodes()) {
+            total = total.merge(node.getStats());
+        }
+        return total;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(TOTAL);
+        getTotal().toXContent(builder, params);
+        builder.endObject();
+
+        builder.startObject(NODES);
+        for (CorrelationStatsNodeResponse node: getNodes()) {
+            builder.startObject(node.getNode().getId());
+            builder.field(NAME, node.getNode().getName());
+            node.getStats().toXContent(builder, params);
+            builder.endObject();
+        }
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CorrelationRule} whose correlation queries are parsed into reusable query builders once, when the rule is
+ * loaded. Correlating a finding only binds the related doc ids to the pre-built queries.
+ *
+ * The pre-built query builders are shared by concurrent searches and must never be modified.
+ */
+public class CompiledCorrelationRule {
+
+    private final CorrelationRule rule;
+
+    private final List<CompiledCorrelationQuery> queries;
+
+    private final Map<String, CompiledCorrelationQuery> queriesByCategory;
+
+    private CompiledCorrelationRule(CorrelationRule rule, List<CompiledCorrelationQuery> queries,
+                                    Map<String, CompiledCorrelationQuery> queriesByCategory) {
+        this.rule = rule;
+        this.queries = queries;
+        this.queriesByCategory = queriesByCategory;
+    }
+
+    public static CompiledCorrelationRule compile(CorrelationRule rule) {
+        List<CompiledCorrelationQuery> queries = new ArrayList<>();
+        Map<String, CompiledCorrelationQuery> queriesByCategory = new HashMap<>();
+        for (CorrelationQuery query: rule.getCorrelationQueries()) {
+            CompiledCorrelationQuery compiledQuery = new CompiledCorrelationQuery(query);
+            queries.add(compiledQuery);
+            queriesByCategory.putIfAbsent(query.getCategory(), compiledQuery);
+        }
+        return new CompiledCorrelationRule(rule, Collections.unmodifiableList(queries), Collections.unmodifiableMap(queriesByCategory));
+    }
+
+    public CorrelationRule getRule() {
+        return rule;
+    }
+
+    public List<CompiledCorrelationQuery> getQueries() {
+        return queries;
+    }
+
+    /**
+     * Returns the first correlation query of the rule on the given log category, or null.
+     */
+    public CompiledCorrelationQuery getQuery(String category) {
+        return queriesByCategory.get(category);
+    }
+
+    public static class CompiledCorrelationQuery {
+        private final CorrelationQuery query;
+
+        /**
+         * the parsed query string of the correlation query, null if it has none.
+         */
+        private final QueryBuilder queryFilter;
+
+        /**
+         * the filter docs of the correlation query's category need to match to join on it.
+         */
+        private final QueryBuilder joinFilter;
+
+        private CompiledCorrelationQuery(CorrelationQuery query) {
+            this.query = query;
+            this.queryFilter = query.getQuery() != null ? QueryBuilders.queryStringQuery(query.getQuery()) : null;
+            if (query.getField() != null) {
+                this.joinFilter = QueryBuilders.existsQuery(query.getField());
+            } else {
+                this.joinFilter = queryFilter != null ? queryFilter : QueryBuilders.matchAllQuery();
+            }
+        }
+
+        public CorrelationQuery getQuery() {
+            return query;
+        }
+
+        /**
+         * Returns the query matching those of the given docs which can be joined on this correlation query.
+         */
+        public QueryBuilder bindDocIds(List<String> docIds) {
+            return QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.termsQuery("_id", docIds))
+                    .must(joinFilter);
+        }
+
+        /**
+         * Returns the query matching docs of this correlation query's category which join with the given field values.
+         */
+        public QueryBuilder bindFieldValues(List<String> values) {
+            if (query.getField() == null) {
+                return joinFilter;
+            }
+
+            StringBuilder qb = new StringBuilder(query.getField()).append(":(");
+            for (int i = 0; i < values.size(); ++i) {
+                qb.append(values.get(i));
+                if (i < values.size()-1) {
+                    qb.append(" OR ");
+                } else {
+                    qb.append(")");
+                }
+            }
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery().must(QueryBuilders.queryStringQuery(qb.toString()));
+            if (queryFilter != null) {
+                queryBuilder.must(queryFilter);
+            }
+            return queryBuilder;
+        }
+    }
+}
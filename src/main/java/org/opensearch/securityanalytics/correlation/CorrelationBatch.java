@@ -0,0 +1,119 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.search.SearchHit;
+import org.opensearch.securityanalytics.model.CustomLogType;
+import org.opensearch.securityanalytics.model.Detector;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookups shared by all findings correlated in one micro-batch, so that detectors, log types & auto correlation
+ * candidate findings are fetched once per batch instead of once per finding.
+ */
+public class CorrelationBatch {
+
+    private final Map<String, Detector> detectorsByMonitorId;
+
+    private final Map<String, CustomLogType> logTypes;
+
+    /**
+     * findings of every Sigma log type within the time window spanned by the batch, grouped by the correlatable tags
+     * they were matched with, null if auto correlations are disabled.
+     */
+    private final Map<Set<String>, Map<String, List<AutoCorrelationCandidate>>> autoCorrelationCandidates;
+
+    public CorrelationBatch(Map<String, Detector> detectorsByMonitorId, Map<String, CustomLogType> logTypes,
+                            Map<Set<String>, Map<String, List<AutoCorrelationCandidate>>> autoCorrelationCandidates) {
+        this.detectorsByMonitorId = detectorsByMonitorId;
+        this.logTypes = logTypes;
+        this.autoCorrelationCandidates = autoCorrelationCandidates;
+    }
+
+    public Detector getDetector(String monitorId) {
+        return detectorsByMonitorId.get(monitorId);
+    }
+
+    public Map<String, CustomLogType> getLogTypes() {
+        return logTypes;
+    }
+
+    public Map<Set<String>, Map<String, List<AutoCorrelationCandidate>>> getAutoCorrelationCandidates() {
+        return autoCorrelationCandidates;
+    }
+
+    /**
+     * Parses the detectors of a batch keyed by each of their monitor ids. A timed out search may have missed detectors
+     * of the batch, so it fails the batch instead of leaving its findings without a detector.
+     */
+    public static Map<String, Detector> detectorsByMonitorId(SearchResponse response, NamedXContentRegistry xContentRegistry) throws IOException {
+        if (response.isTimedOut()) {
+            throw new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT);
+        }
+        Map<String, Detector> detectorsByMonitorId = new HashMap<>();
+        for (SearchHit hit: response.getHits().getHits()) {
+            XContentParser xcp = XContentType.JSON.xContent().createParser(
+                    xContentRegistry,
+                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+            );
+            Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
+            for (String monitorId: detector.getMonitorIds()) {
+                detectorsByMonitorId.put(monitorId, detector);
+            }
+        }
+        return detectorsByMonitorId;
+    }
+
+    /**
+     * Extracts the mitre attack tags of all queries of a finding.
+     */
+    public static Set<String> attackTags(Finding finding) {
+        Set<String> tags = new HashSet<>();
+        for (DocLevelQuery query : finding.getDocLevelQueries()) {
+            for (String tag: query.getTags()) {
+                if (tag.startsWith("attack.")) {
+                    tags.add(tag);
+                }
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Finding of a Sigma log type which carries at least one of the correlatable tags it was searched with.
+     */
+    public static class AutoCorrelationCandidate {
+        private final String findingId;
+        private final long timestamp;
+
+        public AutoCorrelationCandidate(String findingId, long timestamp) {
+            this.findingId = findingId;
+            this.timestamp = timestamp;
+        }
+
+        public String getFindingId() {
+            return findingId;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
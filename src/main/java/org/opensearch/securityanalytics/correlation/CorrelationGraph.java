@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adjacency lists of the correlation graph. Every finding correlated with at least one other finding has a document in
+ * {@link CorrelationIndices#CORRELATION_GRAPH_INDEX}, keyed by its id, listing the ids of the findings it is correlated with.
+ *
+ * The documents are upserted by {@link CorrelationHistoryWriteBuffer} in the same bulk request as the finding-finding
+ * documents of the correlation history, so that neighbourhoods several hops deep can be resolved with one realtime
+ * multi-get per hop instead of one kNN search per finding. Documents follow the retention of the correlation history: they
+ * are deleted once their timestamp is older than the history retention period & cleared whenever the correlation indices
+ * are set up anew.
+ */
+public final class CorrelationGraph {
+
+    public static final String FINDING_FIELD = "finding";
+
+    public static final String NEIGHBOURS_FIELD = "neighbours";
+
+    public static final String TIMESTAMP_FIELD = "timestamp";
+
+    /**
+     * Maximum number of neighbours kept per finding. Beyond it the oldest neighbours are dropped, so that the documents of
+     * findings correlated with every new finding stop growing, as each upsert rewrites the whole document.
+     */
+    public static final int MAX_NEIGHBOURS = 1000;
+
+    private static final String MAX_NEIGHBOURS_PARAM = "max_neighbours";
+
+    private static final int RETRY_ON_CONFLICT = 5;
+
+    private static final String ADD_NEIGHBOURS_SCRIPT =
+            "boolean changed = false; " +
+            "for (def neighbour : params.neighbours) { " +
+            "  if (!ctx._source.neighbours.contains(neighbour)) { ctx._source.neighbours.add(neighbour); changed = true; } " +
+            "} " +
+            "int excess = ctx._source.neighbours.size() - params.max_neighbours; " +
+            "if (excess > 0) { ctx._source.neighbours.subList(0, excess).clear(); } " +
+            "if (params.timestamp > ctx._source.timestamp) { ctx._source.timestamp = params.timestamp; changed = true; } " +
+            "if (!changed) { ctx.op = 'none'; }";
+
+    private CorrelationGraph() {}
+
+    /**
+     * Builds the upserts adding the edges of the given finding-finding documents to the graph, one per finding.
+     */
+    public static List<UpdateRequest> getEdgeUpdateRequests(Collection<CorrelationHistoryWriteBuffer.Record> records, TimeValue indexTimeout) throws IOException {
+        Map<String, Set<String>> adjacency = new LinkedHashMap<>();
+        Map<String, Long> timestamps = new LinkedHashMap<>();
+        for (CorrelationHistoryWriteBuffer.Record record: records) {
+            if (record.getFinding2().isEmpty()) {
+                continue;
+            }
+            addEdge(adjacency, timestamps, record.getFinding1(), record.getFinding2(), record.getTimestamp());
+            addEdge(adjacency, timestamps, record.getFinding2(), record.getFinding1(), record.getTimestamp());
+        }
+
+        List<UpdateRequest> updateRequests = new ArrayList<>(adjacency.size());
+        for (Map.Entry<String, Set<String>> entry: adjacency.entrySet()) {
+            List<String> neighbours = new ArrayList<>(entry.getValue());
+            if (neighbours.size() > MAX_NEIGHBOURS) {
+                neighbours = new ArrayList<>(neighbours.subList(neighbours.size() - MAX_NEIGHBOURS, neighbours.size()));
+            }
+            long timestamp = timestamps.get(entry.getKey());
+
+            XContentBuilder upsert = XContentFactory.jsonBuilder().startObject();
+            upsert.field(FINDING_FIELD, entry.getKey());
+            upsert.field(NEIGHBOURS_FIELD, neighbours);
+            upsert.field(TIMESTAMP_FIELD, timestamp);
+            upsert.endObject();
+
+            updateRequests.add(new UpdateRequest(CorrelationIndices.CORRELATION_GRAPH_INDEX, entry.getKey())
+                    .script(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, ADD_NEIGHBOURS_SCRIPT,
+                            Map.of(NEIGHBOURS_FIELD, neighbours, TIMESTAMP_FIELD, timestamp, MAX_NEIGHBOURS_PARAM, MAX_NEIGHBOURS)))
+                    .upsert(upsert)
+                    .retryOnConflict(RETRY_ON_CONFLICT)
+                    .timeout(indexTimeout));
+        }
+        return updateRequests;
+    }
+
+    /**
+     * Reads the neighbours from the source of a graph document.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> getNeighbours(Map<String, Object> source) {
+        Object neighbours = source.get(NEIGHBOURS_FIELD);
+        return neighbours instanceof List ? (List<String>) neighbours : List.of();
+    }
+
+    private static void addEdge(Map<String, Set<String>> adjacency, Map<String, Long> timestamps, String from, String to, long timestamp) {
+        adjacency.computeIfAbsent(from, k -> new LinkedHashSet<>()).add(to);
+        timestamps.merge(from, timestamp, Math::max);
+    }
+}
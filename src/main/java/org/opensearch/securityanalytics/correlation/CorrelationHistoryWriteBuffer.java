@@ -0,0 +1,434 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local write-behind buffer for documents of the correlation history indices.
+ *
+ * Correlation history documents are collected and written with a single bulk request per
+ * {@link SecurityAnalyticsSettings#CORRELATION_HISTORY_FLUSH_INTERVAL} (or once
+ * {@link SecurityAnalyticsSettings#CORRELATION_HISTORY_FLUSH_SIZE} documents are pending), followed by a single refresh of
+ * the correlation history write index. Until that refresh completed the documents are served from the buffer, so that
+ * findings correlated in the meantime still see them. Searches of the correlation history flush the buffer first through
+ * {@link #awaitSearchable(ActionListener)}.
+ *
+ * If {@link SecurityAnalyticsSettings#CORRELATION_HISTORY_ASYNC_WRITES} is disabled, every write is sent directly with
+ * an immediate refresh.
+ *
+ * Every bulk request also upserts the {@link CorrelationGraph} adjacency lists of the findings it correlates.
+ */
+public class CorrelationHistoryWriteBuffer {
+
+    private static final Logger log = LogManager.getLogger(CorrelationHistoryWriteBuffer.class);
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private final Object lock = new Object();
+
+    private List<PendingWrite> pendingWrites = new ArrayList<>();
+
+    private int pendingDocs = 0;
+
+    private boolean flushScheduled = false;
+
+    /**
+     * flushes whose documents are not yet searchable.
+     */
+    private final Set<Flush> inFlightFlushes = new HashSet<>();
+
+    /**
+     * documents of recordType finding which are not yet searchable, keyed by finding id.
+     */
+    private final Map<String, Record> findingRecords = new ConcurrentHashMap<>();
+
+    /**
+     * documents of recordType finding-finding which are not yet searchable, keyed by counter.
+     */
+    private final Map<Long, Set<Record>> correlationRecords = new ConcurrentHashMap<>();
+
+    private volatile boolean asyncWrites;
+
+    private volatile TimeValue flushInterval;
+
+    private volatile int flushSize;
+
+    private volatile TimeValue indexTimeout;
+
+    public CorrelationHistoryWriteBuffer(Client client, ClusterService clusterService, ThreadPool threadPool) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.asyncWrites = SecurityAnalyticsSettings.CORRELATION_HISTORY_ASYNC_WRITES.get(clusterService.getSettings());
+        this.flushInterval = SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_INTERVAL.get(clusterService.getSettings());
+        this.flushSize = SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_SIZE.get(clusterService.getSettings());
+        this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_HISTORY_ASYNC_WRITES, it -> asyncWrites = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_INTERVAL, it -> flushInterval = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_SIZE, it -> flushSize = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.INDEX_TIMEOUT, it -> indexTimeout = it);
+    }
+
+    /**
+     * Writes the given correlation history documents. The listener is notified once the documents are durably indexed,
+     * they may become searchable later.
+     */
+    public void write(List<Record> records, ActionListener<Void> listener) {
+        if (records.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+
+        if (!asyncWrites) {
+            BulkRequest bulkRequest = new BulkRequest();
+            bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            try {
+                for (Record record: records) {
+                    bulkRequest.add(record.toIndexRequest(indexTimeout));
+                }
+                CorrelationGraph.getEdgeUpdateRequests(records, indexTimeout).forEach(bulkRequest::add);
+            } catch (Exception e) {
+                listener.onFailure(e);
+                return;
+            }
+            client.bulk(bulkRequest, ActionListener.wrap(bulkResponse -> {
+                logGraphFailures(bulkResponse, records.size());
+                if (hasFailures(bulkResponse, 0, records.size())) {
+                    listener.onFailure(new OpenSearchStatusException("Correlation of finding failed", RestStatus.INTERNAL_SERVER_ERROR));
+                } else {
+                    listener.onResponse(null);
+                }
+            }, listener::onFailure));
+            return;
+        }
+
+        for (Record record: records) {
+            if (record.isFindingRecord()) {
+                findingRecords.put(record.finding1, record);
+            } else {
+                correlationRecords.computeIfAbsent(record.counter, k -> ConcurrentHashMap.newKeySet()).add(record);
+            }
+        }
+
+        Flush toFlush = null;
+        synchronized (lock) {
+            pendingWrites.add(new PendingWrite(records, listener));
+            pendingDocs += records.size();
+            if (pendingDocs >= flushSize) {
+                toFlush = drain();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                threadPool.schedule(this::flushPending, flushInterval, ThreadPool.Names.GENERIC);
+            }
+        }
+        if (toFlush != null) {
+            flush(toFlush);
+        }
+    }
+
+    /**
+     * Flushes the pending documents & notifies the listener once every document written before the call is searchable,
+     * or its flush failed.
+     */
+    public void awaitSearchable(ActionListener<Void> listener) {
+        Flush toFlush = null;
+        List<Flush> awaited;
+        synchronized (lock) {
+            if (!pendingWrites.isEmpty()) {
+                toFlush = drain();
+            }
+            awaited = new ArrayList<>(inFlightFlushes);
+        }
+        if (awaited.isEmpty()) {
+            listener.onResponse(null);
+            return;
+        }
+
+        GroupedActionListener<Void> groupedListener = new GroupedActionListener<>(
+                ActionListener.wrap(responses -> listener.onResponse(null), listener::onFailure), awaited.size());
+        for (Flush flush: awaited) {
+            flush.addSearchableListener(groupedListener);
+        }
+        if (toFlush != null) {
+            flush(toFlush);
+        }
+    }
+
+    /**
+     * Returns the number of documents waiting for the next flush.
+     */
+    public int pendingDocs() {
+        synchronized (lock) {
+            return pendingDocs;
+        }
+    }
+
+    /**
+     * Returns the not yet searchable finding document of the given finding, or null.
+     */
+    public Record getFindingRecord(String findingId) {
+        return findingRecords.get(findingId);
+    }
+
+    /**
+     * Checks whether a not yet searchable finding-finding document exists at the given counter within the given time range.
+     */
+    public boolean hasCorrelationRecord(long counter, long fromTimestamp, long toTimestamp) {
+        Set<Record> records = correlationRecords.get(counter);
+        if (records == null) {
+            return false;
+        }
+        for (Record record: records) {
+            if (record.timestamp >= fromTimestamp && record.timestamp <= toTimestamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void flushPending() {
+        Flush toFlush = null;
+        synchronized (lock) {
+            if (!pendingWrites.isEmpty()) {
+                toFlush = drain();
+            } else {
+                flushScheduled = false;
+            }
+        }
+        if (toFlush != null) {
+            flush(toFlush);
+        }
+    }
+
+    private Flush drain() {
+        Flush drained = new Flush(pendingWrites);
+        inFlightFlushes.add(drained);
+        pendingWrites = new ArrayList<>();
+        pendingDocs = 0;
+        flushScheduled = false;
+        return drained;
+    }
+
+    private void flush(Flush flush) {
+        List<PendingWrite> writes = flush.writes;
+        BulkRequest bulkRequest = new BulkRequest();
+        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+        List<Record> records = new ArrayList<>();
+        try {
+            for (PendingWrite write: writes) {
+                for (Record record: write.records) {
+                    bulkRequest.add(record.toIndexRequest(indexTimeout));
+                    records.add(record);
+                }
+            }
+            // graph upserts go last, so the items of the history documents keep the order of the pending writes.
+            CorrelationGraph.getEdgeUpdateRequests(records, indexTimeout).forEach(bulkRequest::add);
+        } catch (Exception e) {
+            onFlushFailure(flush, e);
+            return;
+        }
+
+        client.bulk(bulkRequest, ActionListener.wrap(bulkResponse -> {
+            logGraphFailures(bulkResponse, records.size());
+            notifyWriters(writes, bulkResponse);
+            refresh(flush);
+        }, e -> onFlushFailure(flush, e)));
+    }
+
+    private void notifyWriters(List<PendingWrite> writes, BulkResponse bulkResponse) {
+        int offset = 0;
+        for (PendingWrite write: writes) {
+            boolean failed = hasFailures(bulkResponse, offset, offset + write.records.size());
+            offset += write.records.size();
+
+            if (failed) {
+                write.listener.onFailure(new OpenSearchStatusException("Correlation of finding failed", RestStatus.INTERNAL_SERVER_ERROR));
+            } else {
+                write.listener.onResponse(null);
+            }
+        }
+    }
+
+    private static boolean hasFailures(BulkResponse bulkResponse, int from, int to) {
+        BulkItemResponse[] items = bulkResponse.getItems();
+        boolean failed = false;
+        for (int idx = from; idx < to; ++idx) {
+            if (items[idx].isFailed()) {
+                failed = true;
+                log.debug("Failed to index correlation history document: {}", items[idx].getFailureMessage());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * The correlation graph can be rebuilt from the correlation history, so failed graph upserts do not fail the write.
+     */
+    private static void logGraphFailures(BulkResponse bulkResponse, int historyDocs) {
+        BulkItemResponse[] items = bulkResponse.getItems();
+        for (int idx = historyDocs; idx < items.length; ++idx) {
+            if (items[idx].isFailed()) {
+                log.debug("Failed to update correlation graph of finding {}: {}", items[idx].getId(), items[idx].getFailureMessage());
+            }
+        }
+    }
+
+    private void refresh(Flush flush) {
+        client.admin().indices().refresh(new RefreshRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX), ActionListener.wrap(
+                response -> evict(flush),
+                e -> {
+                    log.debug("Failed to refresh correlation history index", e);
+                    evict(flush);
+                }
+        ));
+    }
+
+    private void onFlushFailure(Flush flush, Exception e) {
+        evict(flush);
+        for (PendingWrite write: flush.writes) {
+            write.listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Drops the documents of a completed flush from the buffer & notifies the searches waiting for it. Failed documents
+     * will never become searchable, so searches are not failed for them.
+     */
+    private void evict(Flush flush) {
+        List<ActionListener<Void>> searchableListeners;
+        synchronized (lock) {
+            inFlightFlushes.remove(flush);
+            searchableListeners = flush.complete();
+        }
+        for (PendingWrite write: flush.writes) {
+            for (Record record: write.records) {
+                if (record.isFindingRecord()) {
+                    findingRecords.remove(record.finding1, record);
+                } else {
+                    correlationRecords.computeIfPresent(record.counter, (counter, records) -> {
+                        records.remove(record);
+                        return records.isEmpty() ? null : records;
+                    });
+                }
+            }
+        }
+        for (ActionListener<Void> searchableListener: searchableListeners) {
+            searchableListener.onResponse(null);
+        }
+    }
+
+    /**
+     * The pending writes drained into one bulk request & the searches waiting for their documents to become searchable.
+     */
+    private static class Flush {
+        private final List<PendingWrite> writes;
+        private List<ActionListener<Void>> searchableListeners = new ArrayList<>();
+
+        private Flush(List<PendingWrite> writes) {
+            this.writes = writes;
+        }
+
+        private void addSearchableListener(ActionListener<Void> listener) {
+            boolean completed;
+            synchronized (this) {
+                completed = searchableListeners == null;
+                if (!completed) {
+                    searchableListeners.add(listener);
+                }
+            }
+            if (completed) {
+                listener.onResponse(null);
+            }
+        }
+
+        private synchronized List<ActionListener<Void>> complete() {
+            List<ActionListener<Void>> listeners = searchableListeners;
+            searchableListeners = null;
+            return listeners;
+        }
+    }
+
+    private static class PendingWrite {
+        private final List<Record> records;
+        private final ActionListener<Void> listener;
+
+        private PendingWrite(List<Record> records, ActionListener<Void> listener) {
+            this.records = records;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * A document of the correlation history indices.
+     */
+    public static class Record {
+        private final String finding1;
+        private final String finding2;
+        private final long counter;
+        private final long timestamp;
+        private final XContentBuilder source;
+
+        public Record(String finding1, String finding2, long counter, long timestamp, XContentBuilder source) {
+            this.finding1 = finding1;
+            this.finding2 = finding2;
+            this.counter = counter;
+            this.timestamp = timestamp;
+            this.source = source;
+        }
+
+        public String getFinding1() {
+            return finding1;
+        }
+
+        public String getFinding2() {
+            return finding2;
+        }
+
+        public long getCounter() {
+            return counter;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public boolean isFindingRecord() {
+            return finding2.isEmpty();
+        }
+
+        private IndexRequest toIndexRequest(TimeValue indexTimeout) {
+            return new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
+                    .source(source)
+                    .timeout(indexTimeout);
+        }
+    }
+}
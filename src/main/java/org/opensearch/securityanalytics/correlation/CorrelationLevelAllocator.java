@@ -0,0 +1,307 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates the correlation levels (the "counter" of orphan findings) used by {@link VectorEmbeddingsEngine}.
+ *
+ * Instead of reading & rewriting the root document of {@link CorrelationIndices#CORRELATION_METADATA_INDEX} for every
+ * finding, every node leases a block of {@link SecurityAnalyticsSettings#CORRELATION_LEVEL_LEASE_SIZE} levels from the
+ * root document using optimistic concurrency control and hands out levels from its block lock-free. The root document
+ * stores the last leased level & the start of the current correlation time window, so blocks leased by different
+ * nodes never overlap within a time window. A node leases at most one block at a time, findings needing a new block
+ * while a lease is in flight wait for it.
+ */
+public class CorrelationLevelAllocator {
+
+    private static final Logger log = LogManager.getLogger(CorrelationLevelAllocator.class);
+
+    public static final long LEVEL_GAP = 50L;
+
+    private static final int MAX_LEASE_RETRIES = 5;
+
+    private final Client client;
+
+    private final AtomicReference<Lease> lease = new AtomicReference<>();
+
+    /**
+     * callers waiting for the block currently leased by this node, guarded by itself.
+     */
+    private final List<LeaseWaiter> leaseWaiters = new ArrayList<>();
+
+    private boolean leaseInFlight = false;
+
+    private volatile String rootDocId;
+
+    private volatile long corrTimeWindow;
+
+    private volatile int leaseSize;
+
+    private volatile TimeValue indexTimeout;
+
+    public CorrelationLevelAllocator(Client client, ClusterService clusterService) {
+        this.client = client;
+        this.corrTimeWindow = SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW.get(clusterService.getSettings()).getMillis();
+        this.leaseSize = SecurityAnalyticsSettings.CORRELATION_LEVEL_LEASE_SIZE.get(clusterService.getSettings());
+        this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW, it -> corrTimeWindow = it.getMillis());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_LEVEL_LEASE_SIZE, it -> leaseSize = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.INDEX_TIMEOUT, it -> indexTimeout = it);
+    }
+
+    /**
+     * Returns the level new findings on this node are currently inserted at. A new block is leased if the node holds no
+     * block yet or if its block belongs to an expired correlation time window.
+     */
+    public void currentLevel(long findingTimestamp, ActionListener<Long> listener) {
+        Lease current = lease.get();
+        if (current != null && !current.isExpired(findingTimestamp, corrTimeWindow)) {
+            listener.onResponse(current.level);
+            return;
+        }
+        awaitLease(current, findingTimestamp, listener);
+    }
+
+    /**
+     * Moves this node past the given level, e.g. when an orphan finding is already present at it. If another finding on
+     * this node already moved past the level, the level it moved to is returned.
+     */
+    public void nextLevel(long level, long findingTimestamp, ActionListener<Long> listener) {
+        while (true) {
+            Lease current = lease.get();
+            if (current == null || current.isExpired(findingTimestamp, corrTimeWindow)) {
+                awaitLease(current, findingTimestamp, listener);
+                return;
+            }
+            if (current.level != level) {
+                listener.onResponse(current.level);
+                return;
+            }
+            if (current.level + LEVEL_GAP >= current.end) {
+                awaitLease(current, findingTimestamp, listener);
+                return;
+            }
+            Lease next = new Lease(current.level + LEVEL_GAP, current.end, current.windowStart);
+            if (lease.compareAndSet(current, next)) {
+                listener.onResponse(next.level);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the local block, e.g. after the metadata index was re-created.
+     */
+    public void reset() {
+        lease.set(null);
+        rootDocId = null;
+    }
+
+    /**
+     * Waits for a block replacing the given stale one. Only one block is leased per node at a time: callers arriving
+     * while a lease is in flight are queued & all of them are completed with its result.
+     */
+    private void awaitLease(Lease stale, long findingTimestamp, ActionListener<Long> listener) {
+        long acquireTimestamp;
+        synchronized (leaseWaiters) {
+            Lease current = lease.get();
+            if (current != stale && current != null && !current.isExpired(findingTimestamp, corrTimeWindow)) {
+                // another caller replaced the block since it was read
+                listener.onResponse(current.level);
+                return;
+            }
+            leaseWaiters.add(new LeaseWaiter(findingTimestamp, listener));
+            if (leaseInFlight) {
+                return;
+            }
+            leaseInFlight = true;
+            acquireTimestamp = maxWaiterTimestamp();
+        }
+        acquireLease(acquireTimestamp, 0, ActionListener.wrap(this::onLeaseAcquired, this::onLeaseFailed));
+    }
+
+    private void onLeaseAcquired(Lease newLease) {
+        List<LeaseWaiter> completed = new ArrayList<>();
+        long acquireTimestamp = -1L;
+        synchronized (leaseWaiters) {
+            lease.set(newLease);
+            Iterator<LeaseWaiter> it = leaseWaiters.iterator();
+            while (it.hasNext()) {
+                LeaseWaiter waiter = it.next();
+                if (!newLease.isExpired(waiter.findingTimestamp, corrTimeWindow)) {
+                    completed.add(waiter);
+                    it.remove();
+                }
+            }
+            if (leaseWaiters.isEmpty()) {
+                leaseInFlight = false;
+            } else {
+                // findings queued during the lease belong to a later time window
+                acquireTimestamp = maxWaiterTimestamp();
+            }
+        }
+        for (LeaseWaiter waiter: completed) {
+            waiter.listener.onResponse(newLease.level);
+        }
+        if (acquireTimestamp >= 0L) {
+            acquireLease(acquireTimestamp, 0, ActionListener.wrap(this::onLeaseAcquired, this::onLeaseFailed));
+        }
+    }
+
+    private void onLeaseFailed(Exception e) {
+        List<LeaseWaiter> failed;
+        synchronized (leaseWaiters) {
+            failed = new ArrayList<>(leaseWaiters);
+            leaseWaiters.clear();
+            leaseInFlight = false;
+        }
+        for (LeaseWaiter waiter: failed) {
+            waiter.listener.onFailure(e);
+        }
+    }
+
+    private long maxWaiterTimestamp() {
+        long max = Long.MIN_VALUE;
+        for (LeaseWaiter waiter: leaseWaiters) {
+            max = Math.max(max, waiter.findingTimestamp);
+        }
+        return max;
+    }
+
+    private void acquireLease(long findingTimestamp, int attempt, ActionListener<Lease> listener) {
+        resolveRootDocId(ActionListener.wrap(id -> {
+            GetRequest getRequest = new GetRequest(CorrelationIndices.CORRELATION_METADATA_INDEX, id).realtime(true);
+            client.get(getRequest, ActionListener.wrap(getResponse -> {
+                if (!getResponse.isExists()) {
+                    // the metadata index was re-created, look up the new root document once.
+                    rootDocId = null;
+                    if (attempt < MAX_LEASE_RETRIES) {
+                        acquireLease(findingTimestamp, MAX_LEASE_RETRIES, listener);
+                        return;
+                    }
+                    listener.onFailure(new ResourceNotFoundException("Failed to find root document in metadata index {}", CorrelationIndices.CORRELATION_METADATA_INDEX));
+                    return;
+                }
+
+                Map<String, Object> source = getResponse.getSourceAsMap();
+                long lastLeasedLevel = Long.parseLong(source.get("counter").toString());
+                long windowStart = Long.parseLong(source.get("timestamp").toString());
+
+                boolean newWindow = lastLeasedLevel == 0L || findingTimestamp - windowStart > corrTimeWindow;
+                long start = newWindow ? LEVEL_GAP : lastLeasedLevel + LEVEL_GAP;
+                long end = start + leaseSize * LEVEL_GAP;
+                long leaseWindowStart = newWindow ? findingTimestamp : windowStart;
+
+                XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+                builder.field("root", true);
+                builder.field("counter", end - LEVEL_GAP);
+                builder.field("finding1", "");
+                builder.field("finding2", "");
+                builder.field("logType", "");
+                builder.field("timestamp", leaseWindowStart);
+                builder.field("scoreTimestamp", 0L);
+                builder.endObject();
+
+                IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_METADATA_INDEX)
+                        .id(id)
+                        .source(builder)
+                        .setIfSeqNo(getResponse.getSeqNo())
+                        .setIfPrimaryTerm(getResponse.getPrimaryTerm())
+                        .timeout(indexTimeout);
+
+                client.index(indexRequest, ActionListener.wrap(indexResponse -> {
+                    log.debug("Leased correlation levels [{}, {}) for window starting at {}", start, end, leaseWindowStart);
+                    listener.onResponse(new Lease(start, end, leaseWindowStart));
+                }, e -> {
+                    // only other nodes compete for the root document, this node leases one block at a time.
+                    if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException && attempt < MAX_LEASE_RETRIES) {
+                        acquireLease(findingTimestamp, attempt + 1, listener);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }));
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    private void resolveRootDocId(ActionListener<String> listener) {
+        String id = rootDocId;
+        if (id != null) {
+            listener.onResponse(id);
+            return;
+        }
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(QueryBuilders.matchQuery("root", true));
+        searchSourceBuilder.fetchSource(false);
+        searchSourceBuilder.size(1);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+
+        client.search(searchRequest, ActionListener.wrap(response -> {
+            if (response.getHits().getHits().length == 0) {
+                listener.onFailure(new ResourceNotFoundException("Failed to find root document in metadata index {}", CorrelationIndices.CORRELATION_METADATA_INDEX));
+                return;
+            }
+            rootDocId = response.getHits().getHits()[0].getId();
+            listener.onResponse(rootDocId);
+        }, listener::onFailure));
+    }
+
+    private static class Lease {
+        private final long level;
+        private final long end;
+        private final long windowStart;
+
+        private Lease(long level, long end, long windowStart) {
+            this.level = level;
+            this.end = end;
+            this.windowStart = windowStart;
+        }
+
+        private boolean isExpired(long findingTimestamp, long corrTimeWindow) {
+            return findingTimestamp - windowStart > corrTimeWindow;
+        }
+    }
+
+    private static class LeaseWaiter {
+        private final long findingTimestamp;
+        private final ActionListener<Long> listener;
+
+        private LeaseWaiter(long findingTimestamp, ActionListener<Long> listener) {
+            this.findingTimestamp = findingTimestamp;
+            this.listener = listener;
+        }
+    }
+}
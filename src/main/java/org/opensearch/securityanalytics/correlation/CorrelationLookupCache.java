@@ -0,0 +1,147 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.index.Index;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+
+/**
+ * Node-local cache of the values correlation searches resolve before their kNN search: the timestamp & correlation level
+ * of a finding, which never change once its correlation history document is written, and the current scoreTimestamp
+ * of the correlation metadata index.
+ *
+ * Finding levels are put by {@link VectorEmbeddingsEngine} once the finding document is written and evicted LRU beyond
+ * {@link SecurityAnalyticsSettings#CORRELATION_LOOKUP_CACHE_SIZE} findings. The scoreTimestamp only moves forward and is
+ * updated whenever this node reads or writes it; writes of other nodes are picked up after
+ * {@link SecurityAnalyticsSettings#CORRELATION_LOOKUP_CACHE_TTL}. Every node drops all cached values as soon as the
+ * cluster state no longer holds the metadata or a history index they may have been read from.
+ */
+public class CorrelationLookupCache implements ClusterStateListener {
+
+    private static final String CORRELATION_HISTORY_INDEX_PREFIX = ".opensearch-sap-correlation-history";
+
+    private volatile Cache<String, FindingLevel> findingLevels;
+
+    private volatile CachedScoreTimestamp scoreTimestamp;
+
+    private volatile int cacheSize;
+
+    private volatile TimeValue cacheTtl;
+
+    public CorrelationLookupCache(ClusterService clusterService) {
+        this.cacheSize = SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_SIZE.get(clusterService.getSettings());
+        this.cacheTtl = SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_TTL.get(clusterService.getSettings());
+        this.findingLevels = buildCache(cacheSize, cacheTtl);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_SIZE, it -> {
+            cacheSize = it;
+            invalidate();
+        });
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_TTL, it -> {
+            cacheTtl = it;
+            invalidate();
+        });
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        for (Index index: event.indicesDeleted()) {
+            if (CorrelationIndices.CORRELATION_METADATA_INDEX.equals(index.getName()) ||
+                    index.getName().startsWith(CORRELATION_HISTORY_INDEX_PREFIX)) {
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the cached level of the given finding, or null.
+     */
+    public FindingLevel getFindingLevel(String findingId) {
+        Cache<String, FindingLevel> cache = findingLevels;
+        return cache != null ? cache.get(findingId) : null;
+    }
+
+    public void putFindingLevel(String findingId, long timestamp, long counter) {
+        Cache<String, FindingLevel> cache = findingLevels;
+        if (cache != null) {
+            cache.put(findingId, new FindingLevel(timestamp, counter));
+        }
+    }
+
+    /**
+     * Returns the cached scoreTimestamp, or null if it is not cached or expired.
+     */
+    public Long getScoreTimestamp() {
+        CachedScoreTimestamp current = scoreTimestamp;
+        if (current == null || System.currentTimeMillis() - current.loadedAt > cacheTtl.millis()) {
+            return null;
+        }
+        return current.value;
+    }
+
+    public void putScoreTimestamp(long value) {
+        CachedScoreTimestamp current = scoreTimestamp;
+        long now = System.currentTimeMillis();
+        // a stale read must not move the scoreTimestamp back, but it still proves the cached value is current.
+        scoreTimestamp = new CachedScoreTimestamp(current != null ? Math.max(current.value, value) : value, now);
+    }
+
+    /**
+     * Drops all cached values, e.g. after the correlation indices were re-created.
+     */
+    public void invalidate() {
+        findingLevels = buildCache(cacheSize, cacheTtl);
+        scoreTimestamp = null;
+    }
+
+    private static Cache<String, FindingLevel> buildCache(int cacheSize, TimeValue cacheTtl) {
+        if (cacheSize <= 0) {
+            return null;
+        }
+        return CacheBuilder.<String, FindingLevel>builder()
+                .setMaximumWeight(cacheSize)
+                .setExpireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Timestamp & correlation level (counter) of a finding.
+     */
+    public static class FindingLevel {
+        private final long timestamp;
+        private final long counter;
+
+        public FindingLevel(long timestamp, long counter) {
+            this.timestamp = timestamp;
+            this.counter = counter;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getCounter() {
+            return counter;
+        }
+    }
+
+    private static class CachedScoreTimestamp {
+        private final long value;
+        private final long loadedAt;
+
+        private CachedScoreTimestamp(long value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
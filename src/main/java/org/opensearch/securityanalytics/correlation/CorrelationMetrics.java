@@ -0,0 +1,172 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.common.metrics.CounterMetric;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Node-level latency histograms, counters & queue depths of the correlation pipeline, exposed through the correlation
+ * stats API. Recording is lock-free, so it is cheap enough to be done for every finding.
+ */
+public class CorrelationMetrics {
+
+    /**
+     * Stages of the correlation of a finding, in pipeline order.
+     */
+    public enum Stage {
+        DETECTOR_LOOKUP,
+        LOG_TYPE_LOOKUP,
+        AUTO_CORRELATION_SEARCH,
+        RULE_LOOKUP,
+        VALID_DOCS_SEARCH,
+        TIME_WINDOW_SEARCH,
+        FILTER_KEY_SEARCH,
+        ALERT_SCHEDULING,
+        VECTOR_INSERT,
+        /**
+         * from the arrival of a finding until its correlations are stored.
+         */
+        TOTAL,
+        /**
+         * from the timestamp of a finding until its correlations are stored.
+         */
+        CORRELATION_LAG;
+
+        public String statName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Counter {
+        FINDINGS_IN,
+        FINDINGS_OUT,
+        FINDINGS_FAILED,
+        CORRELATIONS_CREATED,
+        /**
+         * searches which returned the maximum of 10,000 hits & may have missed matches.
+         */
+        TRUNCATED_SEARCHES;
+
+        public String statName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final String IN_FLIGHT_FINDINGS = "in_flight_findings";
+
+    /**
+     * upper bounds of the histogram buckets, the last bucket holds everything above.
+     */
+    static final long[] BUCKET_BOUNDS_MILLIS = {1L, 2L, 5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L, 10000L, 30000L, 60000L};
+
+    private final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+
+    private final Map<Counter, CounterMetric> counters = new EnumMap<>(Counter.class);
+
+    private final Map<String, IntSupplier> queues = new ConcurrentHashMap<>();
+
+    public CorrelationMetrics() {
+        for (Stage stage: Stage.values()) {
+            histograms.put(stage, new Histogram());
+        }
+        for (Counter counter: Counter.values()) {
+            counters.put(counter, new CounterMetric());
+        }
+    }
+
+    /**
+     * Returns the start time to pass to {@link #record(Stage, long)} once the stage completes.
+     */
+    public long startTime() {
+        return System.nanoTime();
+    }
+
+    public void record(Stage stage, long startTime) {
+        histograms.get(stage).add(Math.max(0L, System.nanoTime() - startTime));
+    }
+
+    public void recordMillis(Stage stage, long tookMillis) {
+        histograms.get(stage).add(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, tookMillis)));
+    }
+
+    public void inc(Counter counter) {
+        counters.get(counter).inc();
+    }
+
+    public void inc(Counter counter, long n) {
+        counters.get(counter).inc(n);
+    }
+
+    /**
+     * Registers a queue whose current depth is reported with the stats, e.g. the pending documents of the history write buffer.
+     */
+    public void registerQueue(String name, IntSupplier depth) {
+        queues.put(name, depth);
+    }
+
+    public CorrelationStats stats() {
+        Map<String, Long> counterStats = new LinkedHashMap<>();
+        for (Map.Entry<Counter, CounterMetric> counter: counters.entrySet()) {
+            counterStats.put(counter.getKey().statName(), counter.getValue().count());
+        }
+
+        Map<String, Long> queueStats = new LinkedHashMap<>();
+        long inFlight = counterStats.get(Counter.FINDINGS_IN.statName()) - counterStats.get(Counter.FINDINGS_OUT.statName())
+                - counterStats.get(Counter.FINDINGS_FAILED.statName());
+        queueStats.put(IN_FLIGHT_FINDINGS, Math.max(0L, inFlight));
+        for (Map.Entry<String, IntSupplier> queue: queues.entrySet()) {
+            queueStats.put(queue.getKey(), (long) queue.getValue().getAsInt());
+        }
+
+        Map<String, CorrelationStats.StageStats> stageStats = new LinkedHashMap<>();
+        for (Map.Entry<Stage, Histogram> histogram: histograms.entrySet()) {
+            stageStats.put(histogram.getKey().statName(), histogram.getValue().stats());
+        }
+        return new CorrelationStats(counterStats, queueStats, stageStats);
+    }
+
+    private static class Histogram {
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+        private final LongAdder sumNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private Histogram() {
+            for (int idx = 0; idx < buckets.length; ++idx) {
+                buckets[idx] = new LongAdder();
+            }
+        }
+
+        private void add(long tookNanos) {
+            long tookMillis = TimeUnit.NANOSECONDS.toMillis(tookNanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && tookMillis > BUCKET_BOUNDS_MILLIS[bucket]) {
+                ++bucket;
+            }
+            buckets[bucket].increment();
+            sumNanos.add(tookNanos);
+            maxNanos.accumulate(tookNanos);
+        }
+
+        private CorrelationStats.StageStats stats() {
+            long[] counts = new long[buckets.length];
+            long count = 0L;
+            for (int idx = 0; idx < buckets.length; ++idx) {
+                counts[idx] = buckets[idx].sum();
+                count += counts[idx];
+            }
+            return new CorrelationStats.StageStats(count, sumNanos.sum(), maxNanos.get(), counts);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.shard.IndexingOperationListener;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local cache of parsed & compiled {@link CorrelationRule}s grouped by log category.
+ *
+ * The cache is loaded lazily from {@link CorrelationRule#CORRELATION_RULE_INDEX} and invalidated whenever a correlation
+ * rule is indexed or deleted, either through the shard level indexing listener (on nodes holding a copy of the rules
+ * index) or explicitly by the correlation rule transport actions. Nodes which hold no copy of the rules index fall back
+ * to the {@link SecurityAnalyticsSettings#CORRELATION_RULE_CACHE_TTL} expiry. Concurrent misses share a single load of
+ * the rules index.
+ */
+public class CorrelationRuleCache implements IndexingOperationListener {
+
+    private static final Logger log = LogManager.getLogger(CorrelationRuleCache.class);
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile CachedRules cachedRules;
+
+    private volatile long cacheTtl;
+
+    /**
+     * load in flight, guarded by this, null if there is none.
+     */
+    private PendingLoad pendingLoad;
+
+    public CorrelationRuleCache(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry) {
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.cacheTtl = SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_TTL.get(clusterService.getSettings()).getMillis();
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_TTL, it -> {
+            cacheTtl = it.getMillis();
+            invalidate();
+        });
+    }
+
+    /**
+     * Returns the correlation rules which have a correlation query on the given log category.
+     */
+    public void getCorrelationRules(String category, ActionListener<List<CompiledCorrelationRule>> listener) {
+        CachedRules current = cachedRules;
+        if (current != null && !current.isExpired(cacheTtl)) {
+            listener.onResponse(current.getRules(category));
+            return;
+        }
+
+        PendingLoad load;
+        boolean startLoad = false;
+        synchronized (this) {
+            if (pendingLoad == null) {
+                pendingLoad = new PendingLoad(generation.get());
+                startLoad = true;
+            }
+            load = pendingLoad;
+            load.waiters.add(new Waiter(category, listener));
+        }
+        if (startLoad) {
+            loadCorrelationRules(ActionListener.wrap(rulesByCategory -> onLoaded(load, rulesByCategory), e -> onLoadFailed(load, e)));
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cachedRules = null;
+        synchronized (this) {
+            // misses after the invalidation must not join a load which may have read the old rules.
+            pendingLoad = null;
+        }
+    }
+
+    private void onLoaded(PendingLoad load, Map<String, List<CompiledCorrelationRule>> rulesByCategory) {
+        CachedRules loaded = new CachedRules(rulesByCategory, System.currentTimeMillis());
+        List<Waiter> waiters;
+        synchronized (this) {
+            // rules changed while we were loading them, serve the loaded rules but do not cache them.
+            if (generation.get() == load.generation) {
+                cachedRules = loaded;
+            }
+            if (pendingLoad == load) {
+                pendingLoad = null;
+            }
+            waiters = new ArrayList<>(load.waiters);
+        }
+        for (Waiter waiter: waiters) {
+            waiter.listener.onResponse(loaded.getRules(waiter.category));
+        }
+    }
+
+    private void onLoadFailed(PendingLoad load, Exception e) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            if (pendingLoad == load) {
+                pendingLoad = null;
+            }
+            waiters = new ArrayList<>(load.waiters);
+        }
+        for (Waiter waiter: waiters) {
+            waiter.listener.onFailure(e);
+        }
+    }
+
+    @Override
+    public void postIndex(ShardId shardId, Engine.Index index, Engine.IndexResult result) {
+        if (isCorrelationRuleIndex(shardId) && result.getResultType() == Engine.Result.Type.SUCCESS) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void postDelete(ShardId shardId, Engine.Delete delete, Engine.DeleteResult result) {
+        if (isCorrelationRuleIndex(shardId) && result.getResultType() == Engine.Result.Type.SUCCESS) {
+            invalidate();
+        }
+    }
+
+    private boolean isCorrelationRuleIndex(ShardId shardId) {
+        return CorrelationRule.CORRELATION_RULE_INDEX.equals(shardId.getIndexName());
+    }
+
+    private void loadCorrelationRules(ActionListener<Map<String, List<CompiledCorrelationRule>>> listener) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(QueryBuilders.matchAllQuery());
+        searchSourceBuilder.fetchSource(true);
+        searchSourceBuilder.version(true);
+        searchSourceBuilder.size(10000);
+
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationRule.CORRELATION_RULE_INDEX);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+
+        client.search(searchRequest, ActionListener.wrap(response -> {
+            if (response.isTimedOut()) {
+                listener.onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                return;
+            }
+            Map<String, List<CompiledCorrelationRule>> rulesByCategory = new HashMap<>();
+            for (SearchHit hit: response.getHits().getHits()) {
+                XContentParser xcp = XContentType.JSON.xContent().createParser(
+                        xContentRegistry,
+                        LoggingDeprecationHandler.INSTANCE,
+                        hit.getSourceAsString());
+                CorrelationRule rule = CorrelationRule.parse(xcp, hit.getId(), hit.getVersion());
+                CompiledCorrelationRule compiledRule = CompiledCorrelationRule.compile(rule);
+
+                Set<String> categories = new HashSet<>();
+                for (CorrelationQuery query: rule.getCorrelationQueries()) {
+                    categories.add(query.getCategory());
+                }
+                for (String category: categories) {
+                    rulesByCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(compiledRule);
+                }
+            }
+            rulesByCategory.replaceAll((category, rules) -> Collections.unmodifiableList(rules));
+            log.debug("Loaded correlation rules for {} log categories", rulesByCategory.size());
+            listener.onResponse(rulesByCategory);
+        }, e -> {
+            if (e instanceof IndexNotFoundException) {
+                listener.onResponse(Map.of());
+            } else {
+                listener.onFailure(e);
+            }
+        }));
+    }
+
+    private static class PendingLoad {
+        private final long generation;
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        private PendingLoad(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static class Waiter {
+        private final String category;
+        private final ActionListener<List<CompiledCorrelationRule>> listener;
+
+        private Waiter(String category, ActionListener<List<CompiledCorrelationRule>> listener) {
+            this.category = category;
+            this.listener = listener;
+        }
+    }
+
+    private static class CachedRules {
+        private final Map<String, List<CompiledCorrelationRule>> rulesByCategory;
+        private final long loadedAt;
+
+        private CachedRules(Map<String, List<CompiledCorrelationRule>> rulesByCategory, long loadedAt) {
+            this.rulesByCategory = rulesByCategory;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isExpired(long ttl) {
+            return System.currentTimeMillis() - loadedAt > ttl;
+        }
+
+        private List<CompiledCorrelationRule> getRules(String category) {
+            return rulesByCategory.getOrDefault(category, List.of());
+        }
+    }
+}
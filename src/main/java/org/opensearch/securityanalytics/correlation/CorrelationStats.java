@@ -0,0 +1,204 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the {@link CorrelationMetrics} of a node. Snapshots of several nodes are merged by summing counters, queue
+ * depths & histogram buckets, so cluster-wide percentiles are estimated from the merged histograms.
+ */
+public class CorrelationStats implements Writeable, ToXContentFragment {
+
+    private static final String COUNTERS_FIELD = "counters";
+    private static final String QUEUES_FIELD = "queues";
+    private static final String STAGES_FIELD = "stages";
+
+    private final Map<String, Long> counters;
+
+    private final Map<String, Long> queues;
+
+    private final Map<String, StageStats> stages;
+
+    public CorrelationStats(Map<String, Long> counters, Map<String, Long> queues, Map<String, StageStats> stages) {
+        this.counters = counters;
+        this.queues = queues;
+        this.stages = stages;
+    }
+
+    public CorrelationStats(StreamInput sin) throws IOException {
+        this.counters = readLongs(sin);
+        this.queues = readLongs(sin);
+        this.stages = new LinkedHashMap<>();
+        int size = sin.readVInt();
+        for (int i = 0; i < size; ++i) {
+            stages.put(sin.readString(), new StageStats(sin));
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        writeLongs(out, counters);
+        writeLongs(out, queues);
+        out.writeVInt(stages.size());
+        for (Map.Entry<String, StageStats> stage: stages.entrySet()) {
+            out.writeString(stage.getKey());
+            stage.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Returns the sum of these stats & the given stats.
+     */
+    public CorrelationStats merge(CorrelationStats other) {
+        Map<String, Long> mergedCounters = new LinkedHashMap<>(counters);
+        other.counters.forEach((name, value) -> mergedCounters.merge(name, value, Long::sum));
+        Map<String, Long> mergedQueues = new LinkedHashMap<>(queues);
+        other.queues.forEach((name, value) -> mergedQueues.merge(name, value, Long::sum));
+        Map<String, StageStats> mergedStages = new LinkedHashMap<>(stages);
+        other.stages.forEach((name, value) -> mergedStages.merge(name, value, StageStats::merge));
+        return new CorrelationStats(mergedCounters, mergedQueues, mergedStages);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field(COUNTERS_FIELD, counters);
+        builder.field(QUEUES_FIELD, queues);
+        builder.startObject(STAGES_FIELD);
+        for (Map.Entry<String, StageStats> stage: stages.entrySet()) {
+            builder.field(stage.getKey());
+            stage.getValue().toXContent(builder, params);
+        }
+        return builder.endObject();
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Long> getQueues() {
+        return queues;
+    }
+
+    public Map<String, StageStats> getStages() {
+        return stages;
+    }
+
+    private static Map<String, Long> readLongs(StreamInput sin) throws IOException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        int size = sin.readVInt();
+        for (int i = 0; i < size; ++i) {
+            values.put(sin.readString(), sin.readVLong());
+        }
+        return values;
+    }
+
+    private static void writeLongs(StreamOutput out, Map<String, Long> values) throws IOException {
+        out.writeVInt(values.size());
+        for (Map.Entry<String, Long> value: values.entrySet()) {
+            out.writeString(value.getKey());
+            out.writeVLong(value.getValue());
+        }
+    }
+
+    /**
+     * Latency histogram of a stage, bucketed by {@link CorrelationMetrics#BUCKET_BOUNDS_MILLIS}.
+     */
+    public static class StageStats implements Writeable, ToXContentFragment {
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        public StageStats(long count, long sumNanos, long maxNanos, long[] buckets) {
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        public StageStats(StreamInput sin) throws IOException {
+            this.count = sin.readVLong();
+            this.sumNanos = sin.readVLong();
+            this.maxNanos = sin.readVLong();
+            this.buckets = sin.readVLongArray();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(count);
+            out.writeVLong(sumNanos);
+            out.writeVLong(maxNanos);
+            out.writeVLongArray(buckets);
+        }
+
+        public StageStats merge(StageStats other) {
+            long[] mergedBuckets = new long[Math.max(buckets.length, other.buckets.length)];
+            for (int idx = 0; idx < mergedBuckets.length; ++idx) {
+                mergedBuckets[idx] = (idx < buckets.length ? buckets[idx] : 0L) + (idx < other.buckets.length ? other.buckets[idx] : 0L);
+            }
+            return new StageStats(count + other.count, sumNanos + other.sumNanos, Math.max(maxNanos, other.maxNanos), mergedBuckets);
+        }
+
+        /**
+         * Estimates the given percentile as the upper bound of the bucket it falls into, capped at the maximum.
+         */
+        public long percentileMillis(double percentile) {
+            long maxMillis = TimeUnit.NANOSECONDS.toMillis(maxNanos);
+            if (count == 0L) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * count);
+            long seen = 0L;
+            for (int idx = 0; idx < buckets.length && idx < CorrelationMetrics.BUCKET_BOUNDS_MILLIS.length; ++idx) {
+                seen += buckets[idx];
+                if (seen >= rank) {
+                    return Math.min(CorrelationMetrics.BUCKET_BOUNDS_MILLIS[idx], maxMillis);
+                }
+            }
+            return maxMillis;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("count", count);
+            builder.field("sum_millis", TimeUnit.NANOSECONDS.toMillis(sumNanos));
+            builder.field("avg_millis", count > 0L ? TimeUnit.NANOSECONDS.toMillis(sumNanos / count) : 0L);
+            builder.field("max_millis", TimeUnit.NANOSECONDS.toMillis(maxNanos));
+            builder.field("p50_millis", percentileMillis(50.0));
+            builder.field("p90_millis", percentileMillis(90.0));
+            builder.field("p99_millis", percentileMillis(99.0));
+            builder.startObject("histogram");
+            for (int idx = 0; idx < buckets.length; ++idx) {
+                String bucket = idx < CorrelationMetrics.BUCKET_BOUNDS_MILLIS.length ? "le_" + CorrelationMetrics.BUCKET_BOUNDS_MILLIS[idx] : "inf";
+                builder.field(bucket, buckets[idx]);
+            }
+            builder.endObject();
+            return builder.endObject();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long[] getBuckets() {
+            return buckets;
+        }
+    }
+}
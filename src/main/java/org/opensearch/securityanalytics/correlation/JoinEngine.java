@@ -11,48 +11,42 @@ import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.common.unit.TimeValue;
-import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.action.search.MultiSearchRequest;
 import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.client.Client;
-import org.opensearch.common.xcontent.LoggingDeprecationHandler;
-import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.commons.alerting.action.PublishFindingsRequest;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.MatchQueryBuilder;
-import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
-import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
-import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CorrelationQuery;
 import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.model.CorrelationRuleTrigger;
+import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
 import org.opensearch.securityanalytics.util.AutoCorrelationsRepo;
+import org.opensearch.securityanalytics.util.PagedSearch;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -73,9 +67,9 @@ public class JoinEngine {
 
     private final LogTypeService logTypeService;
 
-    private final CorrelationAlertService correlationAlertService;
+    private final CorrelationRuleCache correlationRuleCache;
 
-    private final NotificationService notificationService;
+    private final CorrelationRuleScheduler correlationRuleScheduler;
 
     private volatile TimeValue indexTimeout;
 
@@ -83,9 +77,20 @@ public class JoinEngine {
 
     private final User user;
 
+    private final int pageSize;
+
+    private final CorrelationMetrics metrics;
+
+    public static final String FINDING_ID_FIELD = "id";
+
+    public static final String FINDING_TAGS_FIELD = "queries.tags.keyword";
+
+    private static final int MAX_HITS = 10000;
+
     public JoinEngine(Client client, PublishFindingsRequest request, NamedXContentRegistry xContentRegistry,
                       long corrTimeWindow, TimeValue indexTimeout, TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction,
-                      LogTypeService logTypeService, boolean enableAutoCorrelations, CorrelationAlertService correlationAlertService, NotificationService notificationService, User user) {
+                      LogTypeService logTypeService, CorrelationRuleCache correlationRuleCache, boolean enableAutoCorrelations,
+                      CorrelationRuleScheduler correlationRuleScheduler, User user, int pageSize, CorrelationMetrics metrics) {
         this.client = client;
         this.request = request;
         this.xContentRegistry = xContentRegistry;
@@ -93,10 +98,12 @@ public class JoinEngine {
         this.indexTimeout = indexTimeout;
         this.correlateFindingAction = correlateFindingAction;
         this.logTypeService = logTypeService;
+        this.correlationRuleCache = correlationRuleCache;
         this.enableAutoCorrelations = enableAutoCorrelations;
-        this.correlationAlertService = correlationAlertService;
-        this.notificationService = notificationService;
+        this.correlationRuleScheduler = correlationRuleScheduler;
         this.user = user;
+        this.pageSize = pageSize;
+        this.metrics = metrics;
     }
 
     public void onSearchDetectorResponse(Detector detector, Finding finding) {
@@ -111,106 +118,113 @@ public class JoinEngine {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void generateAutoCorrelations(Detector detector, Finding finding) throws IOException {
-        Map<String, Set<String>> autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
+    /**
+     * Correlates a finding which is part of a micro-batch, auto correlations are evaluated against the candidate findings
+     * pre-fetched once for the whole batch.
+     */
+    public void onSearchDetectorResponse(Detector detector, Finding finding, CorrelationBatch batch) {
+        if (enableAutoCorrelations && batch.getAutoCorrelationCandidates() != null) {
+            try {
+                generateAutoCorrelations(detector, finding, batch.getAutoCorrelationCandidates());
+            } catch (IOException ex) {
+                onFailure(ex);
+            }
+        } else {
+            onSearchDetectorResponse(detector, finding);
+        }
+    }
+
+    private void generateAutoCorrelations(Detector detector, Finding finding,
+                                          Map<Set<String>, Map<String, List<CorrelationBatch.AutoCorrelationCandidate>>> candidates) throws IOException {
+        Set<String> correlatableTags = AutoCorrelationsRepo.correlatableTags(CorrelationBatch.attackTags(finding));
+        if (correlatableTags.isEmpty()) {
+            onAutoCorrelations(detector, finding, Map.of());
+            return;
+        }
+        Map<String, List<CorrelationBatch.AutoCorrelationCandidate>> tagCandidates = candidates.get(correlatableTags);
+        if (tagCandidates == null || tagCandidates.isEmpty()) {
+            // every candidate search of the tags failed or there is no Sigma log type, as in the per-finding path the
+            // failures were logged & the finding is correlated without auto correlations.
+            onAutoCorrelations(detector, finding, Map.of());
+            return;
+        }
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
 
-        Set<String> tags = new HashSet<>();
-        for (DocLevelQuery query : finding.getDocLevelQueries()) {
-            tags.addAll(query.getTags().stream().filter(tag -> tag.startsWith("attack.")).collect(Collectors.toList()));
+        // the candidates were matched against the correlatable tags in the search, only the time window is left to check.
+        Map<String, List<String>> autoCorrelationsMap = new HashMap<>();
+        for (Map.Entry<String, List<CorrelationBatch.AutoCorrelationCandidate>> logTypeCandidates: tagCandidates.entrySet()) {
+            for (CorrelationBatch.AutoCorrelationCandidate candidate: logTypeCandidates.getValue()) {
+                if (!candidate.getFindingId().equals(finding.getId()) &&
+                        Math.abs(candidate.getTimestamp() - findingTimestamp) <= corrTimeWindow) {
+                    autoCorrelationsMap.computeIfAbsent(logTypeCandidates.getKey(), k -> new ArrayList<>()).add(candidate.getFindingId());
+                }
+            }
         }
-        Set<String> validIntrusionSets = AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, tags);
+        onAutoCorrelations(detector, finding, autoCorrelationsMap);
+    }
 
-        MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery("source", "Sigma");
+    private void generateAutoCorrelations(Detector detector, Finding finding) throws IOException {
+        long findingTimestamp = finding.getTimestamp().toEpochMilli();
 
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.size(100);
+        Set<String> correlatableTags = AutoCorrelationsRepo.correlatableTags(CorrelationBatch.attackTags(finding));
 
-        SearchRequest request = new SearchRequest();
-        request.source(searchSourceBuilder);
-        logTypeService.searchLogTypes(request, ActionListener.wrap(response -> {
-            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-            SearchHit[] logTypes = response.getHits().getHits();
+        long logTypeLookupStart = metrics.startTime();
+        logTypeService.getLogTypeSnapshot(ActionListener.wrap(logTypeSnapshot -> {
+            metrics.record(CorrelationMetrics.Stage.LOG_TYPE_LOOKUP, logTypeLookupStart);
+            List<SearchRequest> searchRequests = new ArrayList<>();
             List<String> logTypeNames = new ArrayList<>();
-            for (SearchHit logType: logTypes) {
-                String logTypeName = logType.getSourceAsMap().get("name").toString();
+            for (CustomLogType logType: logTypeSnapshot.getLogTypes().values()) {
+                if (!"Sigma".equalsIgnoreCase(logType.getSource())) {
+                    continue;
+                }
+                String logTypeName = logType.getName();
                 logTypeNames.add(logTypeName);
 
-                RangeQueryBuilder rangeQueryBuilder = QueryBuilders.rangeQuery("timestamp")
-                        .gte(findingTimestamp - corrTimeWindow)
-                        .lte(findingTimestamp + corrTimeWindow);
+                // matching the tags in the search returns only the ids of the findings which can be auto correlated.
+                BoolQueryBuilder findingsQueryBuilder = QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.rangeQuery("timestamp")
+                                .gte(findingTimestamp - corrTimeWindow)
+                                .lte(findingTimestamp + corrTimeWindow))
+                        .filter(QueryBuilders.nestedQuery("queries",
+                                QueryBuilders.termsQuery(FINDING_TAGS_FIELD, correlatableTags), ScoreMode.None))
+                        .mustNot(QueryBuilders.idsQuery().addIds(finding.getId()));
 
                 SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
-                sourceBuilder.query(rangeQueryBuilder);
-                sourceBuilder.size(10000);
-                sourceBuilder.fetchField("queries");
+                sourceBuilder.query(findingsQueryBuilder);
+                sourceBuilder.fetchSource(false);
                 SearchRequest searchRequest = new SearchRequest();
                 searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(logTypeName));
                 searchRequest.source(sourceBuilder);
                 searchRequest.preference(Preference.PRIMARY_FIRST.type());
                 searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-                mSearchRequest.add(searchRequest);
+                searchRequests.add(searchRequest);
             }
 
-            if (!mSearchRequest.requests().isEmpty()) {
-                client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
-                    MultiSearchResponse.Item[] responses = items.getResponses();
-
+            if (searchRequests.isEmpty()) {
+                onFailure(new OpenSearchStatusException("Empty findings for all log types", RestStatus.INTERNAL_SERVER_ERROR));
+            } else if (correlatableTags.isEmpty()) {
+                onAutoCorrelations(detector, finding, Map.of());
+            } else {
+                List<List<String>> matchingFindings = newResultLists(searchRequests.size());
+                long searchStart = metrics.startTime();
+                PagedSearch.searchAll(client, searchRequests, FINDING_ID_FIELD, pageSize, (idx, findings) -> {
+                    for (SearchHit foundFinding : findings) {
+                        matchingFindings.get(idx).add(foundFinding.getId());
+                    }
+                }, ActionListener.wrap(failures -> {
+                    metrics.record(CorrelationMetrics.Stage.AUTO_CORRELATION_SEARCH, searchStart);
                     Map<String, List<String>> autoCorrelationsMap = new HashMap<>();
-                    int idx = 0;
-                    for (MultiSearchResponse.Item item : responses) {
-                        if (item.isFailure()) {
-                            log.info(item.getFailureMessage());
+                    for (int idx = 0; idx < failures.length; ++idx) {
+                        if (failures[idx] != null) {
+                            log.info(failures[idx].getMessage());
                             continue;
                         }
-                        String logTypeName = logTypeNames.get(idx);
-
-                        SearchHit[] findings = item.getResponse().getHits().getHits();
-
-                        for (SearchHit foundFinding : findings) {
-                            if (!foundFinding.getId().equals(finding.getId())) {
-                                Set<String> findingTags = new HashSet<>();
-                                List<Map<String, Object>> queries = (List<Map<String, Object>>) foundFinding.getSourceAsMap().get("queries");
-                                for (Map<String, Object> query : queries) {
-                                    List<String> queryTags = (List<String>) query.get("tags");
-                                    findingTags.addAll(queryTags.stream().filter(queryTag -> queryTag.startsWith("attack.")).collect(Collectors.toList()));
-                                }
-
-                                boolean canCorrelate = false;
-                                for (String tag: tags) {
-                                    if (findingTags.contains(tag)) {
-                                        canCorrelate = true;
-                                        break;
-                                    }
-                                }
-
-                                Set<String> foundIntrusionSets = AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, findingTags);
-                                for (String validIntrusionSet: validIntrusionSets) {
-                                    if (foundIntrusionSets.contains(validIntrusionSet)) {
-                                        canCorrelate = true;
-                                        break;
-                                    }
-                                }
-
-                                if (canCorrelate) {
-                                    if (autoCorrelationsMap.containsKey(logTypeName)) {
-                                        autoCorrelationsMap.get(logTypeName).add(foundFinding.getId());
-                                    } else {
-                                        List<String> autoCorrelatedFindings = new ArrayList<>();
-                                        autoCorrelatedFindings.add(foundFinding.getId());
-                                        autoCorrelationsMap.put(logTypeName, autoCorrelatedFindings);
-                                    }
-                                }
-                            }
+                        if (!matchingFindings.get(idx).isEmpty()) {
+                            autoCorrelationsMap.put(logTypeNames.get(idx), matchingFindings.get(idx));
                         }
-                        ++idx;
                     }
                     onAutoCorrelations(detector, finding, autoCorrelationsMap);
                 }, this::onFailure));
-            } else {
-                onFailure(new OpenSearchStatusException("Empty findings for all log types", RestStatus.INTERNAL_SERVER_ERROR));
             }
         }, this::onFailure));
     }
@@ -220,43 +234,14 @@ public class JoinEngine {
         List<String> indices = detector.getInputs().get(0).getIndices();
         List<String> relatedDocIds = finding.getCorrelatedDocIds();
 
-        NestedQueryBuilder queryBuilder = QueryBuilders.nestedQuery(
-                "correlate",
-                QueryBuilders.matchQuery("correlate.category", detectorType),
-                ScoreMode.None
-        );
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.fetchSource(true);
-
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(CorrelationRule.CORRELATION_RULE_INDEX);
-        searchRequest.source(searchSourceBuilder);
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-        searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-
-        client.search(searchRequest, ActionListener.wrap(response -> {
-            if (response.isTimedOut()) {
-                onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-            }
-
-            Iterator<SearchHit> hits = response.getHits().iterator();
-            List<CorrelationRule> correlationRules = new ArrayList<>();
-            while (hits.hasNext()) {
-                SearchHit hit = hits.next();
-
-                XContentParser xcp = XContentType.JSON.xContent().createParser(
-                        xContentRegistry,
-                        LoggingDeprecationHandler.INSTANCE,
-                        hit.getSourceAsString());
-
-                CorrelationRule rule = CorrelationRule.parse(xcp, hit.getId(), hit.getVersion());
-                correlationRules.add(rule);
-            }
+        long ruleLookupStart = metrics.startTime();
+        correlationRuleCache.getCorrelationRules(detectorType, ActionListener.wrap(correlationRules -> {
+            metrics.record(CorrelationMetrics.Stage.RULE_LOOKUP, ruleLookupStart);
             getValidDocuments(detectorType, indices, correlationRules, relatedDocIds, autoCorrelations);
         }, e -> {
+            metrics.record(CorrelationMetrics.Stage.RULE_LOOKUP, ruleLookupStart);
             try {
-                log.error("[CORRELATIONS] Exception encountered while searching correlation rule index for finding id {}",
+                log.error("[CORRELATIONS] Exception encountered while fetching correlation rules for finding id {}",
                         finding.getId(), e);
                 getValidDocuments(detectorType, indices, List.of(), List.of(), autoCorrelations);
             } catch (Exception ex) {
@@ -268,105 +253,92 @@ public class JoinEngine {
     /**
      * this method checks if the finding to be correlated has valid related docs(or not) which match join criteria.
      */
-    private void getValidDocuments(String detectorType, List<String> indices, List<CorrelationRule> correlationRules, List<String> relatedDocIds, Map<String, List<String>> autoCorrelations) {
+    private void getValidDocuments(String detectorType, List<String> indices, List<CompiledCorrelationRule> correlationRules, List<String> relatedDocIds, Map<String, List<String>> autoCorrelations) {
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-        List<CorrelationRule> validCorrelationRules = new ArrayList<>();
+        List<CompiledCorrelationRule> validCorrelationRules = new ArrayList<>();
         List<String> validFields = new ArrayList<>();
-
-        for (CorrelationRule rule: correlationRules) {
-            Optional<CorrelationQuery> query = rule.getCorrelationQueries().stream()
-                    .filter(correlationQuery -> correlationQuery.getCategory().equals(detectorType)).findFirst();
-
-            if (query.isPresent()) {
-                BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                        .filter(QueryBuilders.termsQuery("_id", relatedDocIds));
-
-                if (query.get().getField() != null) {
-                    queryBuilder = queryBuilder.must(QueryBuilders.existsQuery(query.get().getField()));
-                } else {
-                    queryBuilder = queryBuilder.must(QueryBuilders.queryStringQuery(query.get().getQuery()));
-                }
-                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                searchSourceBuilder.query(queryBuilder);
-                searchSourceBuilder.fetchSource(false);
-                if (query.get().getField() != null) {
-                    searchSourceBuilder.fetchField(query.get().getField());
+        List<Integer> requestRules = new ArrayList<>();
+
+        for (CompiledCorrelationRule rule: correlationRules) {
+            CompiledCorrelationRule.CompiledCorrelationQuery query = rule.getQuery(detectorType);
+
+            if (query != null) {
+                String field = query.getQuery().getField();
+                for (List<String> docIds: partition(relatedDocIds)) {
+                    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+                    searchSourceBuilder.query(query.bindDocIds(docIds));
+                    searchSourceBuilder.fetchSource(false);
+                    if (field != null) {
+                        searchSourceBuilder.fetchField(field);
+                    }
+                    searchSourceBuilder.size(maxHits(docIds, indices));
+                    SearchRequest searchRequest = new SearchRequest();
+                    searchRequest.indices(indices.toArray(new String[]{}));
+                    searchRequest.source(searchSourceBuilder);
+                    searchRequest.preference(Preference.PRIMARY_FIRST.type());
+                    searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+
+                    requestRules.add(validCorrelationRules.size());
+                    mSearchRequest.add(searchRequest);
                 }
-                searchSourceBuilder.size(10000);
-                SearchRequest searchRequest = new SearchRequest();
-                searchRequest.indices(indices.toArray(new String[]{}));
-                searchRequest.source(searchSourceBuilder);
-                searchRequest.preference(Preference.PRIMARY_FIRST.type());
-                searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-
                 validCorrelationRules.add(rule);
-                validFields.add(query.get().getField());
-                mSearchRequest.add(searchRequest);
+                validFields.add(field);
             }
         }
 
         if (!mSearchRequest.requests().isEmpty()) {
+            long searchStart = metrics.startTime();
             client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                metrics.record(CorrelationMetrics.Stage.VALID_DOCS_SEARCH, searchStart);
                 MultiSearchResponse.Item[] responses = items.getResponses();
-                List<FilteredCorrelationRule> filteredCorrelationRules = new ArrayList<>();
+                List<List<String>> filteredValues = newResultLists(validCorrelationRules.size());
+                boolean[] hasHits = new boolean[validCorrelationRules.size()];
 
-                int idx = 0;
-                for (MultiSearchResponse.Item response : responses) {
+                for (int idx = 0; idx < responses.length; ++idx) {
+                    MultiSearchResponse.Item response = responses[idx];
                     if (response.isFailure()) {
                         log.info(response.getFailureMessage());
                         continue;
                     }
 
-                    if (response.getResponse().getHits().getHits().length > 0L) {
-                        filteredCorrelationRules.add(new FilteredCorrelationRule(validCorrelationRules.get(idx),
-                                response.getResponse().getHits().getHits(), validFields.get(idx)));
+                    int ruleIdx = requestRules.get(idx);
+                    String field = validFields.get(ruleIdx);
+                    SearchHit[] hits = response.getResponse().getHits().getHits();
+                    recordTruncation(hits);
+                    for (SearchHit hit: hits) {
+                        hasHits[ruleIdx] = true;
+                        if (field != null) {
+                            String value = hit.field(field).getValue();
+                            filteredValues.get(ruleIdx).add(value);
+                        }
                     }
-                    ++idx;
                 }
 
-                Map<String, List<CorrelationQuery>> categoryToQueriesMap = new HashMap<>();
+                List<FilteredCorrelationRule> filteredCorrelationRules = new ArrayList<>();
+                for (int ruleIdx = 0; ruleIdx < validCorrelationRules.size(); ++ruleIdx) {
+                    if (hasHits[ruleIdx]) {
+                        filteredCorrelationRules.add(new FilteredCorrelationRule(validCorrelationRules.get(ruleIdx), filteredValues.get(ruleIdx)));
+                    }
+                }
+
+                Map<String, List<Pair<String, QueryBuilder>>> categoryToQueriesMap = new HashMap<>();
                 Map<String, Long> categoryToTimeWindowMap = new HashMap<>();
                 for (FilteredCorrelationRule rule: filteredCorrelationRules) {
-                    List<CorrelationQuery> queries = rule.correlationRule.getCorrelationQueries();
-                    Long timeWindow = rule.correlationRule.getCorrTimeWindow();
+                    Long timeWindow = rule.correlationRule.getRule().getCorrTimeWindow();
 
-                    for (CorrelationQuery query: queries) {
-                        List<CorrelationQuery> correlationQueries;
-                        if (categoryToQueriesMap.containsKey(query.getCategory())) {
-                            correlationQueries = categoryToQueriesMap.get(query.getCategory());
-                        } else {
-                            correlationQueries = new ArrayList<>();
-                        }
+                    for (CompiledCorrelationRule.CompiledCorrelationQuery compiledQuery: rule.correlationRule.getQueries()) {
+                        CorrelationQuery query = compiledQuery.getQuery();
                         if (categoryToTimeWindowMap.containsKey(query.getCategory())) {
                             categoryToTimeWindowMap.put(query.getCategory(), Math.max(timeWindow, categoryToTimeWindowMap.get(query.getCategory())));
                         } else {
                             categoryToTimeWindowMap.put(query.getCategory(), timeWindow);
                         }
-
-                        if (query.getField() == null) {
-                            correlationQueries.add(query);
-                        } else {
-                            SearchHit[] hits = rule.filteredDocs;
-                            StringBuilder qb = new StringBuilder(query.getField()).append(":(");
-                            for (int i = 0; i < hits.length; ++i) {
-                                String value = hits[i].field(rule.field).getValue();
-                                qb.append(value);
-                                if (i < hits.length-1) {
-                                    qb.append(" OR ");
-                                } else {
-                                    qb.append(")");
-                                }
-                            }
-                            if (query.getQuery() != null) {
-                                qb.append(" AND ").append(query.getQuery());
-                            }
-                            correlationQueries.add(new CorrelationQuery(query.getIndex(), qb.toString(), query.getCategory(), null));
-                        }
-                        categoryToQueriesMap.put(query.getCategory(), correlationQueries);
+                        categoryToQueriesMap.computeIfAbsent(query.getCategory(), k -> new ArrayList<>())
+                                .add(Pair.of(query.getIndex(), compiledQuery.bindFieldValues(rule.filteredValues)));
                     }
                 }
                 searchFindingsByTimestamp(detectorType, categoryToQueriesMap, categoryToTimeWindowMap,
-                        filteredCorrelationRules.stream().map(it -> it.correlationRule).collect(Collectors.toList()),
+                        filteredCorrelationRules.stream().map(it -> it.correlationRule.getRule()).collect(Collectors.toList()),
                         autoCorrelations
                 );
             }, this::onFailure));
@@ -377,62 +349,68 @@ public class JoinEngine {
 
     /**
      * this method searches for parent findings given the log category & correlation time window & collects all related docs
-     * for them.
+     * for them, remembering which parent findings each related doc belongs to.
      */
-    private void searchFindingsByTimestamp(String detectorType, Map<String, List<CorrelationQuery>> categoryToQueriesMap, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+    private void searchFindingsByTimestamp(String detectorType, Map<String, List<Pair<String, QueryBuilder>>> categoryToQueriesMap, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
         long findingTimestamp = request.getFinding().getTimestamp().toEpochMilli();
-        MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-        List<Pair<String, List<CorrelationQuery>>> categoryToQueriesPairs = new ArrayList<>();
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        List<Pair<String, List<Pair<String, QueryBuilder>>>> categoryToQueriesPairs = new ArrayList<>();
 
-        for (Map.Entry<String, List<CorrelationQuery>> categoryToQueries: categoryToQueriesMap.entrySet()) {
-            RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery("timestamp")
-                    .gte(findingTimestamp - categoryToTimeWindowMap.get(categoryToQueries.getKey()))
-                    .lte(findingTimestamp + categoryToTimeWindowMap.get(categoryToQueries.getKey()));
+        for (Map.Entry<String, List<Pair<String, QueryBuilder>>> categoryToQueries: categoryToQueriesMap.entrySet()) {
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.rangeQuery("timestamp")
+                            .gte(findingTimestamp - categoryToTimeWindowMap.get(categoryToQueries.getKey()))
+                            .lte(findingTimestamp + categoryToTimeWindowMap.get(categoryToQueries.getKey())));
+            if (categoryToQueries.getKey().equals(detectorType)) {
+                queryBuilder = queryBuilder.mustNot(QueryBuilders.matchQuery("_id", request.getFinding().getId()));
+            }
 
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             searchSourceBuilder.query(queryBuilder);
             searchSourceBuilder.fetchSource(false);
-            searchSourceBuilder.size(10000);
             searchSourceBuilder.fetchField("correlated_doc_ids");
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(categoryToQueries.getKey()));
             searchRequest.source(searchSourceBuilder);
             searchRequest.preference(Preference.PRIMARY_FIRST.type());
             searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-            mSearchRequest.add(searchRequest);
+            searchRequests.add(searchRequest);
             categoryToQueriesPairs.add(Pair.of(categoryToQueries.getKey(), categoryToQueries.getValue()));
         }
 
-        if (!mSearchRequest.requests().isEmpty()) {
-            client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
-                MultiSearchResponse.Item[] responses = items.getResponses();
+        if (!searchRequests.isEmpty()) {
+            List<Map<String, List<String>>> relatedDocsPerCategory = new ArrayList<>(searchRequests.size());
+            for (int idx = 0; idx < searchRequests.size(); ++idx) {
+                relatedDocsPerCategory.add(new LinkedHashMap<>());
+            }
+            long searchStart = metrics.startTime();
+            PagedSearch.searchAll(client, searchRequests, FINDING_ID_FIELD, pageSize, (idx, hits) -> {
+                Map<String, List<String>> docToFindings = relatedDocsPerCategory.get(idx);
+                for (SearchHit hit : hits) {
+                    for (Object docId: hit.getFields().get("correlated_doc_ids").getValues()) {
+                        docToFindings.computeIfAbsent(docId.toString(), k -> new ArrayList<>(1)).add(hit.getId());
+                    }
+                }
+            }, ActionListener.wrap(failures -> {
+                metrics.record(CorrelationMetrics.Stage.TIME_WINDOW_SEARCH, searchStart);
                 Map<String, DocSearchCriteria> relatedDocsMap = new HashMap<>();
 
-                int idx = 0;
-                for (MultiSearchResponse.Item response : responses) {
-                    if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
+                for (int idx = 0; idx < failures.length; ++idx) {
+                    if (failures[idx] != null) {
+                        log.info(failures[idx].getMessage());
                         continue;
                     }
 
-                    List<String> relatedDocIds = new ArrayList<>();
-                    SearchHit[] hits = response.getResponse().getHits().getHits();
-                    for (SearchHit hit : hits) {
-                        relatedDocIds.addAll(hit.getFields().get("correlated_doc_ids").getValues().stream()
-                                .map(Object::toString).collect(Collectors.toList()));
-                    }
-
-                    List<CorrelationQuery> correlationQueries = categoryToQueriesPairs.get(idx).getValue();
-                    List<String> indices = correlationQueries.stream().map(CorrelationQuery::getIndex).collect(Collectors.toList());
-                    List<String> queries = correlationQueries.stream().map(CorrelationQuery::getQuery).collect(Collectors.toList());
+                    List<Pair<String, QueryBuilder>> correlationQueries = categoryToQueriesPairs.get(idx).getValue();
+                    List<String> indices = correlationQueries.stream().map(Pair::getKey).collect(Collectors.toList());
+                    List<QueryBuilder> queries = correlationQueries.stream().map(Pair::getValue).collect(Collectors.toList());
                     relatedDocsMap.put(categoryToQueriesPairs.get(idx).getKey(),
                             new DocSearchCriteria(
                                     indices,
                                     queries,
-                                    relatedDocIds));
-                    ++idx;
+                                    relatedDocsPerCategory.get(idx)));
                 }
-                searchDocsWithFilterKeys(detectorType, relatedDocsMap, categoryToTimeWindowMap, correlationRules, autoCorrelations);
+                searchDocsWithFilterKeys(detectorType, relatedDocsMap, correlationRules, autoCorrelations);
             }, this::onFailure));
         } else {
             getTimestampFeature(detectorType, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()) , autoCorrelations);
@@ -440,141 +418,119 @@ public class JoinEngine {
     }
 
     /**
-     * Given the related docs from parent findings, this method filters only those related docs which match parent join criteria.
+     * Given the related docs from parent findings, this method filters only those related docs which match parent join
+     * criteria. The parent findings of the matching docs are the correlated findings; they are already known from
+     * {@link #searchFindingsByTimestamp}, so the filtered doc ids are not sent back to the findings indices.
+     *
+     * The related doc ids are still sent to the log indices in the request, in chunks of {@link #partition(List)}. The
+     * correlation queries carry no timestamp field of the log indices to evaluate them within the time window directly,
+     * and a terms lookup reads its ids from a single document while they are spread over all parent findings.
      */
-    private void searchDocsWithFilterKeys(String detectorType, Map<String, DocSearchCriteria> relatedDocsMap, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+    private void searchDocsWithFilterKeys(String detectorType, Map<String, DocSearchCriteria> relatedDocsMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+        if (relatedDocsMap.isEmpty()) {
+            getTimestampFeature(detectorType, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()), autoCorrelations);
+            return;
+        }
+
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
         List<String> categories = new ArrayList<>();
 
         for (Map.Entry<String, DocSearchCriteria> docSearchCriteria: relatedDocsMap.entrySet()) {
-            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                    .filter(QueryBuilders.termsQuery("_id", docSearchCriteria.getValue().relatedDocIds));
+            for (List<String> docIds: partition(new ArrayList<>(docSearchCriteria.getValue().relatedDocs.keySet()))) {
+                BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termsQuery("_id", docIds));
 
-            for (String query: docSearchCriteria.getValue().queries) {
-                queryBuilder = queryBuilder.should(QueryBuilders.queryStringQuery(query));
-            }
-            queryBuilder.minimumShouldMatch(1).boost(1.0f);
+                for (QueryBuilder query: docSearchCriteria.getValue().queries) {
+                    queryBuilder = queryBuilder.should(query);
+                }
+                queryBuilder.minimumShouldMatch(1).boost(1.0f);
 
-            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(false);
-            searchSourceBuilder.size(10000);
-            SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(docSearchCriteria.getValue().indices.toArray(new String[]{}));
-            searchRequest.source(searchSourceBuilder);
-            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-            searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+                searchSourceBuilder.query(queryBuilder);
+                searchSourceBuilder.fetchSource(false);
+                searchSourceBuilder.size(maxHits(docIds, docSearchCriteria.getValue().indices));
+                SearchRequest searchRequest = new SearchRequest();
+                searchRequest.indices(docSearchCriteria.getValue().indices.toArray(new String[]{}));
+                searchRequest.source(searchSourceBuilder);
+                searchRequest.preference(Preference.PRIMARY_FIRST.type());
+                searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
 
-            categories.add(docSearchCriteria.getKey());
-            mSearchRequest.add(searchRequest);
+                categories.add(docSearchCriteria.getKey());
+                mSearchRequest.add(searchRequest);
+            }
         }
 
-        if (!mSearchRequest.requests().isEmpty()) {
-            client.multiSearch(mSearchRequest, ActionListener.wrap( items -> {
-                MultiSearchResponse.Item[] responses = items.getResponses();
-                Map<String, List<String>> filteredRelatedDocIds = new HashMap<>();
-
-                int idx = 0;
-                for (MultiSearchResponse.Item response : responses) {
-                    if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
-                        continue;
-                    }
+        if (mSearchRequest.requests().isEmpty()) {
+            onCorrelatedFindings(detectorType, Map.of(), correlationRules, autoCorrelations);
+            return;
+        }
 
-                    SearchHit[] hits = response.getResponse().getHits().getHits();
-                    List<String> docIds = new ArrayList<>();
+        long searchStart = metrics.startTime();
+        client.multiSearch(mSearchRequest, ActionListener.wrap( items -> {
+            metrics.record(CorrelationMetrics.Stage.FILTER_KEY_SEARCH, searchStart);
+            MultiSearchResponse.Item[] responses = items.getResponses();
+            // a finding may match several related docs.
+            Map<String, Set<String>> correlatedFindingIds = new HashMap<>();
+
+            for (int idx = 0; idx < responses.length; ++idx) {
+                MultiSearchResponse.Item response = responses[idx];
+                if (response.isFailure()) {
+                    log.info(response.getFailureMessage());
+                    continue;
+                }
 
-                    for (SearchHit hit : hits) {
-                        docIds.add(hit.getId());
+                Map<String, List<String>> docToFindings = relatedDocsMap.get(categories.get(idx)).relatedDocs;
+                SearchHit[] hits = response.getResponse().getHits().getHits();
+                recordTruncation(hits);
+                for (SearchHit hit : hits) {
+                    List<String> findings = docToFindings.get(hit.getId());
+                    if (findings != null) {
+                        correlatedFindingIds.computeIfAbsent(categories.get(idx), k -> new LinkedHashSet<>()).addAll(findings);
                     }
-                    filteredRelatedDocIds.put(categories.get(idx), docIds);
-                    ++idx;
                 }
-                getCorrelatedFindings(detectorType, filteredRelatedDocIds, categoryToTimeWindowMap, correlationRules, autoCorrelations);
-            }, this::onFailure));
-        } else {
-            getTimestampFeature(detectorType, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()), autoCorrelations);
-        }
+            }
+            onCorrelatedFindings(detectorType, correlatedFindingIds, correlationRules, autoCorrelations);
+        }, this::onFailure));
     }
 
     /**
-     * Given the filtered related docs of the parent findings, this method gets the actual filtered parent findings for
-     * the finding to be correlated.
+     * Schedules the correlation rule alerts of the filtered parent findings & stores them together with the auto
+     * correlations of the finding to be correlated.
      */
-    private void getCorrelatedFindings(String detectorType, Map<String, List<String>> filteredRelatedDocIds, Map<String, Long> categoryToTimeWindowMap, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
-        long findingTimestamp = request.getFinding().getTimestamp().toEpochMilli();
-        MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-        List<String> categories = new ArrayList<>();
+    private void onCorrelatedFindings(String detectorType, Map<String, Set<String>> correlatedFindingIds, List<CorrelationRule> correlationRules, Map<String, List<String>> autoCorrelations) {
+        Map<String, List<String>> correlatedFindings = new HashMap<>();
+        for (Map.Entry<String, Set<String>> findings: correlatedFindingIds.entrySet()) {
+            correlatedFindings.put(findings.getKey(), new ArrayList<>(findings.getValue()));
+        }
 
-        for (Map.Entry<String, List<String>> relatedDocIds: filteredRelatedDocIds.entrySet()) {
-            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                    .filter(QueryBuilders.rangeQuery("timestamp")
-                            .gte(findingTimestamp - categoryToTimeWindowMap.get(relatedDocIds.getKey()))
-                            .lte(findingTimestamp + categoryToTimeWindowMap.get(relatedDocIds.getKey())))
-                    .must(QueryBuilders.termsQuery("correlated_doc_ids", relatedDocIds.getValue()));
+        if (!correlatedFindings.isEmpty()) {
+            long schedulingStart = metrics.startTime();
+            correlationRuleScheduler.schedule(correlationRules, correlatedFindings, request.getFinding().getId(), indexTimeout, user);
+            metrics.record(CorrelationMetrics.Stage.ALERT_SCHEDULING, schedulingStart);
+        }
 
-            if (relatedDocIds.getKey().equals(detectorType)) {
-                queryBuilder = queryBuilder.mustNot(QueryBuilders.matchQuery("_id", request.getFinding().getId()));
+        for (Map.Entry<String, List<String>> autoCorrelation: autoCorrelations.entrySet()) {
+            if (correlatedFindings.containsKey(autoCorrelation.getKey())) {
+                Set<String> alreadyCorrelatedFindings = new HashSet<>(correlatedFindings.get(autoCorrelation.getKey()));
+                alreadyCorrelatedFindings.addAll(autoCorrelation.getValue());
+                correlatedFindings.put(autoCorrelation.getKey(), new ArrayList<>(alreadyCorrelatedFindings));
+            } else {
+                correlatedFindings.put(autoCorrelation.getKey(), autoCorrelation.getValue());
             }
-
-            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(false);
-            searchSourceBuilder.size(10000);
-            SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(relatedDocIds.getKey()));
-            searchRequest.source(searchSourceBuilder);
-            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-            searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-
-            categories.add(relatedDocIds.getKey());
-            mSearchRequest.add(searchRequest);
         }
+        correlateFindingAction.initCorrelationIndex(detectorType, correlatedFindings, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()));
+    }
 
-        if (!mSearchRequest.requests().isEmpty()) {
-            client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
-                MultiSearchResponse.Item[] responses = items.getResponses();
-                Map<String, List<String>> correlatedFindings = new HashMap<>();
-
-                int idx = 0;
-                for (MultiSearchResponse.Item response : responses) {
-                    if (response.isFailure()) {
-                        log.info(response.getFailureMessage());
-                        ++idx;
-                        continue;
-                    }
-
-                    SearchHit[] hits = response.getResponse().getHits().getHits();
-                    List<String> findings = new ArrayList<>();
-
-                    for (SearchHit hit : hits) {
-                        findings.add(hit.getId());
-                    }
-
-                    if (!findings.isEmpty()) {
-                        correlatedFindings.put(categories.get(idx), findings);
-                    }
-                    ++idx;
-                }
-
-                if (!correlatedFindings.isEmpty()) {
-                     CorrelationRuleScheduler correlationRuleScheduler = new CorrelationRuleScheduler(client, correlationAlertService, notificationService);
-                     correlationRuleScheduler.schedule(correlationRules, correlatedFindings, request.getFinding().getId(), indexTimeout, user);
-                }
+    /**
+     * a search filtered on the given doc ids matches at most one document per id & index.
+     */
+    private static int maxHits(List<String> docIds, List<String> indices) {
+        return Math.min(MAX_HITS, docIds.size() * Math.max(1, indices.size()));
+    }
 
-                for (Map.Entry<String, List<String>> autoCorrelation: autoCorrelations.entrySet()) {
-                    if (correlatedFindings.containsKey(autoCorrelation.getKey())) {
-                        Set<String> alreadyCorrelatedFindings = new HashSet<>(correlatedFindings.get(autoCorrelation.getKey()));
-                        alreadyCorrelatedFindings.addAll(autoCorrelation.getValue());
-                        correlatedFindings.put(autoCorrelation.getKey(), new ArrayList<>(alreadyCorrelatedFindings));
-                    } else {
-                        correlatedFindings.put(autoCorrelation.getKey(), autoCorrelation.getValue());
-                    }
-                }
-                correlateFindingAction.initCorrelationIndex(detectorType, correlatedFindings, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()));
-            }, this::onFailure));
-        } else {
-            getTimestampFeature(detectorType, correlationRules.stream().map(CorrelationRule::getId).collect(Collectors.toList()), autoCorrelations);
+    private void recordTruncation(SearchHit[] hits) {
+        if (hits.length >= MAX_HITS) {
+            metrics.inc(CorrelationMetrics.Counter.TRUNCATED_SEARCHES);
         }
     }
 
@@ -592,25 +548,45 @@ public class JoinEngine {
 
     static class DocSearchCriteria {
         List<String> indices;
-        List<String> queries;
-        List<String> relatedDocIds;
+        List<QueryBuilder> queries;
+        /**
+         * related doc ids mapped to the parent findings referencing them.
+         */
+        Map<String, List<String>> relatedDocs;
 
-        public DocSearchCriteria(List<String> indices, List<String> queries, List<String> relatedDocIds) {
+        public DocSearchCriteria(List<String> indices, List<QueryBuilder> queries, Map<String, List<String>> relatedDocs) {
             this.indices = indices;
             this.queries = queries;
-            this.relatedDocIds = relatedDocIds;
+            this.relatedDocs = relatedDocs;
         }
     }
 
     static class FilteredCorrelationRule {
-        CorrelationRule correlationRule;
-        SearchHit[] filteredDocs;
-        String field;
+        CompiledCorrelationRule correlationRule;
+        List<String> filteredValues;
 
-        public FilteredCorrelationRule(CorrelationRule correlationRule, SearchHit[] filteredDocs, String field) {
+        public FilteredCorrelationRule(CompiledCorrelationRule correlationRule, List<String> filteredValues) {
             this.correlationRule = correlationRule;
-            this.filteredDocs = filteredDocs;
-            this.field = field;
+            this.filteredValues = filteredValues;
+        }
+    }
+
+    private static List<List<String>> newResultLists(int size) {
+        List<List<String>> results = new ArrayList<>(size);
+        for (int idx = 0; idx < size; ++idx) {
+            results.add(new ArrayList<>());
+        }
+        return results;
+    }
+
+    /**
+     * Splits the given doc ids into chunks of at most one page, so that searches filtered on them return bounded pages.
+     */
+    private List<List<String>> partition(List<String> docIds) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < docIds.size(); from += pageSize) {
+            chunks.add(docIds.subList(from, Math.min(docIds.size(), from + pageSize)));
         }
+        return chunks;
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ package org.opensearch.securityanalytics.correlation.alert;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
@@ -15,14 +16,18 @@ import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.lucene.uid.Versions;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.Table;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
@@ -40,20 +45,53 @@ import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.action.AckCorrelationAlertsResponse;
 import org.opensearch.securityanalytics.action.GetCorrelationAlertsResponse;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads & writes correlation alerts.
+ *
+ * Open alerts are kept in a node-local registry keyed by correlation rule, so that the correlation path can decide
+ * between inserting and updating an alert without searching the alerts index. The registry is loaded with a single search
+ * on first use, kept coherent by write-through of every alert written, acknowledged or errored on this node, and reloaded
+ * after {@link SecurityAnalyticsSettings#CORRELATION_ALERT_REGISTRY_TTL}. It is a positive cache only: rules without
+ * open alerts in the registry are searched in the index, so that alerts written by other nodes since the last load are
+ * found. A reload keeps the updates made on this node after it started.
+ *
+ * Since the registry can be stale, alerts are written with a scripted upsert which leaves alerts that are not
+ * {@link Alert.State#ACTIVE} in the index anymore untouched, so that an alert acknowledged or errored concurrently (on any
+ * node) is never rewritten to active. The rules of such alerts are evicted from the registry.
+ */
 public class CorrelationAlertService {
     private static final Logger log = LogManager.getLogger(CorrelationAlertService.class);
 
+    private static final int MAX_OPEN_ALERTS = 10000;
+
     private final NamedXContentRegistry xContentRegistry;
     private final Client client;
 
+    /**
+     * open alerts keyed by correlation rule id & alert id, null until loaded.
+     */
+    private volatile Map<String, Map<String, CorrelationAlert>> openAlerts;
+    private volatile long openAlertsLoadedAt;
+    private volatile TimeValue registryTtl;
+
+    /**
+     * alerts registered (or unregistered, with a null alert) on this node keyed by alert id, since the last load started.
+     */
+    private final Map<String, RegistryUpdate> registryUpdates = new HashMap<>();
+    private final Object registryLock = new Object();
+
     protected static final String CORRELATED_FINDING_IDS = "correlated_finding_ids";
     protected static final String CORRELATION_RULE_ID = "correlation_rule_id";
     protected static final String CORRELATION_RULE_NAME = "correlation_rule_name";
@@ -72,9 +110,231 @@ public class CorrelationAlertService {
     protected static final String NO_ID = "";
     protected static final long NO_VERSION = Versions.NOT_FOUND;
 
+    private static final String UPSERT_ACTIVE_ALERT_SCRIPT =
+            "if (ctx._source.state != 'ACTIVE') { ctx.op = 'noop' } else { ctx._source.putAll(params.alert) }";
+    private static final int UPSERT_RETRIES_ON_CONFLICT = 3;
+
     public CorrelationAlertService(Client client, NamedXContentRegistry xContentRegistry) {
         this.client = client;
         this.xContentRegistry = xContentRegistry;
+        this.registryTtl = SecurityAnalyticsSettings.CORRELATION_ALERT_REGISTRY_TTL.getDefault(Settings.EMPTY);
+    }
+
+    public CorrelationAlertService(Client client, NamedXContentRegistry xContentRegistry, ClusterService clusterService) {
+        this(client, xContentRegistry);
+        this.registryTtl = SecurityAnalyticsSettings.CORRELATION_ALERT_REGISTRY_TTL.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_ALERT_REGISTRY_TTL, it -> registryTtl = it);
+    }
+
+    /**
+     * Returns the open alerts of the given correlation rules active at the given time from the registry, loading it first
+     * if needed. Rules without open alerts in the registry are searched in the index.
+     *
+     * @param ruleIds    The correlation rule IDs to filter the alerts
+     * @param currentTime The current time of the search range
+     */
+    public void getOpenAlerts(Collection<String> ruleIds, long currentTime, ActionListener<CorrelationAlertsList> listener) {
+        Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+        if (registry != null && System.currentTimeMillis() - openAlertsLoadedAt <= registryTtl.millis()) {
+            getOpenAlerts(registry, ruleIds, currentTime, listener);
+            return;
+        }
+
+        long loadStartedAt = System.currentTimeMillis();
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                .must(QueryBuilders.rangeQuery("end_time").gte(Instant.ofEpochMilli(currentTime)))
+                .must(QueryBuilders.termQuery("state", "ACTIVE"));
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .seqNoAndPrimaryTerm(true)
+                .version(true)
+                .size(MAX_OPEN_ALERTS)
+                .trackTotalHits(true)
+                .query(queryBuilder);
+        SearchRequest searchRequest = new SearchRequest(CorrelationIndices.CORRELATION_ALERT_INDEX)
+                .source(searchSourceBuilder);
+
+        client.search(searchRequest, ActionListener.wrap(
+                searchResponse -> {
+                    long totalHits = searchResponse.getHits().getTotalHits() != null ? searchResponse.getHits().getTotalHits().value : 0L;
+                    if (totalHits > MAX_OPEN_ALERTS) {
+                        // too many open alerts to keep in memory, fall back to searching them per flush.
+                        log.debug("{} open correlation alerts exceed the registry, searching them instead", totalHits);
+                        getActiveAlerts(ruleIds, currentTime, listener);
+                        return;
+                    }
+
+                    Map<String, Map<String, CorrelationAlert>> loaded = new ConcurrentHashMap<>();
+                    for (CorrelationAlert correlationAlert: parseCorrelationAlerts(searchResponse)) {
+                        loaded.computeIfAbsent(correlationAlert.getCorrelationRuleId(), k -> new ConcurrentHashMap<>())
+                                .put(correlationAlert.getId(), correlationAlert);
+                    }
+                    getOpenAlerts(installRegistry(loaded, loadStartedAt), ruleIds, currentTime, listener);
+                },
+                e -> {
+                    if (e instanceof IndexNotFoundException) {
+                        installRegistry(new ConcurrentHashMap<>(), loadStartedAt);
+                        listener.onResponse(new CorrelationAlertsList(Collections.emptyList(), 0));
+                    } else {
+                        log.error("Search request to load open correlation alerts failed", e);
+                        listener.onFailure(e);
+                    }
+                }
+        ));
+    }
+
+    private void getOpenAlerts(Map<String, Map<String, CorrelationAlert>> registry, Collection<String> ruleIds, long currentTime,
+                               ActionListener<CorrelationAlertsList> listener) {
+        Instant currentTimeDate = Instant.ofEpochMilli(currentTime);
+        List<CorrelationAlert> alerts = new ArrayList<>();
+        List<String> missingRuleIds = new ArrayList<>();
+        for (String ruleId: ruleIds) {
+            Map<String, CorrelationAlert> ruleAlerts = registry.get(ruleId);
+            if (ruleAlerts != null) {
+                // alerts past their time window are closed & dropped from the registry.
+                ruleAlerts.values().removeIf(alert -> alert.getEndTime() != null && alert.getEndTime().isBefore(currentTimeDate));
+            }
+            if (ruleAlerts == null || ruleAlerts.isEmpty()) {
+                missingRuleIds.add(ruleId);
+                continue;
+            }
+            for (CorrelationAlert correlationAlert: ruleAlerts.values()) {
+                if (correlationAlert.getStartTime() == null || !correlationAlert.getStartTime().isAfter(currentTimeDate)) {
+                    alerts.add(correlationAlert);
+                }
+            }
+        }
+        if (missingRuleIds.isEmpty()) {
+            listener.onResponse(new CorrelationAlertsList(alerts, alerts.size()));
+            return;
+        }
+
+        long searchStartedAt = System.currentTimeMillis();
+        getActiveAlerts(missingRuleIds, currentTime, ActionListener.wrap(activeAlerts -> {
+            for (CorrelationAlert correlationAlert: activeAlerts.getCorrelationAlertList()) {
+                if (cacheOpenAlert(correlationAlert, searchStartedAt)) {
+                    alerts.add(correlationAlert);
+                }
+            }
+            listener.onResponse(new CorrelationAlertsList(alerts, alerts.size()));
+        }, e -> {
+            if (e instanceof IndexNotFoundException) {
+                listener.onResponse(new CorrelationAlertsList(alerts, alerts.size()));
+            } else {
+                listener.onFailure(e);
+            }
+        }));
+    }
+
+    /**
+     * Makes the loaded alerts the registry, keeping the updates made on this node since the load started. A load that
+     * started before the current registry was loaded is dropped.
+     *
+     * @return the registry
+     */
+    private Map<String, Map<String, CorrelationAlert>> installRegistry(Map<String, Map<String, CorrelationAlert>> loaded, long loadStartedAt) {
+        synchronized (registryLock) {
+            Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+            if (registry != null && loadStartedAt < openAlertsLoadedAt) {
+                return registry;
+            }
+            registryUpdates.values().removeIf(update -> update.timestamp < loadStartedAt);
+            for (Map.Entry<String, RegistryUpdate> entry: registryUpdates.entrySet()) {
+                RegistryUpdate update = entry.getValue();
+                if (update.alert != null) {
+                    loaded.computeIfAbsent(update.ruleId, k -> new ConcurrentHashMap<>()).put(entry.getKey(), update.alert);
+                } else {
+                    removeAlert(loaded, update.ruleId, entry.getKey());
+                }
+            }
+            openAlerts = loaded;
+            openAlertsLoadedAt = loadStartedAt;
+            return loaded;
+        }
+    }
+
+    /**
+     * Registers an alert found in the index, unless this node updated it since the search started.
+     *
+     * @return whether the alert was registered
+     */
+    private boolean cacheOpenAlert(CorrelationAlert correlationAlert, long searchStartedAt) {
+        synchronized (registryLock) {
+            RegistryUpdate update = registryUpdates.get(correlationAlert.getId());
+            if (update != null && update.timestamp >= searchStartedAt) {
+                return false;
+            }
+            Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+            if (registry != null) {
+                registry.computeIfAbsent(correlationAlert.getCorrelationRuleId(), k -> new ConcurrentHashMap<>())
+                        .put(correlationAlert.getId(), correlationAlert);
+            }
+            return true;
+        }
+    }
+
+    private void registerOpenAlert(CorrelationAlert correlationAlert) {
+        if (correlationAlert.getState() != Alert.State.ACTIVE) {
+            return;
+        }
+        synchronized (registryLock) {
+            registryUpdates.put(correlationAlert.getId(),
+                    new RegistryUpdate(correlationAlert.getCorrelationRuleId(), correlationAlert, System.currentTimeMillis()));
+            Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+            if (registry != null) {
+                registry.computeIfAbsent(correlationAlert.getCorrelationRuleId(), k -> new ConcurrentHashMap<>())
+                        .put(correlationAlert.getId(), correlationAlert);
+            }
+        }
+    }
+
+    /**
+     * Registers an alert after its write completed, unless this node closed it after the write started.
+     */
+    private void registerWrittenAlert(CorrelationAlert correlationAlert, long writeStartedAt) {
+        synchronized (registryLock) {
+            RegistryUpdate update = registryUpdates.get(correlationAlert.getId());
+            if (update != null && update.alert == null && update.timestamp >= writeStartedAt) {
+                return;
+            }
+            registerOpenAlert(correlationAlert);
+        }
+    }
+
+    private void unregisterOpenAlert(String ruleId, String alertId) {
+        synchronized (registryLock) {
+            registryUpdates.put(alertId, new RegistryUpdate(ruleId, null, System.currentTimeMillis()));
+            Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+            if (registry != null) {
+                removeAlert(registry, ruleId, alertId);
+            }
+        }
+    }
+
+    private void unregisterOpenAlerts(String ruleId) {
+        synchronized (registryLock) {
+            Map<String, Map<String, CorrelationAlert>> registry = openAlerts;
+            Map<String, CorrelationAlert> ruleAlerts = registry != null ? registry.remove(ruleId) : null;
+            if (ruleAlerts != null) {
+                long now = System.currentTimeMillis();
+                for (String alertId: ruleAlerts.keySet()) {
+                    registryUpdates.put(alertId, new RegistryUpdate(ruleId, null, now));
+                }
+            }
+        }
+    }
+
+    private static void removeAlert(Map<String, Map<String, CorrelationAlert>> registry, String ruleId, String alertId) {
+        registry.computeIfPresent(ruleId, (id, ruleAlerts) -> {
+            ruleAlerts.remove(alertId);
+            return ruleAlerts.isEmpty() ? null : ruleAlerts;
+        });
+    }
+
+    /**
+     * Drops the registry, the next {@link #getOpenAlerts} reloads it from the index.
+     */
+    public void invalidateOpenAlerts() {
+        openAlerts = null;
     }
 
     /**
@@ -84,9 +344,19 @@ public class CorrelationAlertService {
      * @param currentTime The current time of the search range
      */
     public void getActiveAlerts(String ruleId, long currentTime, ActionListener<CorrelationAlertsList> listener) {
+        getActiveAlerts(List.of(ruleId), currentTime, listener);
+    }
+
+    /**
+     * Searches for active Alerts of any of the given correlation rules with a single search.
+     *
+     * @param ruleIds    The correlation rule IDs to filter the alerts
+     * @param currentTime The current time of the search range
+     */
+    public void getActiveAlerts(Collection<String> ruleIds, long currentTime, ActionListener<CorrelationAlertsList> listener) {
         Instant currentTimeDate = Instant.ofEpochMilli(currentTime);
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                .must(QueryBuilders.termQuery("correlation_rule_id", ruleId))
+                .must(QueryBuilders.termsQuery("correlation_rule_id", ruleIds))
                 .must(QueryBuilders.rangeQuery("start_time").lte(currentTimeDate))
                 .must(QueryBuilders.rangeQuery("end_time").gte(currentTimeDate))
                 .must(QueryBuilders.termQuery("state", "ACTIVE"));
@@ -120,36 +390,101 @@ public class CorrelationAlertService {
     }
 
     public void indexCorrelationAlert(CorrelationAlert correlationAlert, TimeValue indexTimeout, ActionListener<IndexResponse> listener) {
-        // Convert CorrelationAlert to a map
         try {
-            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-            builder.field("correlated_finding_ids", correlationAlert.getCorrelatedFindingIds());
-            builder.field("correlation_rule_id", correlationAlert.getCorrelationRuleId());
-            builder.field("correlation_rule_name", correlationAlert.getCorrelationRuleName());
-            builder.field("id", correlationAlert.getId());
-            builder.field("user", correlationAlert.getUser()); // Convert User object to map
-            builder.field("schema_version", correlationAlert.getSchemaVersion());
-            builder.field("severity", correlationAlert.getSeverity());
-            builder.field("state", correlationAlert.getState());
-            builder.field("trigger_name", correlationAlert.getTriggerName());
-            builder.field("version", correlationAlert.getVersion());
-            builder.field("start_time", correlationAlert.getStartTime());
-            builder.field("end_time", correlationAlert.getEndTime());
-            builder.field("action_execution_results", correlationAlert.getActionExecutionResults());
-            builder.field("error_message", correlationAlert.getErrorMessage());
-            builder.field("acknowledged_time", correlationAlert.getAcknowledgedTime());
-            builder.endObject();
-            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_ALERT_INDEX)
-                    .id(correlationAlert.getId())
-                    .source(builder)
-                    .timeout(indexTimeout);
-
-            client.index(indexRequest, listener);
+            client.index(getCorrelationAlertIndexRequest(correlationAlert, indexTimeout), listener);
         } catch (IOException ex) {
             log.error("Exception while adding alerts in .opensearch-sap-correlation-alerts index", ex);
         }
     }
 
+    /**
+     * Indexes or overwrites the given alerts with a single bulk request. Alerts which are not active in the index anymore
+     * are left untouched, their items have the result {@link DocWriteResponse.Result#NOOP} & their rules are evicted from
+     * the registry, so that the next {@link #getOpenAlerts} searches them again.
+     */
+    public void bulkIndexCorrelationAlerts(List<CorrelationAlert> correlationAlerts, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        BulkRequest bulkRequest = new BulkRequest();
+        try {
+            for (CorrelationAlert correlationAlert: correlationAlerts) {
+                bulkRequest.add(getCorrelationAlertUpsertRequest(correlationAlert, indexTimeout));
+            }
+        } catch (IOException ex) {
+            log.error("Exception while adding alerts in .opensearch-sap-correlation-alerts index", ex);
+            listener.onFailure(ex);
+            return;
+        }
+
+        // registered before the write completes, so that alerts of the next flush find them.
+        long writeStartedAt = System.currentTimeMillis();
+        for (CorrelationAlert correlationAlert: correlationAlerts) {
+            registerOpenAlert(correlationAlert);
+        }
+        client.bulk(bulkRequest, ActionListener.wrap(bulkResponse -> {
+            for (BulkItemResponse itemResponse: bulkResponse.getItems()) {
+                CorrelationAlert correlationAlert = correlationAlerts.get(itemResponse.getItemId());
+                if (itemResponse.isFailed()) {
+                    unregisterOpenAlert(correlationAlert.getCorrelationRuleId(), correlationAlert.getId());
+                } else if (itemResponse.getResponse().getResult() == DocWriteResponse.Result.NOOP) {
+                    // closed in the index since the registry saw it, the other open alerts of the rule may be stale too.
+                    unregisterOpenAlert(correlationAlert.getCorrelationRuleId(), correlationAlert.getId());
+                    unregisterOpenAlerts(correlationAlert.getCorrelationRuleId());
+                } else {
+                    // a reload that started while the write was in flight may not see it.
+                    registerWrittenAlert(correlationAlert, writeStartedAt);
+                }
+            }
+            listener.onResponse(bulkResponse);
+        }, e -> {
+            for (CorrelationAlert correlationAlert: correlationAlerts) {
+                unregisterOpenAlert(correlationAlert.getCorrelationRuleId(), correlationAlert.getId());
+            }
+            invalidateOpenAlerts();
+            listener.onFailure(e);
+        }));
+    }
+
+    private IndexRequest getCorrelationAlertIndexRequest(CorrelationAlert correlationAlert, TimeValue indexTimeout) throws IOException {
+        return new IndexRequest(CorrelationIndices.CORRELATION_ALERT_INDEX)
+                .id(correlationAlert.getId())
+                .source(getCorrelationAlertSource(correlationAlert))
+                .timeout(indexTimeout);
+    }
+
+    /**
+     * Inserts the alert, or overwrites it if it is still active in the index.
+     */
+    private UpdateRequest getCorrelationAlertUpsertRequest(CorrelationAlert correlationAlert, TimeValue indexTimeout) throws IOException {
+        Map<String, Object> source = XContentHelper.convertToMap(
+                BytesReference.bytes(getCorrelationAlertSource(correlationAlert)), false, XContentType.JSON).v2();
+        return new UpdateRequest(CorrelationIndices.CORRELATION_ALERT_INDEX, correlationAlert.getId())
+                .script(new Script(ScriptType.INLINE, "painless", UPSERT_ACTIVE_ALERT_SCRIPT, Map.of("alert", source)))
+                .upsert(source)
+                .retryOnConflict(UPSERT_RETRIES_ON_CONFLICT)
+                .timeout(indexTimeout);
+    }
+
+    private XContentBuilder getCorrelationAlertSource(CorrelationAlert correlationAlert) throws IOException {
+        // Convert CorrelationAlert to a map
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.field("correlated_finding_ids", correlationAlert.getCorrelatedFindingIds());
+        builder.field("correlation_rule_id", correlationAlert.getCorrelationRuleId());
+        builder.field("correlation_rule_name", correlationAlert.getCorrelationRuleName());
+        builder.field("id", correlationAlert.getId());
+        builder.field("user", correlationAlert.getUser()); // Convert User object to map
+        builder.field("schema_version", correlationAlert.getSchemaVersion());
+        builder.field("severity", correlationAlert.getSeverity());
+        builder.field("state", correlationAlert.getState());
+        builder.field("trigger_name", correlationAlert.getTriggerName());
+        builder.field("version", correlationAlert.getVersion());
+        builder.field("start_time", correlationAlert.getStartTime());
+        builder.field("end_time", correlationAlert.getEndTime());
+        builder.field("action_execution_results", correlationAlert.getActionExecutionResults());
+        builder.field("error_message", correlationAlert.getErrorMessage());
+        builder.field("acknowledged_time", correlationAlert.getAcknowledgedTime());
+        builder.endObject();
+        return builder;
+    }
+
     public void getCorrelationAlerts(String ruleId, Table tableProp, ActionListener<GetCorrelationAlertsResponse> listener) {
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
         if (ruleId != null) {
@@ -245,6 +580,9 @@ public class CorrelationAlertService {
                                 if (itemResponse.isFailed()) {
                                     // If an update failed, add the corresponding alert to the failed alerts list
                                     failedAlerts.add(acknowledgedAlerts.get(itemResponse.getItemId()));
+                                } else {
+                                    CorrelationAlert acknowledgedAlert = acknowledgedAlerts.get(itemResponse.getItemId());
+                                    unregisterOpenAlert(acknowledgedAlert.getCorrelationRuleId(), acknowledgedAlert.getId());
                                 }
                             }
                             // Create and pass the CorrelationAckAlertsResponse to the listener
@@ -272,6 +610,7 @@ public class CorrelationAlertService {
     }
 
     public void updateCorrelationAlertsWithError(String correlationRuleId) {
+        unregisterOpenAlerts(correlationRuleId);
         BulkRequest bulkRequest = new BulkRequest();
         BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
                 .must(QueryBuilders.termQuery("correlation_rule_id", correlationRuleId));
@@ -324,6 +663,18 @@ public class CorrelationAlertService {
         CorrelationAlert correlationAlert = CorrelationAlertsList.parse(xcp, hit.getId(), hit.getVersion());
         return correlationAlert;
     }
+
+    private static class RegistryUpdate {
+        private final String ruleId;
+        private final CorrelationAlert alert;
+        private final long timestamp;
+
+        private RegistryUpdate(String ruleId, CorrelationAlert alert, long timestamp) {
+            this.ruleId = ruleId;
+            this.alert = alert;
+            this.timestamp = timestamp;
+        }
+    }
     
 }
 
@@ -6,8 +6,9 @@ package org.opensearch.securityanalytics.correlation.alert;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opensearch.action.index.IndexResponse;
-import org.opensearch.client.Client;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.CorrelationAlert;
@@ -20,119 +21,240 @@ import org.opensearch.securityanalytics.correlation.alert.notifications.Notifica
 import org.opensearch.securityanalytics.correlation.alert.notifications.CorrelationAlertContext;
 import org.opensearch.commons.alerting.model.action.Action;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.threadpool.ThreadPool;
+
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.UUID;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Node-level scheduler of correlation rule alerts.
+ *
+ * Rule tasks are coalesced per correlation rule for {@link SecurityAnalyticsSettings#CORRELATION_ALERT_FLUSH_INTERVAL}:
+ * the correlated findings of all tasks of a rule are deduped into one pending alert whose time window starts with the
+ * first task. Each tick looks up the open alerts of all pending rules in the registry of {@link CorrelationAlertService}
+ * and writes the new & updated alerts with a single bulk request, so the load on the alerts index is bounded by the tick
+ * rate instead of the rate of correlated findings. Rules whose open alerts were closed concurrently are looked up and
+ * written once more.
+ */
 public class CorrelationRuleScheduler {
 
-    private final Logger log = LogManager.getLogger(CorrelationRuleScheduler.class);
-    private final Client client;
+    private static final Logger log = LogManager.getLogger(CorrelationRuleScheduler.class);
     private final CorrelationAlertService correlationAlertService;
     private final NotificationService notificationService;
+    private final ThreadPool threadPool;
+
+    private final Object lock = new Object();
+
+    private Map<String, PendingRuleAlert> pendingAlerts = new LinkedHashMap<>();
 
-    public CorrelationRuleScheduler(Client client, CorrelationAlertService correlationAlertService, NotificationService notificationService) {
-        this.client = client;
+    private boolean flushScheduled = false;
+
+    private volatile TimeValue flushInterval;
+
+    public CorrelationRuleScheduler(CorrelationAlertService correlationAlertService, NotificationService notificationService, ClusterService clusterService, ThreadPool threadPool) {
         this.correlationAlertService = correlationAlertService;
         this.notificationService = notificationService;
+        this.threadPool = threadPool;
+        this.flushInterval = SecurityAnalyticsSettings.CORRELATION_ALERT_FLUSH_INTERVAL.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_ALERT_FLUSH_INTERVAL, it -> flushInterval = it);
     }
 
     public void schedule(List<CorrelationRule> correlationRules, Map<String, List<String>> correlatedFindings, String sourceFinding, TimeValue indexTimeout, User user) {
-        for (CorrelationRule rule : correlationRules) {
-            CorrelationRuleTrigger trigger = rule.getCorrelationTrigger();
-            if (trigger != null) {
-                List<String> findingIds = new ArrayList<>();
-                for (CorrelationQuery query : rule.getCorrelationQueries()) {
-                    List<String> categoryFindingIds = correlatedFindings.get(query.getCategory());
-                    if (categoryFindingIds != null) {
-                        findingIds.addAll(categoryFindingIds);
+        long startTime = Instant.now().toEpochMilli();
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (lock) {
+            for (CorrelationRule rule : correlationRules) {
+                CorrelationRuleTrigger trigger = rule.getCorrelationTrigger();
+                if (trigger != null) {
+                    PendingRuleAlert pendingAlert = pendingAlerts.computeIfAbsent(rule.getId(), id -> new PendingRuleAlert(startTime, sourceFinding, user));
+                    pendingAlert.correlationRule = rule;
+                    pendingAlert.indexTimeout = indexTimeout;
+                    for (CorrelationQuery query : rule.getCorrelationQueries()) {
+                        List<String> categoryFindingIds = correlatedFindings.get(query.getCategory());
+                        if (categoryFindingIds != null) {
+                            pendingAlert.correlatedFindingIds.addAll(categoryFindingIds);
+                        }
                     }
                 }
-                scheduleRule(rule, findingIds, indexTimeout, sourceFinding, user);
+            }
+
+            if (pendingAlerts.isEmpty()) {
+                return;
+            }
+            if (flushInterval.millis() <= 0) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
             }
         }
+
+        if (flushNow) {
+            flushPending();
+        } else if (scheduleFlush) {
+            threadPool.schedule(this::flushPending, flushInterval, ThreadPool.Names.GENERIC);
+        }
     }
 
-    private void scheduleRule(CorrelationRule correlationRule, List<String> findingIds, TimeValue indexTimeout, String sourceFindingId, User user) {
-        long startTime = Instant.now().toEpochMilli();
-        long endTime = startTime + correlationRule.getCorrTimeWindow();
-        RuleTask ruleTask = new RuleTask(correlationRule, findingIds, startTime, endTime, correlationAlertService, notificationService, indexTimeout, sourceFindingId, user);
-        ruleTask.run();
+    /**
+     * Returns the number of correlation rules with alerts waiting for the next tick.
+     */
+    public int pendingAlerts() {
+        synchronized (lock) {
+            return pendingAlerts.size();
+        }
+    }
+
+    private void flushPending() {
+        Map<String, PendingRuleAlert> toFlush;
+        synchronized (lock) {
+            toFlush = pendingAlerts;
+            pendingAlerts = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+        if (toFlush.isEmpty()) {
+            return;
+        }
+
+        long currentTime = Instant.now().toEpochMilli();
+        List<PendingRuleAlert> inWindow = new ArrayList<>();
+        for (PendingRuleAlert pendingAlert: toFlush.values()) {
+            if (currentTime >= pendingAlert.startTime && currentTime <= pendingAlert.getEndTime()) {
+                inWindow.add(pendingAlert);
+            }
+        }
+        if (inWindow.isEmpty()) {
+            return;
+        }
+
+        writeAlerts(inWindow, currentTime, false);
+    }
+
+    private void writeAlerts(List<PendingRuleAlert> pendingAlerts, long currentTime, boolean retry) {
+        try {
+            List<String> ruleIds = new ArrayList<>();
+            for (PendingRuleAlert pendingAlert: pendingAlerts) {
+                ruleIds.add(pendingAlert.correlationRule.getId());
+            }
+            correlationAlertService.getOpenAlerts(ruleIds, currentTime, ActionListener.wrap(
+                    correlationAlertsList -> upsertAlerts(pendingAlerts, correlationAlertsList, retry),
+                    e -> {
+                        log.error("Failed to get open correlation alerts", e);
+                        new SecurityAnalyticsException("Failed to get open correlation alerts", RestStatus.INTERNAL_SERVER_ERROR, e);
+                    }
+            ));
+        } catch (Exception e) {
+            log.error("Failed to fetch active alerts in the time window", e);
+            new SecurityAnalyticsException("Failed to get active alerts in the correlationRuletimewindow", RestStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private void upsertAlerts(List<PendingRuleAlert> pendingAlerts, CorrelationAlertsList correlationAlertsList, boolean retry) {
+        Map<String, List<CorrelationAlert>> activeAlerts = new HashMap<>();
+        for (CorrelationAlert correlationAlert: correlationAlertsList.getCorrelationAlertList()) {
+            activeAlerts.computeIfAbsent(correlationAlert.getCorrelationRuleId(), k -> new ArrayList<>()).add(correlationAlert);
+        }
+
+        List<CorrelationAlert> correlationAlerts = new ArrayList<>();
+        // the pending alert of every written alert, by bulk item.
+        List<PendingRuleAlert> alertOwners = new ArrayList<>();
+        List<PendingRuleAlert> newAlerts = new ArrayList<>();
+        TimeValue indexTimeout = null;
+        for (PendingRuleAlert pendingAlert: pendingAlerts) {
+            indexTimeout = pendingAlert.indexTimeout;
+            List<CorrelationAlert> ruleAlerts = activeAlerts.get(pendingAlert.correlationRule.getId());
+            if (ruleAlerts == null) {
+                correlationAlerts.add(pendingAlert.newCorrelationAlert());
+                alertOwners.add(pendingAlert);
+                newAlerts.add(pendingAlert);
+            } else {
+                for (CorrelationAlert correlationAlert: ruleAlerts) {
+                    correlationAlerts.add(pendingAlert.updatedCorrelationAlert(correlationAlert));
+                    alertOwners.add(pendingAlert);
+                }
+            }
+        }
+
+        correlationAlertService.bulkIndexCorrelationAlerts(correlationAlerts, indexTimeout, ActionListener.wrap(bulkResponse -> {
+            if (bulkResponse.hasFailures()) {
+                log.error("Failed to index correlation alerts: {}", bulkResponse.buildFailureMessage());
+            } else {
+                log.info("Successfully updated {} alerts in the index .opensearch-sap-correlation-alerts", correlationAlerts.size());
+            }
+
+            // alerts acknowledged or errored since the lookup were left untouched, their rules need a new alert.
+            Set<PendingRuleAlert> closedAlerts = new LinkedHashSet<>();
+            for (BulkItemResponse itemResponse: bulkResponse.getItems()) {
+                if (!itemResponse.isFailed() && itemResponse.getResponse().getResult() == DocWriteResponse.Result.NOOP) {
+                    closedAlerts.add(alertOwners.get(itemResponse.getItemId()));
+                }
+            }
+            if (!closedAlerts.isEmpty()) {
+                if (retry) {
+                    log.error("Open correlation alerts of {} rules were closed again while being updated", closedAlerts.size());
+                } else {
+                    writeAlerts(new ArrayList<>(closedAlerts), Instant.now().toEpochMilli(), true);
+                }
+            }
+        }, e -> log.error("Failed to index correlation alert", e)));
+
+        for (PendingRuleAlert pendingAlert: newAlerts) {
+            sendNotifications(pendingAlert);
+        }
     }
 
-    private class RuleTask implements Runnable {
-        private final CorrelationRule correlationRule;
+    private void sendNotifications(PendingRuleAlert pendingAlert) {
+        CorrelationRule correlationRule = pendingAlert.correlationRule;
+        List<Action> actions = correlationRule.getCorrelationTrigger().getActions();
+        for (Action action : actions) {
+            String configId = action.getDestinationId();
+            CorrelationAlertContext ctx = new CorrelationAlertContext(new ArrayList<>(pendingAlert.correlatedFindingIds), correlationRule.getName(),
+                    correlationRule.getCorrTimeWindow(), pendingAlert.sourceFindingId);
+            String transformedSubject = notificationService.compileTemplate(ctx, action.getSubjectTemplate());
+            String transformedMessage = notificationService.compileTemplate(ctx, action.getMessageTemplate());
+            try {
+                notificationService.sendNotification(configId, correlationRule.getCorrelationTrigger().getSeverity(), transformedSubject, transformedMessage);
+            } catch (Exception e) {
+                log.error("Failed while sending a notification with " + configId + "for correlationRule id " + correlationRule.getId(), e);
+                new SecurityAnalyticsException("Failed to send notification", RestStatus.INTERNAL_SERVER_ERROR, e);
+            }
+        }
+    }
+
+    /**
+     * Rule tasks of one correlation rule coalesced within a tick.
+     */
+    private static class PendingRuleAlert {
         private final long startTime;
-        private final long endTime;
-        private final List<String> correlatedFindingIds;
-        private final CorrelationAlertService correlationAlertService;
-        private final NotificationService notificationService;
-        private final TimeValue indexTimeout;
         private final String sourceFindingId;
         private final User user;
+        private final Set<String> correlatedFindingIds = new LinkedHashSet<>();
+        private CorrelationRule correlationRule;
+        private TimeValue indexTimeout;
 
-        public RuleTask(CorrelationRule correlationRule, List<String> correlatedFindingIds, long startTime, long endTime, CorrelationAlertService correlationAlertService, NotificationService notificationService, TimeValue indexTimeout, String sourceFindingId, User user) {
-            this.correlationRule = correlationRule;
-            this.correlatedFindingIds = correlatedFindingIds;
+        private PendingRuleAlert(long startTime, String sourceFindingId, User user) {
             this.startTime = startTime;
-            this.endTime = endTime;
-            this.correlationAlertService = correlationAlertService;
-            this.notificationService = notificationService;
-            this.indexTimeout = indexTimeout;
             this.sourceFindingId = sourceFindingId;
             this.user = user;
         }
 
-        @Override
-        public void run() {
-            long currentTime = Instant.now().toEpochMilli();
-            if (currentTime >= startTime && currentTime <= endTime) {
-                try {
-                    correlationAlertService.getActiveAlerts(correlationRule.getId(), currentTime, new ActionListener<>() {
-                        @Override
-                        public void onResponse(CorrelationAlertsList correlationAlertsList) {
-                            if (correlationAlertsList.getTotalAlerts() == 0) {
-                                addCorrelationAlertIntoIndex();
-                                List<Action> actions = correlationRule.getCorrelationTrigger().getActions();
-                                for (Action action : actions) {
-                                    String configId = action.getDestinationId();
-                                    CorrelationAlertContext ctx = new CorrelationAlertContext(correlatedFindingIds, correlationRule.getName(), correlationRule.getCorrTimeWindow(), sourceFindingId);
-                                    String transformedSubject = notificationService.compileTemplate(ctx, action.getSubjectTemplate());
-                                    String transformedMessage = notificationService.compileTemplate(ctx, action.getMessageTemplate());
-                                    try {
-                                        notificationService.sendNotification(configId, correlationRule.getCorrelationTrigger().getSeverity(), transformedSubject, transformedMessage);
-                                    } catch (Exception e) {
-                                        log.error("Failed while sending a notification with " + configId + "for correlationRule id " + correlationRule.getId(), e);
-                                        new SecurityAnalyticsException("Failed to send notification", RestStatus.INTERNAL_SERVER_ERROR, e);
-                                    }
-
-                                }
-                            } else {
-                                for (CorrelationAlert correlationAlert: correlationAlertsList.getCorrelationAlertList()) {
-                                    updateCorrelationAlert(correlationAlert);
-                                }
-                            }
-                        }
-
-                        @Override
-                        public void onFailure(Exception e) {
-                            log.error("Failed to search active correlation alert", e);
-                            new SecurityAnalyticsException("Failed to search active correlation alert", RestStatus.INTERNAL_SERVER_ERROR, e);
-                        }
-                    });
-                } catch (Exception e) {
-                    log.error("Failed to fetch active alerts in the time window", e);
-                    new SecurityAnalyticsException("Failed to get active alerts in the correlationRuletimewindow", RestStatus.INTERNAL_SERVER_ERROR, e);
-                }
-            }
+        private long getEndTime() {
+            return startTime + correlationRule.getCorrTimeWindow();
         }
 
-        private void addCorrelationAlertIntoIndex() {
-            CorrelationAlert correlationAlert = new CorrelationAlert(
-                    correlatedFindingIds,
+        private CorrelationAlert newCorrelationAlert() {
+            return new CorrelationAlert(
+                    new ArrayList<>(correlatedFindingIds),
                     correlationRule.getId(),
                     correlationRule.getName(),
                     UUID.randomUUID().toString(),
@@ -142,18 +264,17 @@ public class CorrelationRuleScheduler {
                     correlationRule.getCorrelationTrigger().getName(),
                     Alert.State.ACTIVE,
                     Instant.ofEpochMilli(startTime),
-                    Instant.ofEpochMilli(endTime),
+                    Instant.ofEpochMilli(getEndTime()),
                     null,
                     null,
                     correlationRule.getCorrelationTrigger().getSeverity(),
                     new ArrayList<>()
             );
-            insertCorrelationAlert(correlationAlert);
         }
 
-        private void updateCorrelationAlert(CorrelationAlert correlationAlert) {
-            CorrelationAlert newCorrelationAlert = new CorrelationAlert(
-                    correlatedFindingIds,
+        private CorrelationAlert updatedCorrelationAlert(CorrelationAlert correlationAlert) {
+            return new CorrelationAlert(
+                    new ArrayList<>(correlatedFindingIds),
                     correlationAlert.getCorrelationRuleId(),
                     correlationAlert.getCorrelationRuleName(),
                     correlationAlert.getId(),
@@ -163,28 +284,12 @@ public class CorrelationRuleScheduler {
                     correlationRule.getCorrelationTrigger().getName(),
                     Alert.State.ACTIVE,
                     Instant.ofEpochMilli(startTime),
-                    Instant.ofEpochMilli(endTime),
+                    Instant.ofEpochMilli(getEndTime()),
                     null,
                     null,
                     correlationRule.getCorrelationTrigger().getSeverity(),
                     new ArrayList<>()
             );
-           insertCorrelationAlert(newCorrelationAlert);
-        }
-
-        private void insertCorrelationAlert(CorrelationAlert correlationAlert) {
-            correlationAlertService.indexCorrelationAlert(correlationAlert, indexTimeout, new ActionListener<>() {
-                @Override
-                public void onResponse(IndexResponse indexResponse) {
-                    log.info("Successfully updated the index .opensearch-sap-correlation-alerts: {}", indexResponse);
-                }
-
-                @Override
-                public void onFailure(Exception e) {
-                    log.error("Failed to index correlation alert", e);
-                }
-            });
         }
     }
 }
-
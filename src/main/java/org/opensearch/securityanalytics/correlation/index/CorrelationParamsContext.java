@@ -11,6 +11,7 @@ import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -76,6 +77,14 @@ public class CorrelationParamsContext implements ToXContentFragment, Writeable {
 
                 @SuppressWarnings("unchecked")
                 Map<String, Object> valueMap = (Map<String, Object>) value;
+                Object quantization = valueMap.get(CorrelationConstants.METHOD_PARAMETER_QUANTIZATION);
+                if (quantization != null) {
+                    try {
+                        VectorQuantization.fromString(quantization.toString());
+                    } catch (IllegalArgumentException ex) {
+                        throw new MapperParsingException(ex.getMessage());
+                    }
+                }
                 assert parameters != null;
                 parameters.putAll(valueMap);
             } else {
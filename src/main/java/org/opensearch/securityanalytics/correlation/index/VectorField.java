@@ -12,14 +12,9 @@ import org.opensearch.securityanalytics.correlation.index.codec.util.Correlation
 
 public class VectorField extends Field {
 
+    private static final CorrelationVectorSerializer VECTOR_SERIALIZER = new CorrelationVectorAsArraySerializer();
+
     public VectorField(String name, float[] value, IndexableFieldType type) {
-        super(name, new BytesRef(), type);
-        try {
-            final CorrelationVectorSerializer vectorSerializer = new CorrelationVectorAsArraySerializer();
-            final byte[] floatToByte = vectorSerializer.floatToByteArray(value);
-            this.setBytesValue(floatToByte);
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
-        }
+        super(name, new BytesRef(VECTOR_SERIALIZER.floatToByteArray(value)), type);
     }
 }
\ No newline at end of file
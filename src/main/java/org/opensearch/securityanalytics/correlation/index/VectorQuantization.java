@@ -0,0 +1,36 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index;
+
+import java.util.Locale;
+
+/**
+ * Scalar quantization of correlation vectors, selected with the {@code quantization} parameter of the correlation context.
+ * Quantized vectors are searched through the HNSW graph with 1 byte (or half a byte) per dimension instead of 4.
+ */
+public enum VectorQuantization {
+    NONE(32),
+    INT8(8),
+    INT7(7),
+    INT4(4);
+
+    private final int bits;
+
+    VectorQuantization(int bits) {
+        this.bits = bits;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public static VectorQuantization fromString(String value) {
+        try {
+            return VectorQuantization.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format(Locale.getDefault(), "Invalid quantization: %s", value));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.apache.lucene.codecs.KnnVectorsFormat;
 import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.securityanalytics.correlation.CorrelationConstants;
+import org.opensearch.securityanalytics.correlation.index.VectorQuantization;
 import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
 
 import java.util.Locale;
@@ -23,17 +24,37 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
     private final int defaultBeamWidth;
     private final Supplier<KnnVectorsFormat> defaultFormatSupplier;
     private final BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier;
+    private final QuantizedFormatSupplier quantizedFormatSupplier;
+
+    @FunctionalInterface
+    public interface QuantizedFormatSupplier {
+        KnnVectorsFormat apply(int maxConnections, int beamWidth, VectorQuantization quantization);
+    }
 
     public BasePerFieldCorrelationVectorsFormat(Optional<MapperService> mapperService,
                                                 int defaultMaxConnections,
                                                 int defaultBeamWidth,
                                                 Supplier<KnnVectorsFormat> defaultFormatSupplier,
                                                 BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier) {
+        this(mapperService, defaultMaxConnections, defaultBeamWidth, defaultFormatSupplier, formatSupplier, null);
+    }
+
+    /**
+     * @param quantizedFormatSupplier format of fields with a {@link CorrelationConstants#METHOD_PARAMETER_QUANTIZATION},
+     *                                or null if the codec version has no quantized format & writes float vectors.
+     */
+    public BasePerFieldCorrelationVectorsFormat(Optional<MapperService> mapperService,
+                                                int defaultMaxConnections,
+                                                int defaultBeamWidth,
+                                                Supplier<KnnVectorsFormat> defaultFormatSupplier,
+                                                BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier,
+                                                QuantizedFormatSupplier quantizedFormatSupplier) {
         this.mapperService = mapperService;
         this.defaultMaxConnections = defaultMaxConnections;
         this.defaultBeamWidth = defaultBeamWidth;
         this.defaultFormatSupplier = defaultFormatSupplier;
         this.formatSupplier = formatSupplier;
+        this.quantizedFormatSupplier = quantizedFormatSupplier;
     }
 
     @Override
@@ -50,7 +71,11 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
         var params = type.getCorrelationParams().getParameters();
         int maxConnections = getMaxConnections(params);
         int beamWidth = getBeamWidth(params);
+        VectorQuantization quantization = getQuantization(params);
 
+        if (quantization != VectorQuantization.NONE && quantizedFormatSupplier != null) {
+            return quantizedFormatSupplier.apply(maxConnections, beamWidth, quantization);
+        }
         return formatSupplier.apply(maxConnections, beamWidth);
     }
 
@@ -71,4 +96,11 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
         }
         return defaultBeamWidth;
     }
+
+    private VectorQuantization getQuantization(final Map<String, Object> params) {
+        if (params != null && params.get(CorrelationConstants.METHOD_PARAMETER_QUANTIZATION) != null) {
+            return VectorQuantization.fromString(params.get(CorrelationConstants.METHOD_PARAMETER_QUANTIZATION).toString());
+        }
+        return VectorQuantization.NONE;
+    }
 }
\ No newline at end of file
@@ -4,8 +4,10 @@
  */
 package org.opensearch.securityanalytics.correlation.index.codec.correlation990;
 
+import org.apache.lucene.codecs.lucene99.Lucene99HnswScalarQuantizedVectorsFormat;
 import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
 import org.opensearch.index.mapper.MapperService;
+import org.opensearch.securityanalytics.correlation.index.VectorQuantization;
 import org.opensearch.securityanalytics.correlation.index.codec.BasePerFieldCorrelationVectorsFormat;
 
 import java.util.Optional;
@@ -18,7 +20,16 @@ public class PerFieldCorrelationVectorsFormat990 extends BasePerFieldCorrelation
                 Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN,
                 Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH,
                 () -> new Lucene99HnswVectorsFormat(),
-                (maxConn, beamWidth) -> new Lucene99HnswVectorsFormat(maxConn, beamWidth)
+                (maxConn, beamWidth) -> new Lucene99HnswVectorsFormat(maxConn, beamWidth),
+                (maxConn, beamWidth, quantization) -> new Lucene99HnswScalarQuantizedVectorsFormat(
+                        maxConn,
+                        beamWidth,
+                        Lucene99HnswVectorsFormat.DEFAULT_NUM_MERGE_WORKER,
+                        quantization.getBits(),
+                        quantization == VectorQuantization.INT4,
+                        null,
+                        null
+                )
         );
     }
 }
\ No newline at end of file
@@ -7,35 +7,66 @@ package org.opensearch.securityanalytics.correlation.index.codec.util;
 import org.opensearch.ExceptionsHelper;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Locale;
 
+/**
+ * Encodes correlation vectors as a format byte followed by the raw little-endian IEEE-754 floats.
+ *
+ * Vectors written by earlier versions were java-serialized {@code float[]}s. They start with the java serialization
+ * stream magic, which never collides with a format byte, so they are still decoded.
+ */
 public class CorrelationVectorAsArraySerializer implements CorrelationVectorSerializer {
 
+    public static final byte FORMAT_FLOAT32_LE = 1;
+
+    private static final VarHandle FLOAT_LE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final byte STREAM_MAGIC_HIGH = (byte) (ObjectStreamConstants.STREAM_MAGIC >>> 8);
+
     @Override
     public byte[] floatToByteArray(float[] input) {
-        byte[] bytes;
-        try(
-                ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-                ObjectOutputStream objectStream = new ObjectOutputStream(byteStream);
-        ) {
-            objectStream.writeObject(input);
-            bytes = byteStream.toByteArray();
-        } catch (IOException ex) {
-            throw ExceptionsHelper.convertToOpenSearchException(ex);
+        byte[] bytes = new byte[1 + Float.BYTES * input.length];
+        bytes[0] = FORMAT_FLOAT32_LE;
+        for (int i = 0, pos = 1; i < input.length; ++i, pos += Float.BYTES) {
+            FLOAT_LE.set(bytes, pos, input[i]);
         }
         return bytes;
     }
 
     @Override
     public float[] byteToFloatArray(ByteArrayInputStream byteStream) {
-        try {
-            ObjectInputStream objectStream  = new ObjectInputStream(byteStream);
+        byte[] bytes = byteStream.readAllBytes();
+        return byteToFloatArray(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public float[] byteToFloatArray(byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset] == FORMAT_FLOAT32_LE) {
+            if ((length - 1) % Float.BYTES != 0) {
+                throw new IllegalArgumentException(String.format(Locale.ROOT, "Invalid correlation vector of %d bytes", length));
+            }
+            float[] vector = new float[(length - 1) / Float.BYTES];
+            for (int i = 0, pos = offset + 1; i < vector.length; ++i, pos += Float.BYTES) {
+                vector[i] = (float) FLOAT_LE.get(bytes, pos);
+            }
+            return vector;
+        } else if (length > 0 && bytes[offset] == STREAM_MAGIC_HIGH) {
+            return deserializeLegacy(bytes, offset, length);
+        }
+        throw new IllegalArgumentException(String.format(Locale.ROOT, "Unknown correlation vector format of %d bytes", length));
+    }
+
+    private static float[] deserializeLegacy(byte[] bytes, int offset, int length) {
+        try (ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(bytes, offset, length))) {
             return (float[]) objectStream.readObject();
         } catch (IOException | ClassNotFoundException ex) {
             throw ExceptionsHelper.convertToOpenSearchException(ex);
         }
     }
-}
\ No newline at end of file
+}
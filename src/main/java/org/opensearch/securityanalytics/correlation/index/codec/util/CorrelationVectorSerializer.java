@@ -11,4 +11,6 @@ public interface CorrelationVectorSerializer {
     byte[] floatToByteArray(float[] input);
 
     float[] byteToFloatArray(ByteArrayInputStream byteStream);
-}
\ No newline at end of file
+
+    float[] byteToFloatArray(byte[] bytes, int offset, int length);
+}
@@ -25,12 +25,10 @@ import org.opensearch.securityanalytics.correlation.CorrelationConstants;
 import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 
 public abstract class CorrelationVectorFieldMapper extends ParametrizedFieldMapper {
 
@@ -222,54 +220,56 @@ public abstract class CorrelationVectorFieldMapper extends ParametrizedFieldMapp
 
     protected abstract void parseCreateField(ParseContext parseContext, int dimension) throws IOException;
 
-    Optional<float[]> getFloatsFromContext(ParseContext context, int dimension) throws IOException {
+    /**
+     * Parses the vector of the current document straight into an array of the mapped dimension.
+     *
+     * @return the vector, or null if the field value is null.
+     */
+    float[] getFloatsFromContext(ParseContext context, int dimension) throws IOException {
         context.path().add(simpleName());
 
-        List<Float> vector = new ArrayList<>();
-        XContentParser.Token token = context.parser().currentToken();
-        float value;
+        XContentParser parser = context.parser();
+        float[] vector = new float[dimension];
+        int size = 0;
+        XContentParser.Token token = parser.currentToken();
         if (token == XContentParser.Token.START_ARRAY) {
-            token = context.parser().nextToken();
+            token = parser.nextToken();
             while (token != XContentParser.Token.END_ARRAY) {
-                value = context.parser().floatValue();
-
-                if (Float.isNaN(value)) {
-                    throw new IllegalArgumentException("Correlation vector values cannot be NaN");
-                }
-
-                if (Float.isInfinite(value)) {
-                    throw new IllegalArgumentException("Correlation vector values cannot be infinity");
+                float value = validate(parser.floatValue());
+                if (size < dimension) {
+                    vector[size] = value;
                 }
-                vector.add(value);
-                token = context.parser().nextToken();
+                ++size;
+                token = parser.nextToken();
             }
         } else if (token == XContentParser.Token.VALUE_NUMBER) {
-            value = context.parser().floatValue();
-            if (Float.isNaN(value)) {
-                throw new IllegalArgumentException("Correlation vector values cannot be NaN");
-            }
-
-            if (Float.isInfinite(value)) {
-                throw new IllegalArgumentException("Correlation vector values cannot be infinity");
+            float value = validate(parser.floatValue());
+            if (dimension > 0) {
+                vector[0] = value;
             }
-            vector.add(value);
-            context.parser().nextToken();
+            size = 1;
+            parser.nextToken();
         } else if (token == XContentParser.Token.VALUE_NULL) {
             context.path().remove();
-            return Optional.empty();
+            return null;
         }
 
-        if (dimension != vector.size()) {
-            String errorMessage = String.format("Vector dimension mismatch. Expected: %d, Given: %d", dimension, vector.size());
+        if (dimension != size) {
+            String errorMessage = String.format(Locale.ROOT, "Vector dimension mismatch. Expected: %d, Given: %d", dimension, size);
             throw new IllegalArgumentException(errorMessage);
         }
+        return vector;
+    }
+
+    private static float validate(float value) {
+        if (Float.isNaN(value)) {
+            throw new IllegalArgumentException("Correlation vector values cannot be NaN");
+        }
 
-        float[] array = new float[vector.size()];
-        int i = 0;
-        for (Float f: vector) {
-            array[i++] = f;
+        if (Float.isInfinite(value)) {
+            throw new IllegalArgumentException("Correlation vector values cannot be infinity");
         }
-        return Optional.of(array);
+        return value;
     }
 
     @Override
@@ -15,7 +15,6 @@ import org.opensearch.securityanalytics.correlation.index.CorrelationParamsConte
 import org.opensearch.securityanalytics.correlation.index.VectorField;
 
 import java.io.IOException;
-import java.util.Optional;
 
 import static org.apache.lucene.codecs.KnnVectorsFormat.DEFAULT_MAX_DIMENSIONS;
 
@@ -69,12 +68,10 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
 
     @Override
     protected void parseCreateField(ParseContext context, int dimension) throws IOException {
-        Optional<float[]> arrayOptional = getFloatsFromContext(context, dimension);
-
-        if (arrayOptional.isEmpty()) {
+        final float[] array = getFloatsFromContext(context, dimension);
+        if (array == null) {
             return;
         }
-        final float[] array = arrayOptional.get();
 
         KnnVectorField point = new KnnVectorField(name(), array, fieldType);
 
@@ -33,7 +33,11 @@ import org.opensearch.common.inject.Inject;
 import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationGraph;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.threatIntel.iocscan.dao.IocFindingService;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
@@ -503,11 +507,31 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
             );
             rolloverCorrelationHistoryIndices();
             deleteOldIndices("Correlation", CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+            deleteOldCorrelationGraphDocuments();
         } catch (Exception ex) {
             logger.error("failed to construct correlation history index info");
         }
     }
 
+    /**
+     * Applies the correlation history retention to the correlation graph, whose documents carry the timestamp of the
+     * latest edge of their finding.
+     */
+    private void deleteOldCorrelationGraphDocuments() {
+        if (!clusterService.state().metadata().hasIndex(CorrelationIndices.CORRELATION_GRAPH_INDEX)) {
+            return;
+        }
+        long expiredBefore = Instant.now().toEpochMilli() - correlationHistoryRetentionPeriod.millis();
+        new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
+                .source(CorrelationIndices.CORRELATION_GRAPH_INDEX)
+                .filter(QueryBuilders.rangeQuery(CorrelationGraph.TIMESTAMP_FIELD).lt(expiredBefore))
+                .execute(ActionListener.wrap(response -> {
+                    if (response.getDeleted() > 0) {
+                        logger.info("Deleted {} correlation graph documents older than {}", response.getDeleted(), expiredBefore);
+                    }
+                }, e -> logger.error("Failed to delete old correlation graph documents", e)));
+    }
+
     private void rolloverAndDeleteIocFindingHistoryIndices() {
         try {
             iocFindingHistoryIndex = new HistoryIndexInfo(
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,10 +25,14 @@ import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.routing.ShardRoutingState;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
@@ -49,8 +54,10 @@ import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.engine.Engine;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.shard.IndexingOperationListener;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.aggregations.bucket.terms.Terms;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
@@ -63,12 +70,20 @@ import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import static org.opensearch.action.support.ActiveShardCount.ALL;
 import static org.opensearch.securityanalytics.model.FieldMappingDoc.LOG_TYPES;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.LOG_TYPE_SNAPSHOT_TTL;
 
 
 /**
+ * Manages the log type config index {@link #LOG_TYPE_INDEX}.
  *
+ * Reads on the correlation & mapping paths are served from a node-local {@link LogTypeSnapshot} of the index, which is
+ * invalidated by the shard level indexing listener on the config index (registered on every node holding a copy of
+ * it, which are all data nodes as the index auto-expands its replicas), by the writes issued through this service, and
+ * whenever the config index is re-created. Nodes which hold no copy of the config index, e.g. coordinating-only & dedicated
+ * cluster manager nodes, are not notified of writes through other nodes and fall back to the
+ * {@link org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings#LOG_TYPE_SNAPSHOT_TTL} expiry.
  * */
-public class LogTypeService {
+public class LogTypeService implements IndexingOperationListener {
 
     private static final Logger logger = LogManager.getLogger(LogTypeService.class);
 
@@ -94,6 +109,12 @@ public class LogTypeService {
 
     public int logTypeMappingVersion;
 
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
+    private volatile LogTypeSnapshot snapshot;
+
+    private volatile long snapshotTtl;
+
     @Inject
     public LogTypeService(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry, BuiltinLogTypeLoader builtinLogTypeLoader) {
         this.client = client;
@@ -106,6 +127,8 @@ public class LogTypeService {
                 DEFAULT_MAPPING_SCHEMA,
                 newDefaultSchema -> this.defaultSchemaField = newDefaultSchema
         );
+        this.snapshotTtl = LOG_TYPE_SNAPSHOT_TTL.get(clusterService.getSettings()).getMillis();
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(LOG_TYPE_SNAPSHOT_TTL, it -> snapshotTtl = it.getMillis());
         setLogTypeMappingVersion();
     }
 
@@ -137,12 +160,29 @@ public class LogTypeService {
     }
 
     public void getAllLogTypesMetadata(ActionListener<List<String>> listener) {
-        ensureConfigIndexIsInitialized(ActionListener.wrap(e -> {
+        getLogTypeSnapshot(ActionListener.wrap(
+                logTypeSnapshot -> listener.onResponse(new ArrayList<>(logTypeSnapshot.getLogTypes().keySet())),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Returns the current snapshot of all log types & field mappings, loading it from the config index if it was
+     * invalidated since it was last loaded.
+     */
+    public void getLogTypeSnapshot(ActionListener<LogTypeSnapshot> listener) {
+        LogTypeSnapshot current = snapshot;
+        if (current != null && current.getIndexUuid().equals(configIndexUuid()) && !isExpired(current)) {
+            listener.onResponse(current);
+            return;
+        }
+
+        ensureConfigIndexIsInitialized(ActionListener.wrap(unused -> {
+            long loadVersion = snapshotVersion.get();
+            String indexUuid = configIndexUuid();
 
-            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                    .must(QueryBuilders.existsQuery("source"));
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
+            searchSourceBuilder.query(QueryBuilders.matchAllQuery());
             searchSourceBuilder.fetchSource(true);
             searchSourceBuilder.size(10000);
             SearchRequest searchRequest = new SearchRequest();
@@ -154,20 +194,82 @@ public class LogTypeService {
                     ActionListener.delegateFailure(
                             listener,
                             (delegatedListener, searchResponse) -> {
-                                List<String> logTypes = new ArrayList<>();
-                                SearchHit[] hits = searchResponse.getHits().getHits();
-
-                                for (SearchHit hit: hits) {
+                                Map<String, CustomLogType> logTypes = new HashMap<>();
+                                List<FieldMappingDoc> fieldMappings = new ArrayList<>();
+                                for (SearchHit hit: searchResponse.getHits().getHits()) {
                                     Map<String, Object> source = hit.getSourceAsMap();
-                                    logTypes.add(source.get("name").toString());
+                                    if (source.containsKey("source")) {
+                                        logTypes.put(source.get("name").toString(), new CustomLogType(source));
+                                    } else {
+                                        try {
+                                            fieldMappings.add(FieldMappingDoc.parse(hit, xContentRegistry));
+                                        } catch (IOException e) {
+                                            logger.error("Failed parsing FieldMapping document", e);
+                                            delegatedListener.onFailure(e);
+                                            return;
+                                        }
+                                    }
+                                }
+
+                                LogTypeSnapshot loaded = new LogTypeSnapshot(loadVersion, indexUuid, logTypes, fieldMappings);
+                                // the config index changed while we were loading it, serve the loaded snapshot but do not cache it.
+                                if (snapshotVersion.get() == loadVersion && indexUuid != null) {
+                                    snapshot = loaded;
                                 }
-                                delegatedListener.onResponse(logTypes);
+                                delegatedListener.onResponse(loaded);
                             }
                     )
             );
         }, listener::onFailure));
     }
 
+    public void invalidateLogTypeSnapshot() {
+        snapshotVersion.incrementAndGet();
+        snapshot = null;
+    }
+
+    @Override
+    public void postIndex(ShardId shardId, Engine.Index index, Engine.IndexResult result) {
+        if (LOG_TYPE_INDEX.equals(shardId.getIndexName()) && result.getResultType() == Engine.Result.Type.SUCCESS) {
+            invalidateLogTypeSnapshot();
+        }
+    }
+
+    @Override
+    public void postDelete(ShardId shardId, Engine.Delete delete, Engine.DeleteResult result) {
+        if (LOG_TYPE_INDEX.equals(shardId.getIndexName()) && result.getResultType() == Engine.Result.Type.SUCCESS) {
+            invalidateLogTypeSnapshot();
+        }
+    }
+
+    private boolean isExpired(LogTypeSnapshot current) {
+        return System.currentTimeMillis() - current.getLoadedAt() > snapshotTtl && !hasLocalConfigIndexCopy();
+    }
+
+    /**
+     * Returns whether this node holds a started copy of the config index, i.e. whether the indexing listener sees
+     * writes of other nodes.
+     */
+    private boolean hasLocalConfigIndexCopy() {
+        ClusterState state = clusterService.state();
+        IndexRoutingTable routingTable = state.routingTable().index(LOG_TYPE_INDEX);
+        if (routingTable == null) {
+            return false;
+        }
+        String localNodeId = state.nodes().getLocalNodeId();
+        for (ShardRouting shardRouting: routingTable.shardsWithState(ShardRoutingState.STARTED)) {
+            if (shardRouting.currentNodeId().equals(localNodeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String configIndexUuid() {
+        IndexMetadata metadata = clusterService.state().metadata().index(LOG_TYPE_INDEX);
+        return metadata != null ? metadata.getIndexUUID() : null;
+    }
+
     public void doesLogTypeExist(String logType, ActionListener<Boolean> listener) {
         ensureConfigIndexIsInitialized(ActionListener.wrap(e -> {
 
@@ -256,6 +358,7 @@ public class LogTypeService {
                             listener.onFailure(new IllegalStateException(r.buildFailureMessage()));
                         } else {
                             logger.info("Loaded [" + r.getItems().length + "] field mapping docs successfully!");
+                            invalidateLogTypeSnapshot();
                             listener.onResponse(null);
                         }
                     })
@@ -307,6 +410,7 @@ public class LogTypeService {
                                             listener.onFailure(new IllegalStateException(r.buildFailureMessage()));
                                         } else {
                                             logger.info("Loaded [" + r.getItems().length + "] customLogType docs successfully!");
+                                            invalidateLogTypeSnapshot();
                                             listener.onResponse(null);
                                         }
                                     })
@@ -416,31 +520,10 @@ public class LogTypeService {
     }
 
     public void getFieldMappingsByLogTypes(List<String> logTypes, ActionListener<List<FieldMappingDoc>> listener) {
-        SearchRequest searchRequest = new SearchRequest(LOG_TYPE_INDEX);
-        searchRequest.source(new SearchSourceBuilder().query(
-                QueryBuilders.termsQuery(LOG_TYPES, logTypes.toArray(new String[0])))
-                .size(10000)
-        );
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-        client.search(
-                searchRequest,
-                ActionListener.delegateFailure(
-                        listener,
-                        (delegatedListener, searchResponse) -> {
-                            List<FieldMappingDoc> fieldMappingDocs = new ArrayList<>();
-                            for(SearchHit hit : searchResponse.getHits().getHits()) {
-                                try {
-                                    fieldMappingDocs.add(FieldMappingDoc.parse(hit, xContentRegistry));
-                                } catch (IOException e) {
-                                    logger.error("Failed parsing FieldMapping document", e);
-                                    delegatedListener.onFailure(e);
-                                    return;
-                                }
-                            }
-                            delegatedListener.onResponse(fieldMappingDocs);
-                        }
-                )
-        );
+        getLogTypeSnapshot(ActionListener.wrap(
+                logTypeSnapshot -> listener.onResponse(logTypeSnapshot.getFieldMappings(logTypes)),
+                listener::onFailure
+        ));
     }
     /**
      * if isConfigIndexInitialized is false does following:
@@ -616,24 +699,23 @@ public class LogTypeService {
     }
 
     public void getRuleFieldMappings(ActionListener<Map<String, Map<String, String>>> listener) {
-        ensureConfigIndexIsInitialized(ActionListener.wrap(() ->
-            getAllFieldMappings(ActionListener.delegateFailure(
-                    listener,
-                    (delegatedListener, fieldMappingDocs) -> {
-                        Map<String, Map<String, String>> mappings = new HashMap<>();
-                        for (FieldMappingDoc fieldMappingDoc: fieldMappingDocs) {
-                            Set<String> logTypes = fieldMappingDoc.getLogTypes();
-                            if (logTypes != null) {
-                                for (String logType: logTypes) {
-                                    Map<String, String> mappingsByLogTypes = mappings.containsKey(logType)? mappings.get(logType): new HashMap<>();
-                                    mappingsByLogTypes.put(fieldMappingDoc.getRawField(), fieldMappingDoc.getSchemaFields().get(defaultSchemaField));
-                                    mappings.put(logType, mappingsByLogTypes);
-                                }
+        getLogTypeSnapshot(ActionListener.delegateFailure(
+                listener,
+                (delegatedListener, logTypeSnapshot) -> {
+                    List<FieldMappingDoc> fieldMappingDocs = logTypeSnapshot.getFieldMappings();
+                    Map<String, Map<String, String>> mappings = new HashMap<>();
+                    for (FieldMappingDoc fieldMappingDoc: fieldMappingDocs) {
+                        Set<String> logTypes = fieldMappingDoc.getLogTypes();
+                        if (logTypes != null) {
+                            for (String logType: logTypes) {
+                                Map<String, String> mappingsByLogTypes = mappings.containsKey(logType)? mappings.get(logType): new HashMap<>();
+                                mappingsByLogTypes.put(fieldMappingDoc.getRawField(), fieldMappingDoc.getSchemaFields().get(defaultSchemaField));
+                                mappings.put(logType, mappingsByLogTypes);
                             }
                         }
-                        delegatedListener.onResponse(mappings);
                     }
-            ))
+                    delegatedListener.onResponse(mappings);
+                }
         ));
     }
 
@@ -738,34 +820,33 @@ public class LogTypeService {
      * Provides required fields for all log types in a form of map
      * */
     public void getRequiredFieldsForAllLogTypes(ActionListener<Map<String, Set<String>>> listener) {
-        ensureConfigIndexIsInitialized(ActionListener.wrap(() ->
-            getAllFieldMappings(
-                    ActionListener.delegateFailure(
-                            listener,
-                            (delegatedListener, fieldMappingDocs) -> {
-                                Map<String, Set<String>> requiredFieldsMap = new HashMap<>();
-                                fieldMappingDocs.forEach( e -> {
-                                    // Init sets if first time seeing this logType
-                                    e.getLogTypes().forEach(logType -> {
-                                        if (!requiredFieldsMap.containsKey(logType)) {
-                                            requiredFieldsMap.put(logType, new HashSet<>());
-                                        }
-                                    });
-                                    String requiredField = e.getSchemaFields().get(defaultSchemaField);
-                                    if (requiredField == null) {
-                                        requiredField = e.getRawField(); // Always fallback to rawField if defaultSchema one is missing
+        getLogTypeSnapshot(
+                ActionListener.delegateFailure(
+                        listener,
+                        (delegatedListener, logTypeSnapshot) -> {
+                            List<FieldMappingDoc> fieldMappingDocs = logTypeSnapshot.getFieldMappings();
+                            Map<String, Set<String>> requiredFieldsMap = new HashMap<>();
+                            fieldMappingDocs.forEach( e -> {
+                                // Init sets if first time seeing this logType
+                                e.getLogTypes().forEach(logType -> {
+                                    if (!requiredFieldsMap.containsKey(logType)) {
+                                        requiredFieldsMap.put(logType, new HashSet<>());
                                     }
-                                    final String _requiredField = requiredField;
-                                    e.getLogTypes().forEach(logType -> {
-                                        requiredFieldsMap.get(logType).add(_requiredField);
-                                    });
-
                                 });
-                                delegatedListener.onResponse(requiredFieldsMap);
-                            }
-                    )
-            )
-        ));
+                                String requiredField = e.getSchemaFields().get(defaultSchemaField);
+                                if (requiredField == null) {
+                                    requiredField = e.getRawField(); // Always fallback to rawField if defaultSchema one is missing
+                                }
+                                final String _requiredField = requiredField;
+                                e.getLogTypes().forEach(logType -> {
+                                    requiredFieldsMap.get(logType).add(_requiredField);
+                                });
+
+                            });
+                            delegatedListener.onResponse(requiredFieldsMap);
+                        }
+                )
+        );
     }
 
     /**
@@ -780,7 +861,16 @@ public class LogTypeService {
             return null;
         }
 
-        LogType lt = builtinLogTypeLoader.getLogTypeByName(builtinLogType);
+        return getRuleFieldMappings(builtinLogTypeLoader.getLogTypeByName(builtinLogType));
+    }
+
+    /**
+     * Returns sigmaRule rawField to default_schema_field(ECS) mapping of the given log type.
+     *
+     * @param lt Log type
+     * @return Map of rawField to ecs field
+     */
+    public static Map<String, String> getRuleFieldMappings(LogType lt) {
         if (lt.getMappings() == null) {
             return Map.of();
         } else {
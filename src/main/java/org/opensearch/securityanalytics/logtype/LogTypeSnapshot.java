@@ -0,0 +1,102 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.logtype;
+
+import org.opensearch.securityanalytics.model.CustomLogType;
+import org.opensearch.securityanalytics.model.FieldMappingDoc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of the contents of {@link LogTypeService#LOG_TYPE_INDEX}: all log types (with their tags &
+ * correlation ids) keyed by name, and all field mapping docs.
+ *
+ * Snapshots are served by {@link LogTypeService#getLogTypeSnapshot} and must be treated as read-only.
+ */
+public class LogTypeSnapshot {
+
+    private final long version;
+
+    private final String indexUuid;
+
+    private final long loadedAt;
+
+    private final Map<String, CustomLogType> logTypes;
+
+    private final List<FieldMappingDoc> fieldMappings;
+
+    private final Map<String, List<FieldMappingDoc>> fieldMappingsByLogType;
+
+    public LogTypeSnapshot(long version, String indexUuid, Map<String, CustomLogType> logTypes, List<FieldMappingDoc> fieldMappings) {
+        this.version = version;
+        this.indexUuid = indexUuid;
+        this.loadedAt = System.currentTimeMillis();
+        this.logTypes = Collections.unmodifiableMap(logTypes);
+        this.fieldMappings = Collections.unmodifiableList(fieldMappings);
+
+        Map<String, List<FieldMappingDoc>> byLogType = new HashMap<>();
+        for (FieldMappingDoc fieldMapping: fieldMappings) {
+            if (fieldMapping.getLogTypes() == null) {
+                continue;
+            }
+            for (String logType: fieldMapping.getLogTypes()) {
+                byLogType.computeIfAbsent(logType, k -> new ArrayList<>()).add(fieldMapping);
+            }
+        }
+        byLogType.replaceAll((logType, docs) -> Collections.unmodifiableList(docs));
+        this.fieldMappingsByLogType = Collections.unmodifiableMap(byLogType);
+    }
+
+    /**
+     * Monotonically increasing version of the snapshot on this node.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * uuid of the log type config index the snapshot was loaded from.
+     */
+    public String getIndexUuid() {
+        return indexUuid;
+    }
+
+    /**
+     * epoch millis at which the snapshot was loaded.
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public Map<String, CustomLogType> getLogTypes() {
+        return logTypes;
+    }
+
+    public CustomLogType getLogType(String name) {
+        return logTypes.get(name);
+    }
+
+    public List<FieldMappingDoc> getFieldMappings() {
+        return fieldMappings;
+    }
+
+    public List<FieldMappingDoc> getFieldMappings(List<String> logTypes) {
+        if (logTypes.size() == 1) {
+            return fieldMappingsByLogType.getOrDefault(logTypes.get(0), List.of());
+        }
+
+        List<FieldMappingDoc> docs = new ArrayList<>();
+        for (FieldMappingDoc fieldMapping: fieldMappings) {
+            if (fieldMapping.getLogTypes() != null && logTypes.stream().anyMatch(fieldMapping.getLogTypes()::contains)) {
+                docs.add(fieldMapping);
+            }
+        }
+        return docs;
+    }
+}
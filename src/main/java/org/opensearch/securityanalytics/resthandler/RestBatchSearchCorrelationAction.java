@@ -0,0 +1,79 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingAction;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+/**
+ * Correlated findings of many findings at once, e.g. {@code {"findings": ["id1", "id2"]}}.
+ */
+public class RestBatchSearchCorrelationAction extends BaseRestHandler {
+
+    private static final Logger log = LogManager.getLogger(RestBatchSearchCorrelationAction.class);
+
+    @Override
+    public String getName() {
+        return "batch_search_correlation_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(POST, SecurityAnalyticsPlugin.FINDINGS_CORRELATE_URI)
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        log.debug(String.format(Locale.ROOT, "%s %s", request.method(), SecurityAnalyticsPlugin.FINDINGS_CORRELATE_URI));
+
+        String detectorType = request.param("detector_type");
+        if (detectorType == null) {
+            throw new IllegalArgumentException("Missing detectorType");
+        }
+
+        long timeWindow = request.paramAsLong("time_window", 300000L);
+        int noOfNearbyFindings = request.paramAsInt("nearby_findings", 10);
+        List<String> findingIds = getFindingIds(request.contentParser());
+
+        BatchCorrelatedFindingRequest batchRequest = new BatchCorrelatedFindingRequest(findingIds, detectorType, timeWindow, noOfNearbyFindings);
+        return channel -> client.execute(BatchCorrelatedFindingAction.INSTANCE, batchRequest, new RestToXContentListener<>(channel));
+    }
+
+    private List<String> getFindingIds(XContentParser xcp) throws IOException {
+        List<String> ids = new ArrayList<>();
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+            if (fieldName.equals("findings")) {
+                ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                    ids.add(xcp.text());
+                }
+            } else {
+                xcp.skipChildren();
+            }
+        }
+        return ids;
+    }
+}
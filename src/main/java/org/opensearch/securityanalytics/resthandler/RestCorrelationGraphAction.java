@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.CorrelationGraphAction;
+import org.opensearch.securityanalytics.action.CorrelationGraphRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * Neighbourhood of a finding in the correlation graph, e.g. {@code ?finding=id&hops=3}. Without {@code hops} the whole
+ * connected component of the finding is returned.
+ */
+public class RestCorrelationGraphAction extends BaseRestHandler {
+
+    private static final Logger log = LogManager.getLogger(RestCorrelationGraphAction.class);
+
+    @Override
+    public String getName() {
+        return "correlation_graph_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.FINDINGS_CORRELATION_GRAPH_URI)
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        log.debug(String.format(Locale.ROOT, "%s %s", request.method(), SecurityAnalyticsPlugin.FINDINGS_CORRELATION_GRAPH_URI));
+
+        String findingId = request.param("finding");
+        if (findingId == null) {
+            throw new IllegalArgumentException("Missing finding");
+        }
+
+        int hops = request.paramAsInt("hops", 0);
+        int maxFindings = request.paramAsInt("max_findings", 1000);
+
+        CorrelationGraphRequest graphRequest = new CorrelationGraphRequest(findingId, hops, maxFindings);
+        return channel -> client.execute(CorrelationGraphAction.INSTANCE, graphRequest, new RestToXContentListener<>(channel));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+/**
+ * Latency histograms, counters & queue depths of the correlation pipeline, summed across all nodes and per node. The
+ * nodes can be narrowed with {@code /{nodeId}/stats}, e.g. {@code _local}.
+ */
+public class RestCorrelationStatsAction extends BaseRestHandler {
+
+    private static final Logger log = LogManager.getLogger(RestCorrelationStatsAction.class);
+
+    @Override
+    public String getName() {
+        return "correlation_stats_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.STATS_URI),
+                new Route(GET, SecurityAnalyticsPlugin.NODE_STATS_URI)
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        log.debug(String.format(Locale.ROOT, "%s %s", request.method(), SecurityAnalyticsPlugin.STATS_URI));
+
+        String[] nodeIds = Strings.splitStringByCommaToArray(request.param("nodeId"));
+        CorrelationStatsRequest statsRequest = new CorrelationStatsRequest(nodeIds);
+        statsRequest.timeout(request.param("timeout"));
+        return channel -> client.execute(CorrelationStatsAction.INSTANCE, statsRequest, new RestActions.NodesResponseRestListener<>(channel));
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionType;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+import org.apache.commons.lang3.NotImplementedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend converting Sigma rules into structured OpenSearch queries instead of the query_string text of
+ * {@link OSQueryBackend}: term, terms, prefix, wildcard, regexp, range & exists queries combined with bool queries.
+ * Values of one field within an OR are collapsed into a single terms query, so the queries are percolated without
+ * query string parsing & analysis.
+ *
+ * Negations follow {@link OSQueryBackend}: a negated group is pushed down to its leaves with De Morgan's laws & a
+ * negated field expression also requires the field to exist. Aggregations are converted like {@link OSQueryBackend}.
+ */
+public class OSDslQueryBackend extends OSQueryBackend {
+
+    public OSDslQueryBackend(Map<String, String> fieldMappings, boolean collectErrors, boolean enableFieldMappings) throws IOException {
+        super(fieldMappings, collectErrors, enableFieldMappings);
+    }
+
+    @Override
+    public Object convertConditionAsInExpression(Either<ConditionAND, ConditionOR> condition, boolean isConditionNot, boolean applyDeMorgans) {
+        if (condition.isLeft()) {
+            return this.convertConditionAnd(condition.getLeft(), isConditionNot, applyDeMorgans);
+        }
+        return this.convertConditionOr(condition.get(), isConditionNot, applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionAnd(ConditionAND condition, boolean isConditionNot, boolean applyDeMorgans) {
+        try {
+            List<QueryBuilder> queries = convertArgs(condition, isConditionNot, applyDeMorgans);
+            // if applyDeMorgans is true, then use OR instead of AND
+            return applyDeMorgans ? anyOf(queries) : allOf(queries);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'and' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionOr(ConditionOR condition, boolean isConditionNot, boolean applyDeMorgans) {
+        try {
+            List<QueryBuilder> queries = convertArgs(condition, isConditionNot, applyDeMorgans);
+            // if applyDeMorgans is true, then use AND instead of OR
+            return applyDeMorgans ? allOf(queries) : anyOf(queries);
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'or' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionNot(ConditionNOT condition, boolean isConditionNot, boolean applyDeMorgans) {
+        Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg = condition.getArgs().get(0);
+        try {
+            if (arg.isLeft()) {
+                if (arg.getLeft().isLeft()) {
+                    return this.convertCondition(conditionType(arg.getLeft().getLeft()), true, true);
+                } else if (arg.getLeft().isMiddle()) {
+                    ConditionFieldEqualsValueExpression expression = arg.getLeft().getMiddle();
+                    return QueryBuilders.boolQuery()
+                            .mustNot((QueryBuilder) this.convertConditionFieldEqVal(expression, true, applyDeMorgans))
+                            .filter((QueryBuilder) this.convertExistsField(expression));
+                } else {
+                    ConditionType argType = new ConditionType(Either.right(Either.right(arg.getLeft().get())));
+                    return QueryBuilders.boolQuery().mustNot((QueryBuilder) this.convertCondition(argType, true, applyDeMorgans));
+                }
+            }
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'not' not supported by the backend");
+        }
+        return null;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNot(ConditionType conditionType, boolean isConditionNot, boolean applyDeMorgans) throws SigmaValueError {
+        return QueryBuilders.boolQuery()
+                .filter((QueryBuilder) this.convertConditionFieldEqVal(conditionType.getEqualsValueExpression(), isConditionNot, applyDeMorgans))
+                .filter((QueryBuilder) this.convertExistsField(conditionType.getEqualsValueExpression()));
+    }
+
+    @Override
+    public Object convertExistsField(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.existsQuery(getMappedField(condition.getField()));
+    }
+
+    @Override
+    public Object convertConditionFieldEqValStr(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        String field = getMappedField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+
+        QueryBuilder query;
+        if (!value.containsWildcard()) {
+            query = QueryBuilders.termQuery(field, plainValue(value));
+        } else if (isPrefix(value)) {
+            String prefix = plainValue(value);
+            query = QueryBuilders.prefixQuery(field, prefix.substring(0, prefix.length() - 1));
+        } else {
+            query = QueryBuilders.wildcardQuery(field, wildcardValue(value));
+        }
+        return negate(query, applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNum(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getMappedField(condition.getField());
+
+        SigmaNumber number = (SigmaNumber) condition.getValue();
+        ruleQueryFields.put(field, number.getNumOpt().isLeft()? Collections.singletonMap("type", "integer"): Collections.singletonMap("type", "float"));
+        return negate(QueryBuilders.termQuery(field, numberValue(number)), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValBool(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getMappedField(condition.getField());
+        ruleQueryFields.put(field, Collections.singletonMap("type", "boolean"));
+        return negate(QueryBuilders.termQuery(field, ((SigmaBool) condition.getValue()).isaBoolean()), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNull(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getMappedField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        QueryBuilder exists = QueryBuilders.existsQuery(field);
+        return applyDeMorgans ? exists : QueryBuilders.boolQuery().mustNot(exists);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValRe(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getMappedField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        return negate(QueryBuilders.regexpQuery(field, regexpValue((SigmaRegularExpression) condition.getValue())), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValCidr(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        String field = getMappedField(condition.getField());
+        ruleQueryFields.put(field, Map.of("type", "text", "analyzer", "rule_analyzer"));
+        return negate(QueryBuilders.termQuery(field, ((SigmaCIDRExpression) condition.getValue()).convert()), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionFieldEqValOpVal(ConditionFieldEqualsValueExpression condition, boolean applyDeMorgans) {
+        SigmaCompareExpression compareExpression = (SigmaCompareExpression) condition.getValue();
+        Object number = numberValue(compareExpression.getNumber());
+        RangeQueryBuilder query = QueryBuilders.rangeQuery(getMappedField(condition.getField()));
+        switch (compareExpression.getOp()) {
+            case SigmaCompareExpression.CompareOperators.GT:
+                query.gt(number);
+                break;
+            case SigmaCompareExpression.CompareOperators.GTE:
+                query.gte(number);
+                break;
+            case SigmaCompareExpression.CompareOperators.LT:
+                query.lt(number);
+                break;
+            default:
+                query.lte(number);
+        }
+        return negate(query, applyDeMorgans);
+    }
+
+    /**
+     * Values without a field have nothing to build a structured query on, so they are matched with a query_string
+     * against all fields like in {@link OSQueryBackend}.
+     */
+    @Override
+    public Object convertConditionValStr(ConditionValueExpression condition, boolean applyDeMorgans) throws SigmaValueError {
+        return negate(QueryBuilders.queryStringQuery(super.convertConditionValStr(condition, false).toString()), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionValNum(ConditionValueExpression condition, boolean applyDeMorgans) {
+        return negate(QueryBuilders.queryStringQuery(super.convertConditionValNum(condition, false).toString()), applyDeMorgans);
+    }
+
+    @Override
+    public Object convertConditionValRe(ConditionValueExpression condition, boolean applyDeMorgans) {
+        return negate(QueryBuilders.queryStringQuery(super.convertConditionValRe(condition, false).toString()), applyDeMorgans);
+    }
+
+    private List<QueryBuilder> convertArgs(ConditionItem condition, boolean isConditionNot, boolean applyDeMorgans) throws SigmaValueError {
+        List<QueryBuilder> queries = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.getArgs()) {
+            if (arg.isLeft()) {
+                ConditionType argType;
+                if (arg.getLeft().isLeft()) {
+                    argType = conditionType(arg.getLeft().getLeft());
+                } else if (arg.getLeft().isMiddle()) {
+                    argType = new ConditionType(Either.right(Either.left(arg.getLeft().getMiddle())));
+                } else {
+                    argType = new ConditionType(Either.right(Either.right(arg.getLeft().get())));
+                }
+                Object converted = this.convertCondition(argType, isConditionNot, applyDeMorgans);
+                if (converted != null) {
+                    queries.add((QueryBuilder) converted);
+                }
+            }
+        }
+        return queries;
+    }
+
+    private static ConditionType conditionType(ConditionItem item) {
+        if (item.getClass().equals(ConditionAND.class)) {
+            return new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) item)));
+        } else if (item.getClass().equals(ConditionOR.class)) {
+            return new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) item)));
+        }
+        return new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) item)));
+    }
+
+    private static QueryBuilder allOf(List<QueryBuilder> queries) {
+        if (queries.size() == 1) {
+            return queries.get(0);
+        }
+        BoolQueryBuilder query = QueryBuilders.boolQuery();
+        queries.forEach(query::filter);
+        return query;
+    }
+
+    /**
+     * Combines the queries with OR, collapsing term queries of the same field into a terms query.
+     */
+    private static QueryBuilder anyOf(List<QueryBuilder> queries) {
+        Map<String, List<Object>> termValues = new LinkedHashMap<>();
+        for (QueryBuilder query: queries) {
+            if (query instanceof TermQueryBuilder) {
+                TermQueryBuilder termQuery = (TermQueryBuilder) query;
+                termValues.computeIfAbsent(termQuery.fieldName(), k -> new ArrayList<>()).add(termQuery.value());
+            }
+        }
+
+        List<QueryBuilder> collapsed = new ArrayList<>();
+        for (QueryBuilder query: queries) {
+            if (query instanceof TermQueryBuilder) {
+                String field = ((TermQueryBuilder) query).fieldName();
+                List<Object> values = termValues.remove(field);
+                if (values != null) {
+                    collapsed.add(values.size() == 1 ? query : QueryBuilders.termsQuery(field, values));
+                }
+            } else {
+                collapsed.add(query);
+            }
+        }
+
+        if (collapsed.size() == 1) {
+            return collapsed.get(0);
+        }
+        BoolQueryBuilder query = QueryBuilders.boolQuery();
+        collapsed.forEach(query::should);
+        return query;
+    }
+
+    private static QueryBuilder negate(QueryBuilder query, boolean applyDeMorgans) {
+        return applyDeMorgans ? QueryBuilders.boolQuery().mustNot(query) : query;
+    }
+
+    /**
+     * Returns the value as indexed by the rule_analyzer, which keeps the value as a single token with _ws_ replaced by
+     * whitespace.
+     */
+    private static String plainValue(SigmaString value) throws SigmaValueError {
+        return value.convert("", "*", "?", "", "", "").replace("_ws_", " ");
+    }
+
+    private static String wildcardValue(SigmaString value) throws SigmaValueError {
+        return value.convert("\\", "*", "?", "\\", "", "").replace("_ws_", " ");
+    }
+
+    private static String regexpValue(SigmaRegularExpression value) {
+        return value.getRegexp().replace("_ws_", " ");
+    }
+
+    private static Object numberValue(SigmaNumber number) {
+        return number.getNumOpt().isLeft() ? number.getNumOpt().getLeft() : number.getNumOpt().get();
+    }
+
+    /**
+     * Returns if the only wildcard of the value is a trailing multi-character wildcard.
+     */
+    private static boolean isPrefix(SigmaString value) {
+        List<AnyOneOf<String, Character, Placeholder>> sOpt = value.getsOpt();
+        if (sOpt.isEmpty()) {
+            return false;
+        }
+        for (int idx = 0; idx < sOpt.size(); ++idx) {
+            AnyOneOf<String, Character, Placeholder> sOptElem = sOpt.get(idx);
+            if (sOptElem.isMiddle()) {
+                boolean last = idx == sOpt.size() - 1;
+                if (sOptElem.getMiddle() == SigmaString.SpecialChars.WILDCARD_SINGLE ||
+                        (sOptElem.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI && !last)) {
+                    return false;
+                }
+            }
+        }
+        AnyOneOf<String, Character, Placeholder> last = sOpt.get(sOpt.size() - 1);
+        return last.isMiddle() && last.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI;
+    }
+}
@@ -519,7 +519,7 @@ public class OSQueryBackend extends QueryBackend {
         return ip.convert();
     }
 
-    private String getMappedField(String field) {
+    protected String getMappedField(String field) {
         if (this.enableFieldMappings && this.fieldMappings.containsKey(field) && this.fieldMappings.get(field) != null) {
             return this.fieldMappings.get(field);
         }
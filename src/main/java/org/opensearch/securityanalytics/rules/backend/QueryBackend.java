@@ -135,7 +135,7 @@ public abstract class QueryBackend {
         }
     }
 
-    public String convertConditionFieldEqValNot(ConditionType conditionType, boolean isConditionNot, boolean applyDeMorgans) throws SigmaValueError {
+    public Object convertConditionFieldEqValNot(ConditionType conditionType, boolean isConditionNot, boolean applyDeMorgans) throws SigmaValueError {
         String baseString = this.convertConditionFieldEqVal(conditionType.getEqualsValueExpression(), isConditionNot, applyDeMorgans).toString();
         String addExists = this.convertExistsField(conditionType.getEqualsValueExpression()).toString();
         return String.format(Locale.getDefault(), ("%s" + "%s"), baseString, addExists);
@@ -12,6 +12,8 @@ import org.opensearch.securityanalytics.rules.utils.Either;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class ConditionSelector {
@@ -21,6 +23,17 @@ public class ConditionSelector {
     private Either<Class<ConditionAND>, Class<ConditionOR>> condClass;
     private String pattern;
 
+    private Pattern regex;
+
+    private static final Pattern matchAll = Pattern.compile(".*");
+
+    /**
+     * compiled identifier patterns, the same few patterns like selection* are used by most rules.
+     */
+    private static final Map<String, Pattern> regexes = new ConcurrentHashMap<>();
+
+    private static final int MAX_CACHED_REGEXES = 1000;
+
     private Either<ConditionItem, SigmaDetectionItem> parent;
     private boolean operator;
 
@@ -34,17 +47,27 @@ public class ConditionSelector {
             this.condClass = Either.left(ConditionAND.class);
         }
         this.pattern = identifierPattern;
+        this.regex = compile(identifierPattern);
+    }
+
+    private static Pattern compile(String identifierPattern) {
+        if ("them".equals(identifierPattern)) {
+            return matchAll;
+        }
+        Pattern regex = regexes.get(identifierPattern);
+        if (regex == null) {
+            regex = Pattern.compile(identifierPattern.replace("*", ".*"));
+            if (regexes.size() < MAX_CACHED_REGEXES) {
+                regexes.put(identifierPattern, regex);
+            }
+        }
+        return regex;
     }
 
     public ConditionItem postProcess(SigmaDetections detections, Object parent) throws SigmaConditionError {
         this.parent = parent instanceof ConditionItem? Either.left((ConditionItem) parent): Either.right((SigmaDetectionItem) parent);
 
-        Pattern r;
-        if (this.pattern.equals("them")) {
-            r = Pattern.compile(".*");
-        } else {
-            r = Pattern.compile(this.pattern.replace("*", ".*"));
-        }
+        Pattern r = this.regex;
 
         List<Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String>> ids = new ArrayList<>();
         for (String identifier: detections.getDetections().keySet()) {
@@ -27,15 +27,21 @@ import org.opensearch.securityanalytics.rules.utils.Either;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 public class SigmaCondition {
 
-    private final String identifier = "[a-zA-Z0-9-_]+";
+    private static final String identifier = "[a-zA-Z0-9-_]+";
+
+    private static final Pattern identifierRegex = Pattern.compile(identifier);
 
     private final List<String> quantifier = List.of("1", "any", "all");
 
-    private final String identifierPattern = "[a-zA-Z0-9*_]+";
+    private static final String identifierPattern = "[a-zA-Z0-9*_]+";
+
+    private static final Pattern identifierPatternRegex = Pattern.compile(identifierPattern);
 
     private final List<Either<List<String>, String>> selector = List.of(Either.left(quantifier), Either.right("of"), Either.right(identifierPattern));
 
@@ -47,14 +53,31 @@ public class SigmaCondition {
 
     private SigmaDetections detections;
 
-    private ConditionParser parser;
-
-    private AggregationParser aggParser;
-
     private ConditionTraverseVisitor conditionVisitor;
 
     private AggregationTraverseVisitor aggVisitor;
 
+    private static final int MAX_CACHED_PARSE_TREES = 10000;
+
+    /**
+     * parse trees of conditions & aggregations keyed by their exact text, as whitespace is significant to some tokens,
+     * e.g. the ' of ' of a selector. Only trees parsed without syntax errors are kept. The trees are only read by the
+     * visitors, so they are shared by all rules with the same condition, while the condition items bound to the detections
+     * of a rule are still built per rule.
+     */
+    private static final Map<String, ConditionParser.StartContext> conditionTrees = new ConcurrentHashMap<>();
+
+    private static final Map<String, AggregationParser.Comparison_exprContext> aggregationTrees = new ConcurrentHashMap<>();
+
+    /**
+     * parsers are reused per thread, their DFA caches are static & shared by all instances of a parser.
+     */
+    private static final ThreadLocal<ConditionParser> conditionParsers = ThreadLocal.withInitial(() ->
+            new ConditionParser(new CommonTokenStream(new ConditionLexer(CharStreams.fromString("")))));
+
+    private static final ThreadLocal<AggregationParser> aggregationParsers = ThreadLocal.withInitial(() ->
+            new AggregationParser(new CommonTokenStream(new AggregationLexer(CharStreams.fromString("")))));
+
     public SigmaCondition(String condition, SigmaDetections detections) {
         if (condition.contains(" | ")) {
             this.condition = condition.split(" \\| ")[0];
@@ -65,30 +88,24 @@ public class SigmaCondition {
         }
 
         this.detections = detections;
-
-        ConditionLexer lexer = new ConditionLexer(CharStreams.fromString(this.condition));
-        this.parser = new ConditionParser(new CommonTokenStream(lexer));
         this.conditionVisitor = new ConditionTraverseVisitor(this);
-
-        AggregationLexer aggLexer = new AggregationLexer(CharStreams.fromString(this.aggregation));
-        this.aggParser = new AggregationParser(new CommonTokenStream(aggLexer));
         this.aggVisitor = new AggregationTraverseVisitor();
     }
 
     public Pair<ConditionItem, AggregationItem> parsed() throws SigmaConditionError {
         ConditionItem parsedConditionItem;
-        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(parser.start());
+        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(conditionTree(condition));
         if (itemOrCondition.isLeft()) {
             parsedConditionItem = itemOrCondition.getLeft();
         } else {
-            parsedConditionItem = Objects.requireNonNull(parsed(condition)).isLeft()? Objects.requireNonNull(parsed(condition)).getLeft():
-                    ((Objects.requireNonNull(parsed(condition))).isMiddle()? Objects.requireNonNull(parsed(condition)).getMiddle():
-                            Objects.requireNonNull(parsed(condition)).get());
+            AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> parsedCondition = parsed(condition);
+            parsedConditionItem = parsedCondition.isLeft()? parsedCondition.getLeft():
+                    (parsedCondition.isMiddle()? parsedCondition.getMiddle(): parsedCondition.get());
         }
 
         AggregationItem parsedAggItem = null;
         if (!this.aggregation.isEmpty()) {
-            aggVisitor.visit(aggParser.comparison_expr());
+            aggVisitor.visit(aggregationTree(aggregation));
             parsedAggItem = aggVisitor.getAggregationItem();
         }
         return Pair.of(parsedConditionItem, parsedAggItem);
@@ -109,22 +126,52 @@ public class SigmaCondition {
         return newArgs;
     }
 
+    private static ConditionParser.StartContext conditionTree(String condition) {
+        ConditionParser.StartContext tree = conditionTrees.get(condition);
+        if (tree == null) {
+            ConditionParser parser = conditionParsers.get();
+            ConditionLexer lexer = (ConditionLexer) parser.getTokenStream().getTokenSource();
+            lexer.setInputStream(CharStreams.fromString(condition));
+            parser.setTokenStream(new CommonTokenStream(lexer));
+            tree = parser.start();
+            if (parser.getNumberOfSyntaxErrors() == 0 && conditionTrees.size() < MAX_CACHED_PARSE_TREES) {
+                conditionTrees.put(condition, tree);
+            }
+        }
+        return tree;
+    }
+
+    private static AggregationParser.Comparison_exprContext aggregationTree(String aggregation) {
+        AggregationParser.Comparison_exprContext tree = aggregationTrees.get(aggregation);
+        if (tree == null) {
+            AggregationParser parser = aggregationParsers.get();
+            AggregationLexer lexer = (AggregationLexer) parser.getTokenStream().getTokenSource();
+            lexer.setInputStream(CharStreams.fromString(aggregation));
+            parser.setTokenStream(new CommonTokenStream(lexer));
+            tree = parser.comparison_expr();
+            if (parser.getNumberOfSyntaxErrors() == 0 && aggregationTrees.size() < MAX_CACHED_PARSE_TREES) {
+                aggregationTrees.put(aggregation, tree);
+            }
+        }
+        return tree;
+    }
+
     private AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> parsed(String token) throws SigmaConditionError {
         List<String> subTokens = List.of(token.split(" "));
-        if (subTokens.size() < 3 && token.matches(identifier)) {
+        if (subTokens.size() < 3 && identifierRegex.matcher(token).matches()) {
             ConditionIdentifier conditionIdentifier =
                     new ConditionIdentifier(Collections.singletonList(Either.right(token)));
             ConditionItem item = conditionIdentifier.postProcess(detections, null);
             return item instanceof ConditionFieldEqualsValueExpression? AnyOneOf.middleVal((ConditionFieldEqualsValueExpression) item):
                     (item instanceof ConditionValueExpression ? AnyOneOf.rightVal((ConditionValueExpression) item): AnyOneOf.leftVal(item));
         } else if (subTokens.size() == 3 && quantifier.contains(subTokens.get(0)) && selector.get(1).get().equals(subTokens.get(1)) &&
-                subTokens.get(2).matches(identifierPattern)) {
+                identifierPatternRegex.matcher(subTokens.get(2)).matches()) {
             ConditionSelector conditionSelector =
                     new ConditionSelector(subTokens.get(0), subTokens.get(2));
             ConditionItem item = conditionSelector.postProcess(detections, null);
             return item instanceof ConditionFieldEqualsValueExpression? AnyOneOf.middleVal((ConditionFieldEqualsValueExpression) item):
                     (item instanceof ConditionValueExpression ? AnyOneOf.rightVal((ConditionValueExpression) item): AnyOneOf.leftVal(item));
         }
-        return null;
+        throw new SigmaConditionError("Condition '" + token + "' is neither a detection identifier nor a selector");
     }
 }
\ No newline at end of file
@@ -178,6 +178,139 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Max age of the node-local correlation rule cache on nodes which do not hold a copy of the correlation rules index
+     */
+    public static final Setting<TimeValue> CORRELATION_RULE_CACHE_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_rule_cache_ttl",
+            TimeValue.timeValueSeconds(30),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max age of the node-local log type snapshot on nodes which do not hold a copy of the log type config index
+     */
+    public static final Setting<TimeValue> LOG_TYPE_SNAPSHOT_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.log_type_snapshot_ttl",
+            TimeValue.timeValueSeconds(30),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of findings correlated together in one micro-batch, 1 disables batching
+     */
+    public static final Setting<Integer> CORRELATION_BATCH_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_batch_size",
+            100,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max time a finding waits for its micro-batch to fill up before it is correlated
+     */
+    public static final Setting<TimeValue> CORRELATION_BATCH_DELAY = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_batch_delay",
+            TimeValue.timeValueMillis(100),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Number of correlation levels a node leases at once from the correlation metadata index
+     */
+    public static final Setting<Integer> CORRELATION_LEVEL_LEASE_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_level_lease_size",
+            100,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of hits fetched per page by the searches of the correlation engine
+     */
+    public static final Setting<Integer> CORRELATION_SEARCH_PAGE_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_search_page_size",
+            1000,
+            1,
+            10000,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Whether correlation history documents are written in bulk without forcing a refresh per finding
+     */
+    public static final Setting<Boolean> CORRELATION_HISTORY_ASYNC_WRITES = Setting.boolSetting(
+            "plugins.security_analytics.correlation_history_async_writes",
+            true,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max time correlation history documents are buffered before they are written
+     */
+    public static final Setting<TimeValue> CORRELATION_HISTORY_FLUSH_INTERVAL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_history_flush_interval",
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of buffered correlation history documents before they are written
+     */
+    public static final Setting<Integer> CORRELATION_HISTORY_FLUSH_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_history_flush_size",
+            500,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max time correlation rule alerts are coalesced before active alerts are searched and upserted in bulk, 0 upserts them right away
+     */
+    public static final Setting<TimeValue> CORRELATION_ALERT_FLUSH_INTERVAL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_alert_flush_interval",
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max age of the node-local registry of open correlation alerts before it is reloaded, which picks up alerts written by other nodes
+     */
+    public static final Setting<TimeValue> CORRELATION_ALERT_REGISTRY_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_alert_registry_ttl",
+            TimeValue.timeValueMinutes(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of findings whose timestamp & correlation level are cached on a node for correlation searches, 0 disables the cache
+     */
+    public static final Setting<Integer> CORRELATION_LOOKUP_CACHE_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_lookup_cache_size",
+            10000,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max age of the cached finding levels & scoreTimestamp used by correlation searches
+     */
+    public static final Setting<TimeValue> CORRELATION_LOOKUP_CACHE_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.correlation_lookup_cache_ttl",
+            TimeValue.timeValueMinutes(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of threads compiling the pre-packaged rules when they are imported, 0 uses the number of allocated processors
+     */
+    public static final Setting<Integer> RULE_COMPILATION_PARALLELISM = Setting.intSetting(
+            "plugins.security_analytics.rule_compilation_parallelism",
+            0,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<String> DEFAULT_MAPPING_SCHEMA = Setting.simpleString(
             "plugins.security_analytics.mappings.default_schema",
             "ecs",
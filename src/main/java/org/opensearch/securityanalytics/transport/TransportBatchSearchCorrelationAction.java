@@ -0,0 +1,240 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingAction;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingRequest;
+import org.opensearch.securityanalytics.action.BatchCorrelatedFindingResponse;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriteBuffer;
+import org.opensearch.securityanalytics.correlation.CorrelationLookupCache;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch variant of {@link TransportSearchCorrelationAction}. Timestamps & levels of the requested findings and the
+ * metadata scoreTimestamp not found in the {@link CorrelationLookupCache} are resolved with one multi-search, then the neighbours of all findings are searched with a
+ * second multi-search of kNN queries.
+ */
+public class TransportBatchSearchCorrelationAction extends HandledTransportAction<BatchCorrelatedFindingRequest, BatchCorrelatedFindingResponse> implements SecureTransportAction {
+
+    private static final Logger log = LogManager.getLogger(TransportBatchSearchCorrelationAction.class);
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private final CorrelationLookupCache lookupCache;
+
+    private final CorrelationHistoryWriteBuffer writeBuffer;
+
+    @Inject
+    public TransportBatchSearchCorrelationAction(TransportService transportService,
+                                                 Client client,
+                                                 ActionFilters actionFilters,
+                                                 CorrelationLookupCache lookupCache,
+                                                 CorrelationHistoryWriteBuffer writeBuffer) {
+        super(BatchCorrelatedFindingAction.NAME, transportService, actionFilters, BatchCorrelatedFindingRequest::new);
+        this.client = client;
+        this.lookupCache = lookupCache;
+        this.writeBuffer = writeBuffer;
+        this.threadPool = this.client.threadPool();
+    }
+
+    @Override
+    protected void doExecute(Task task, BatchCorrelatedFindingRequest request, ActionListener<BatchCorrelatedFindingResponse> actionListener) {
+        // correlations still buffered on this node are made searchable first.
+        writeBuffer.awaitSearchable(ActionListener.wrap(
+                response -> search(request, actionListener),
+                e -> finish(actionListener, null, e)
+        ));
+    }
+
+    private void search(BatchCorrelatedFindingRequest request, ActionListener<BatchCorrelatedFindingResponse> actionListener) {
+        List<String> findingIds = request.getFindingIds();
+
+        Map<String, CorrelationLookupCache.FindingLevel> findingLevels = new HashMap<>();
+        List<String> uncachedFindingIds = new ArrayList<>();
+        for (String findingId: findingIds) {
+            CorrelationLookupCache.FindingLevel findingLevel = lookupCache.getFindingLevel(findingId);
+            if (findingLevel != null) {
+                findingLevels.put(findingId, findingLevel);
+            } else if (!findingLevels.containsKey(findingId)) {
+                findingLevels.put(findingId, null);
+                uncachedFindingIds.add(findingId);
+            }
+        }
+        Long cachedScoreTimestamp = lookupCache.getScoreTimestamp();
+
+        MultiSearchRequest lookupRequest = new MultiSearchRequest();
+        if (!uncachedFindingIds.isEmpty()) {
+            lookupRequest.add(getFindingTimestampsSearchRequest(uncachedFindingIds, request.getDetectorType()));
+            lookupRequest.add(getFindingCountersSearchRequest(uncachedFindingIds));
+        }
+        if (cachedScoreTimestamp == null) {
+            lookupRequest.add(TransportSearchCorrelationAction.getScoreTimestampSearchRequest());
+        }
+
+        ActionListener<MultiSearchResponse> lookupListener = ActionListener.wrap(lookupResponse -> {
+            MultiSearchResponse.Item[] items = lookupResponse != null ? lookupResponse.getResponses() : new MultiSearchResponse.Item[0];
+            for (MultiSearchResponse.Item item: items) {
+                if (item.isFailure()) {
+                    finish(actionListener, null, item.getFailure());
+                    return;
+                }
+            }
+
+            long scoreTimestamp;
+            if (cachedScoreTimestamp != null) {
+                scoreTimestamp = cachedScoreTimestamp;
+            } else {
+                SearchHit[] scoreHits = items[items.length - 1].getResponse().getHits().getHits();
+                if (scoreHits.length == 0) {
+                    finish(actionListener, null, new OpenSearchStatusException("Failed to find scoreTimestamp in correlation metadata index", RestStatus.NOT_FOUND));
+                    return;
+                }
+                scoreTimestamp = (long) scoreHits[0].getSourceAsMap().get("scoreTimestamp");
+                lookupCache.putScoreTimestamp(scoreTimestamp);
+            }
+
+            if (!uncachedFindingIds.isEmpty()) {
+                Map<String, Long> findingTimestamps = new HashMap<>();
+                for (SearchHit hit: items[0].getResponse().getHits().getHits()) {
+                    findingTimestamps.put(hit.getId(), hit.getFields().get("timestamp").<Long>getValue());
+                }
+
+                for (SearchHit hit: items[1].getResponse().getHits().getHits()) {
+                    String findingId = hit.getFields().get("finding1").getValue();
+                    Long findingTimestamp = findingTimestamps.get(findingId);
+                    if (findingTimestamp == null || findingLevels.get(findingId) != null) {
+                        continue;
+                    }
+
+                    long counter = hit.getFields().get("counter").<Long>getValue();
+                    lookupCache.putFindingLevel(findingId, findingTimestamp, counter);
+                    findingLevels.put(findingId, new CorrelationLookupCache.FindingLevel(findingTimestamp, counter));
+                }
+            }
+
+            List<String> searchedFindings = new ArrayList<>();
+            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+            for (Map.Entry<String, CorrelationLookupCache.FindingLevel> findingLevel: findingLevels.entrySet()) {
+                if (findingLevel.getValue() == null) {
+                    continue;
+                }
+
+                searchedFindings.add(findingLevel.getKey());
+                mSearchRequest.add(TransportSearchCorrelationAction.getCorrelatedFindingsSearchRequest(findingLevel.getValue().getCounter(),
+                        findingLevel.getValue().getTimestamp(), scoreTimestamp, request.getTimeWindow(), request.getNoOfNearbyFindings()));
+            }
+
+            Map<String, List<FindingWithScore>> correlatedFindings = new LinkedHashMap<>();
+            for (String findingId: findingIds) {
+                correlatedFindings.put(findingId, List.of());
+            }
+            if (searchedFindings.isEmpty()) {
+                finish(actionListener, new BatchCorrelatedFindingResponse(correlatedFindings), null);
+                return;
+            }
+
+            client.multiSearch(mSearchRequest, ActionListener.wrap(mSearchResponse -> {
+                MultiSearchResponse.Item[] responses = mSearchResponse.getResponses();
+                for (int idx = 0; idx < responses.length; ++idx) {
+                    if (responses[idx].isFailure()) {
+                        log.info(responses[idx].getFailureMessage());
+                        continue;
+                    }
+
+                    String findingId = searchedFindings.get(idx);
+                    Map<Pair<String, String>, Pair<Double, Set<String>>> neighbours = new HashMap<>();
+                    TransportSearchCorrelationAction.collectCorrelatedFindings(findingId, responses[idx].getResponse().getHits().getHits(), neighbours);
+                    correlatedFindings.put(findingId, TransportSearchCorrelationAction.toFindingsWithScore(neighbours));
+                }
+                finish(actionListener, new BatchCorrelatedFindingResponse(correlatedFindings), null);
+            }, e -> finish(actionListener, null, e)));
+        }, e -> finish(actionListener, null, e));
+
+        if (lookupRequest.requests().isEmpty()) {
+            // everything was cached, go straight to the kNN searches.
+            lookupListener.onResponse(null);
+        } else {
+            client.multiSearch(lookupRequest, lookupListener);
+        }
+    }
+
+    private static SearchRequest getFindingTimestampsSearchRequest(List<String> findingIds, String detectorType) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(QueryBuilders.termsQuery("_id", findingIds));
+        searchSourceBuilder.fetchSource(false);
+        searchSourceBuilder.fetchField("timestamp");
+        searchSourceBuilder.size(findingIds.size());
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType));
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return searchRequest;
+    }
+
+    /**
+     * The orphan records of the findings, which hold the level each finding was stored at.
+     */
+    private static SearchRequest getFindingCountersSearchRequest(List<String> findingIds) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(QueryBuilders.boolQuery()
+                .must(QueryBuilders.termsQuery("finding1", findingIds))
+                .must(QueryBuilders.matchQuery("finding2", "")));
+        searchSourceBuilder.fetchSource(false);
+        searchSourceBuilder.fetchField("finding1");
+        searchSourceBuilder.fetchField("counter");
+        searchSourceBuilder.size(findingIds.size());
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return searchRequest;
+    }
+
+    private void finish(ActionListener<BatchCorrelatedFindingResponse> listener, BatchCorrelatedFindingResponse response, Exception t) {
+        threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
+            if (t != null) {
+                if (t instanceof OpenSearchStatusException) {
+                    throw t;
+                }
+                throw SecurityAnalyticsException.wrap(t);
+            } else {
+                return response;
+            }
+        }));
+    }
+}
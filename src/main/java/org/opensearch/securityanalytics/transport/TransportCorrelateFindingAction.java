@@ -4,6 +4,7 @@
  */
 package org.opensearch.securityanalytics.transport;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
@@ -18,16 +19,17 @@ import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.document.DocumentField;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentType;
@@ -48,17 +50,25 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationBatch;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriteBuffer;
+import org.opensearch.securityanalytics.correlation.CorrelationLevelAllocator;
+import org.opensearch.securityanalytics.correlation.CorrelationLookupCache;
+import org.opensearch.securityanalytics.correlation.CorrelationMetrics;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
 import org.opensearch.securityanalytics.correlation.JoinEngine;
 import org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine;
-import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
-import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CustomLogType;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.AutoCorrelationsRepo;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
+import org.opensearch.securityanalytics.util.PagedSearch;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -67,10 +77,13 @@ import org.opensearch.transport.TransportService;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -84,6 +97,14 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
     private final LogTypeService logTypeService;
 
+    private final CorrelationRuleCache correlationRuleCache;
+
+    private final CorrelationLevelAllocator levelAllocator;
+
+    private final CorrelationHistoryWriteBuffer writeBuffer;
+
+    private final CorrelationLookupCache lookupCache;
+
     private final ClusterService clusterService;
 
     private final Settings settings;
@@ -102,9 +123,23 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
     private volatile boolean enableAutoCorrelation;
 
-    private final CorrelationAlertService correlationAlertService;
+    private volatile int batchSize;
+
+    private volatile TimeValue batchDelay;
+
+    private volatile int searchPageSize;
+
+    private final Object batchLock = new Object();
+
+    private List<AsyncCorrelateFindingAction> pendingBatch = new ArrayList<>();
 
-    private final NotificationService notificationService;
+    private boolean batchFlushScheduled = false;
+
+    private final AtomicBoolean graphIndexInitializing = new AtomicBoolean();
+
+    private final CorrelationRuleScheduler correlationRuleScheduler;
+
+    private final CorrelationMetrics metrics;
 
     @Inject
     public TransportCorrelateFindingAction(TransportService transportService,
@@ -113,28 +148,44 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                            DetectorIndices detectorIndices,
                                            CorrelationIndices correlationIndices,
                                            LogTypeService logTypeService,
+                                           CorrelationRuleCache correlationRuleCache,
+                                           CorrelationLevelAllocator levelAllocator,
+                                           CorrelationHistoryWriteBuffer writeBuffer,
+                                           CorrelationLookupCache lookupCache,
                                            ClusterService clusterService,
                                            Settings settings,
-                                           ActionFilters actionFilters, CorrelationAlertService correlationAlertService, NotificationService notificationService) {
+                                           ActionFilters actionFilters, CorrelationRuleScheduler correlationRuleScheduler,
+                                           CorrelationMetrics metrics) {
         super(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_NAME, transportService, actionFilters, PublishFindingsRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
         this.detectorIndices = detectorIndices;
         this.correlationIndices = correlationIndices;
         this.logTypeService = logTypeService;
+        this.correlationRuleCache = correlationRuleCache;
+        this.levelAllocator = levelAllocator;
+        this.writeBuffer = writeBuffer;
+        this.lookupCache = lookupCache;
         this.clusterService = clusterService;
         this.settings = settings;
-        this.correlationAlertService = correlationAlertService;
-        this.notificationService = notificationService;
+        this.correlationRuleScheduler = correlationRuleScheduler;
+        this.metrics = metrics;
         this.threadPool = this.detectorIndices.getThreadPool();
 
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
         this.corrTimeWindow = SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW.get(this.settings).getMillis();
         this.enableAutoCorrelation = SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS.get(this.settings);
+        this.batchSize = SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE.get(this.settings);
+        this.batchDelay = SecurityAnalyticsSettings.CORRELATION_BATCH_DELAY.get(this.settings);
+        this.searchPageSize = SecurityAnalyticsSettings.CORRELATION_SEARCH_PAGE_SIZE.get(this.settings);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.INDEX_TIMEOUT, it -> indexTimeout = it);
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW, it -> corrTimeWindow = it.getMillis());
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS, it -> enableAutoCorrelation = it);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE, it -> batchSize = it);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_SEARCH_PAGE_SIZE, it -> searchPageSize = it);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_BATCH_DELAY, it -> batchDelay = it);
         this.setupTimestamp = System.currentTimeMillis();
+        this.metrics.registerQueue("correlation_batch", this::pendingBatchSize);
     }
 
     @Override
@@ -142,6 +193,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         try {
             PublishFindingsRequest transformedRequest = transformRequest(request);
             AsyncCorrelateFindingAction correlateFindingAction = new AsyncCorrelateFindingAction(task, transformedRequest, readUserFromThreadContext(this.threadPool), actionListener);
+            initCorrelationGraphIndex();
 
             if (!this.correlationIndices.correlationIndexExists()) {
                 try {
@@ -162,11 +214,13 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                             IndexUtils.correlationMetadataIndexUpdated();
 
                                             correlationIndices.setupCorrelationIndex(indexTimeout, setupTimestamp, ActionListener.wrap(bulkResponse -> {
+                                                levelAllocator.reset();
+                                                lookupCache.invalidate();
                                                 if (bulkResponse.hasFailures()) {
                                                     correlateFindingAction.onFailures(new OpenSearchStatusException(createIndexResponse.toString(), RestStatus.INTERNAL_SERVER_ERROR));
                                                 }
 
-                                                correlateFindingAction.start();
+                                                enqueue(correlateFindingAction);
                                             }, correlateFindingAction::onFailures));
                                         } else {
                                             correlateFindingAction.onFailures(new OpenSearchStatusException("Failed to create correlation metadata Index", RestStatus.INTERNAL_SERVER_ERROR));
@@ -197,13 +251,242 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                     correlateFindingAction.onFailures(ex);
                 }
             } else {
-                correlateFindingAction.start();
+                enqueue(correlateFindingAction);
             }
         } catch (Exception e) {
             throw new SecurityAnalyticsException("Unknown exception occurred", RestStatus.INTERNAL_SERVER_ERROR, e);
         }
     }
 
+    /**
+     * Creates the correlation graph index with its mappings before the first graph upserts, which would otherwise
+     * auto-create it. Correlation does not wait for it, a failure only leaves the graph to dynamic mappings.
+     */
+    private void initCorrelationGraphIndex() {
+        if (correlationIndices.correlationGraphIndexExists() || !graphIndexInitializing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            correlationIndices.initCorrelationGraphIndex(ActionListener.wrap(
+                    response -> graphIndexInitializing.set(false),
+                    e -> {
+                        log.debug("Failed to create correlation graph index", e);
+                        graphIndexInitializing.set(false);
+                    }
+            ));
+        } catch (Exception e) {
+            log.debug("Failed to create correlation graph index", e);
+            graphIndexInitializing.set(false);
+        }
+    }
+
+    /**
+     * Adds the finding to the current micro-batch. The batch is correlated once it reaches
+     * {@link SecurityAnalyticsSettings#CORRELATION_BATCH_SIZE} findings or {@link SecurityAnalyticsSettings#CORRELATION_BATCH_DELAY}
+     * after its first finding arrived, whichever comes first.
+     */
+    private void enqueue(AsyncCorrelateFindingAction correlateFindingAction) {
+        if (batchSize <= 1) {
+            correlateFindingAction.start();
+            return;
+        }
+
+        List<AsyncCorrelateFindingAction> batch = null;
+        boolean scheduleFlush = false;
+        synchronized (batchLock) {
+            pendingBatch.add(correlateFindingAction);
+            if (pendingBatch.size() >= batchSize) {
+                batch = pendingBatch;
+                pendingBatch = new ArrayList<>();
+            } else if (!batchFlushScheduled) {
+                batchFlushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (batch != null) {
+            List<AsyncCorrelateFindingAction> fullBatch = batch;
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(() -> correlateBatch(fullBatch));
+        } else if (scheduleFlush) {
+            threadPool.schedule(this::flushPendingBatch, batchDelay, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    private int pendingBatchSize() {
+        synchronized (batchLock) {
+            return pendingBatch.size();
+        }
+    }
+
+    private void flushPendingBatch() {
+        List<AsyncCorrelateFindingAction> batch;
+        synchronized (batchLock) {
+            batchFlushScheduled = false;
+            batch = pendingBatch;
+            pendingBatch = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+            correlateBatch(batch);
+        }
+    }
+
+    /**
+     * Resolves the detectors, log types & auto correlation candidate findings of the whole batch with one search each,
+     * before correlating every finding of the batch.
+     */
+    private void correlateBatch(List<AsyncCorrelateFindingAction> batch) {
+        try (ThreadContext.StoredContext ignored = threadPool.getThreadContext().stashContext()) {
+            if (!detectorIndices.detectorIndexExists()) {
+                onBatchFailure(batch, new SecurityAnalyticsException(String.format(Locale.getDefault(), "Detector index %s doesnt exist", Detector.DETECTORS_INDEX), RestStatus.INTERNAL_SERVER_ERROR, new RuntimeException()));
+                return;
+            }
+
+            Set<String> monitorIds = new HashSet<>();
+            long minTimestamp = Long.MAX_VALUE;
+            long maxTimestamp = Long.MIN_VALUE;
+            for (AsyncCorrelateFindingAction correlateFindingAction: batch) {
+                monitorIds.add(correlateFindingAction.request.getMonitorId());
+                long findingTimestamp = correlateFindingAction.request.getFinding().getTimestamp().toEpochMilli();
+                minTimestamp = Math.min(minTimestamp, findingTimestamp);
+                maxTimestamp = Math.max(maxTimestamp, findingTimestamp);
+            }
+            long batchMinTimestamp = minTimestamp;
+            long batchMaxTimestamp = maxTimestamp;
+
+            NestedQueryBuilder queryBuilder =
+                    QueryBuilders.nestedQuery(
+                            "detector",
+                            QueryBuilders.termsQuery(
+                                    "detector.monitor_id",
+                                    monitorIds
+                            ),
+                            ScoreMode.None
+                    );
+
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.query(queryBuilder);
+            searchSourceBuilder.fetchSource(true);
+            searchSourceBuilder.size(monitorIds.size());
+            SearchRequest searchRequest = new SearchRequest();
+            searchRequest.indices(Detector.DETECTORS_INDEX);
+            searchRequest.source(searchSourceBuilder);
+            searchRequest.preference(Preference.PRIMARY_FIRST.type());
+            searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+
+            long detectorLookupStart = metrics.startTime();
+            client.search(searchRequest, ActionListener.wrap(detectorResponse -> {
+                metrics.record(CorrelationMetrics.Stage.DETECTOR_LOOKUP, detectorLookupStart);
+                // a timed out lookup throws & fails the batch like the per-finding lookup does.
+                Map<String, Detector> detectorsByMonitorId = CorrelationBatch.detectorsByMonitorId(detectorResponse, xContentRegistry);
+
+                long logTypeLookupStart = metrics.startTime();
+                logTypeService.getLogTypeSnapshot(ActionListener.wrap(logTypeSnapshot -> {
+                    metrics.record(CorrelationMetrics.Stage.LOG_TYPE_LOOKUP, logTypeLookupStart);
+                    Map<String, CustomLogType> logTypes = logTypeSnapshot.getLogTypes();
+
+                    if (enableAutoCorrelation) {
+                        Set<Set<String>> correlatableTags = new HashSet<>();
+                        for (AsyncCorrelateFindingAction correlateFindingAction: batch) {
+                            Set<String> findingTags = AutoCorrelationsRepo.correlatableTags(
+                                    CorrelationBatch.attackTags(correlateFindingAction.request.getFinding()));
+                            if (!findingTags.isEmpty()) {
+                                correlatableTags.add(findingTags);
+                            }
+                        }
+                        searchAutoCorrelationCandidates(logTypes, correlatableTags, batchMinTimestamp - corrTimeWindow, batchMaxTimestamp + corrTimeWindow,
+                                ActionListener.wrap(candidates -> startBatch(batch, new CorrelationBatch(detectorsByMonitorId, logTypes, candidates)),
+                                        e -> onBatchFailure(batch, e)));
+                    } else {
+                        startBatch(batch, new CorrelationBatch(detectorsByMonitorId, logTypes, null));
+                    }
+                }, e -> onBatchFailure(batch, e)));
+            }, e -> onBatchFailure(batch, e)));
+        } catch (Exception e) {
+            onBatchFailure(batch, e);
+        }
+    }
+
+    /**
+     * Searches the findings which can be auto correlated with the findings of a batch, with one nested terms query on the
+     * finding tags per log type & distinct set of correlatable tags in the batch. Only finding ids & timestamps are fetched.
+     */
+    private void searchAutoCorrelationCandidates(Map<String, CustomLogType> logTypes, Set<Set<String>> correlatableTags, long fromTimestamp, long toTimestamp,
+                                                 ActionListener<Map<Set<String>, Map<String, List<CorrelationBatch.AutoCorrelationCandidate>>>> listener) {
+        List<SearchRequest> searchRequests = new ArrayList<>();
+        List<Pair<Set<String>, String>> searchKeys = new ArrayList<>();
+        for (Set<String> tags: correlatableTags) {
+            for (CustomLogType logType: logTypes.values()) {
+                if (!"Sigma".equalsIgnoreCase(logType.getSource())) {
+                    continue;
+                }
+                searchKeys.add(Pair.of(tags, logType.getName()));
+
+                BoolQueryBuilder findingsQueryBuilder = QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.rangeQuery("timestamp").gte(fromTimestamp).lte(toTimestamp))
+                        .filter(QueryBuilders.nestedQuery("queries",
+                                QueryBuilders.termsQuery(JoinEngine.FINDING_TAGS_FIELD, tags), ScoreMode.None));
+
+                SearchSourceBuilder sourceBuilder = new SearchSourceBuilder();
+                sourceBuilder.query(findingsQueryBuilder);
+                sourceBuilder.fetchSource(false);
+                sourceBuilder.docValueField("timestamp");
+                SearchRequest searchRequest = new SearchRequest();
+                searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(logType.getName()));
+                searchRequest.source(sourceBuilder);
+                searchRequest.preference(Preference.PRIMARY_FIRST.type());
+                searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+                searchRequests.add(searchRequest);
+            }
+        }
+
+        if (searchRequests.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+
+        long searchStart = metrics.startTime();
+        List<List<CorrelationBatch.AutoCorrelationCandidate>> candidatesPerSearch = new ArrayList<>();
+        for (int idx = 0; idx < searchRequests.size(); ++idx) {
+            candidatesPerSearch.add(new ArrayList<>());
+        }
+        PagedSearch.searchAll(client, searchRequests, JoinEngine.FINDING_ID_FIELD, searchPageSize, (idx, hits) -> {
+            for (SearchHit hit: hits) {
+                DocumentField timestamp = hit.field("timestamp");
+                if (timestamp == null || timestamp.getValue() == null) {
+                    continue;
+                }
+                candidatesPerSearch.get(idx).add(new CorrelationBatch.AutoCorrelationCandidate(
+                        hit.getId(),
+                        ((Number) timestamp.getValue()).longValue()
+                ));
+            }
+        }, ActionListener.wrap(failures -> {
+            metrics.record(CorrelationMetrics.Stage.AUTO_CORRELATION_SEARCH, searchStart);
+            Map<Set<String>, Map<String, List<CorrelationBatch.AutoCorrelationCandidate>>> candidates = new HashMap<>();
+            for (int idx = 0; idx < failures.length; ++idx) {
+                if (failures[idx] != null) {
+                    log.info(failures[idx].getMessage());
+                    continue;
+                }
+                candidates.computeIfAbsent(searchKeys.get(idx).getLeft(), k -> new HashMap<>())
+                        .put(searchKeys.get(idx).getRight(), candidatesPerSearch.get(idx));
+            }
+            listener.onResponse(candidates);
+        }, listener::onFailure));
+    }
+
+    private void startBatch(List<AsyncCorrelateFindingAction> batch, CorrelationBatch correlationBatch) {
+        for (AsyncCorrelateFindingAction correlateFindingAction: batch) {
+            correlateFindingAction.start(correlationBatch);
+        }
+    }
+
+    private void onBatchFailure(List<AsyncCorrelateFindingAction> batch, Exception e) {
+        for (AsyncCorrelateFindingAction correlateFindingAction: batch) {
+            correlateFindingAction.onFailures(e);
+        }
+    }
+
     public class AsyncCorrelateFindingAction {
         private final PublishFindingsRequest request;
         private final JoinEngine joinEngine;
@@ -213,14 +496,18 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
         private final Task task;
+        private final long startTime;
+        private volatile CorrelationBatch batch;
 
         AsyncCorrelateFindingAction(Task task, PublishFindingsRequest request, User user, ActionListener<SubscribeFindingsResponse> listener) {
             this.task = task;
             this.request = request;
             this.listener = listener;
             this.response =new AtomicReference<>();
-            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, indexTimeout, this, logTypeService, enableAutoCorrelation, correlationAlertService, notificationService, user);
-            this.vectorEmbeddingsEngine = new VectorEmbeddingsEngine(client, indexTimeout, corrTimeWindow, this);
+            this.startTime = metrics.startTime();
+            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, indexTimeout, this, logTypeService, correlationRuleCache, enableAutoCorrelation, correlationRuleScheduler, user, searchPageSize, metrics);
+            this.vectorEmbeddingsEngine = new VectorEmbeddingsEngine(client, levelAllocator, writeBuffer, lookupCache, indexTimeout, corrTimeWindow, this, metrics);
+            metrics.inc(CorrelationMetrics.Counter.FINDINGS_IN);
         }
 
         void start() {
@@ -249,7 +536,9 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                 searchRequest.preference(Preference.PRIMARY_FIRST.type());
                 searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
 
+                long detectorLookupStart = metrics.startTime();
                 client.search(searchRequest, ActionListener.wrap(response -> {
+                    metrics.record(CorrelationMetrics.Stage.DETECTOR_LOOKUP, detectorLookupStart);
                     if (response.isTimedOut()) {
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
                     }
@@ -278,6 +567,22 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }
         }
 
+        void start(CorrelationBatch batch) {
+            this.batch = batch;
+            Detector detector = batch.getDetector(request.getMonitorId());
+            if (detector == null) {
+                onFailures(new OpenSearchStatusException("detector not found given monitor id " + request.getMonitorId(), RestStatus.INTERNAL_SERVER_ERROR));
+                return;
+            }
+
+            try {
+                joinEngine.onSearchDetectorResponse(detector, request.getFinding(), batch);
+            } catch (Exception e) {
+                log.error("Exception for finding id {}", request.getFinding().getId(), e);
+                onFailures(e);
+            }
+        }
+
         public void initCorrelationIndex(String detectorType, Map<String, List<String>> correlatedFindings, List<String> correlationRules) {
             try {
                 if (!IndexUtils.correlationIndexUpdated) {
@@ -310,6 +615,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                 IndexUtils.correlationMetadataIndexUpdated();
 
                                 correlationIndices.setupCorrelationIndex(indexTimeout, setupTimestamp, ActionListener.wrap(bulkResponse -> {
+                                    levelAllocator.reset();
+                                    lookupCache.invalidate();
                                     if (bulkResponse.hasFailures()) {
                                         onFailures(new OpenSearchStatusException(bulkResponse.toString(), RestStatus.INTERNAL_SERVER_ERROR));
                                     }
@@ -326,6 +633,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                         String id = searchMetadataResponse.getHits().getHits()[0].getId();
                                         Map<String, Object> hitSource = searchMetadataResponse.getHits().getHits()[0].getSourceAsMap();
                                         long scoreTimestamp = (long) hitSource.get("scoreTimestamp");
+                                        lookupCache.putScoreTimestamp(scoreTimestamp);
 
                                         long newScoreTimestamp = findingTimestamp - CorrelationIndices.FIXED_HISTORICAL_INTERVAL;
                                         if (newScoreTimestamp > scoreTimestamp) {
@@ -333,42 +641,16 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                                 IndexRequest scoreIndexRequest = getCorrelationMetadataIndexRequest(id, newScoreTimestamp);
 
                                                 client.index(scoreIndexRequest, ActionListener.wrap(indexResponse -> {
-                                                    SearchRequest searchRequest = getSearchLogTypeIndexRequest();
-
-                                                    client.search(searchRequest, ActionListener.wrap(searchResponse -> {
-                                                        if (searchResponse.isTimedOut()) {
-                                                            onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                                        }
-
-                                                        SearchHit[] hits = searchResponse.getHits().getHits();
-                                                        Map<String, CustomLogType> logTypes = new HashMap<>();
-                                                        for (SearchHit hit : hits) {
-                                                            Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                                            logTypes.put(sourceMap.get("name").toString(),
-                                                                    new CustomLogType(sourceMap));
-                                                        }
-
-                                                        if (correlatedFindings != null) {
-                                                            if (correlatedFindings.isEmpty()) {
-                                                                vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                            }
-                                                            for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                                                vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                                        Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules, logTypes);
-                                                            }
-                                                        } else {
-                                                            vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                        }
-                                                    }, this::onFailures));
+                                                    lookupCache.putScoreTimestamp(newScoreTimestamp);
+                                                    insertFindings(Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(),
+                                                            correlatedFindings, detectorType, correlationRules, orphanFinding);
                                                 }, this::onFailures));
                                             } catch (Exception ex) {
                                                 onFailures(ex);
                                             }
                                         } else {
                                             float timestampFeature = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
-
-                                            SearchRequest searchRequest =  getSearchLogTypeIndexRequest();
-                                            insertFindings(timestampFeature, searchRequest, correlatedFindings, detectorType, correlationRules, orphanFinding);
+                                            insertFindings(timestampFeature, correlatedFindings, detectorType, correlationRules, orphanFinding);
                                         }
                                     }, this::onFailures));
                                 }, this::onFailures));
@@ -389,44 +671,20 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                             String id = response.getHits().getHits()[0].getId();
                             Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
                             long scoreTimestamp = (long) hitSource.get("scoreTimestamp");
+                            lookupCache.putScoreTimestamp(scoreTimestamp);
 
                             long newScoreTimestamp = findingTimestamp - CorrelationIndices.FIXED_HISTORICAL_INTERVAL;
                             if (newScoreTimestamp > scoreTimestamp) {
                                 IndexRequest scoreIndexRequest = getCorrelationMetadataIndexRequest(id, newScoreTimestamp);
 
                                 client.index(scoreIndexRequest, ActionListener.wrap(indexResponse -> {
-                                    SearchRequest searchRequest = getSearchLogTypeIndexRequest();
-
-                                    client.search(searchRequest, ActionListener.wrap(searchResponse -> {
-                                        if (searchResponse.isTimedOut()) {
-                                            onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                        }
-
-                                        SearchHit[] hits = searchResponse.getHits().getHits();
-                                        Map<String, CustomLogType> logTypes = new HashMap<>();
-                                        for (SearchHit hit : hits) {
-                                            Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                            logTypes.put(sourceMap.get("name").toString(), new CustomLogType(sourceMap));
-                                        }
-
-                                        if (correlatedFindings != null) {
-                                            if (correlatedFindings.isEmpty()) {
-                                                vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                            }
-                                            for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                                vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                        Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules, logTypes);
-                                            }
-                                        } else {
-                                            vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                        }
-                                    }, this::onFailures));
+                                    lookupCache.putScoreTimestamp(newScoreTimestamp);
+                                    insertFindings(Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(),
+                                            correlatedFindings, detectorType, correlationRules, orphanFinding);
                                 }, this::onFailures));
                             } else {
                                 float timestampFeature = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
-
-                                SearchRequest searchRequest = getSearchLogTypeIndexRequest();
-                                insertFindings(timestampFeature, searchRequest, correlatedFindings, detectorType, correlationRules, orphanFinding);
+                                insertFindings(timestampFeature, correlatedFindings, detectorType, correlationRules, orphanFinding);
                             }
                         }
                     }, this::onFailures));
@@ -436,20 +694,6 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }
         }
 
-        private SearchRequest getSearchLogTypeIndexRequest() {
-            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                    .must(QueryBuilders.existsQuery("source"));
-            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(true);
-            searchSourceBuilder.size(10000);
-            SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
-            searchRequest.source(searchSourceBuilder);
-            searchRequest.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
-            return searchRequest;
-        }
-
         private IndexRequest getCorrelationMetadataIndexRequest(String id, long newScoreTimestamp) throws IOException {
             XContentBuilder scoreBuilder = XContentFactory.jsonBuilder().startObject();
             scoreBuilder.field("scoreTimestamp", newScoreTimestamp);
@@ -463,20 +707,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                     .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
         }
 
-        private void insertFindings(float timestampFeature, SearchRequest searchRequest, Map<String, List<String>> correlatedFindings, String detectorType, List<String> correlationRules, Finding orphanFinding) {
-            client.search(searchRequest, ActionListener.wrap(response -> {
-                if (response.isTimedOut()) {
-                    onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                }
-
-                SearchHit[] hits = response.getHits().getHits();
-                Map<String, CustomLogType> logTypes = new HashMap<>();
-                for (SearchHit hit : hits) {
-                    Map<String, Object> sourceMap = hit.getSourceAsMap();
-                    logTypes.put(sourceMap.get("name").toString(),
-                            new CustomLogType(sourceMap));
-                }
-
+        private void insertFindings(float timestampFeature, Map<String, List<String>> correlatedFindings, String detectorType, List<String> correlationRules, Finding orphanFinding) {
+            getLogTypes(ActionListener.wrap(logTypes -> {
                 if (correlatedFindings != null) {
                     if (correlatedFindings.isEmpty()) {
                         vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), timestampFeature, logTypes);
@@ -491,6 +723,25 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }, this::onFailures));
         }
 
+        /**
+         * Log types are resolved once per batch when the finding is correlated as part of a micro-batch.
+         */
+        private void getLogTypes(ActionListener<Map<String, CustomLogType>> listener) {
+            if (batch != null) {
+                listener.onResponse(batch.getLogTypes());
+                return;
+            }
+
+            long logTypeLookupStart = metrics.startTime();
+            logTypeService.getLogTypeSnapshot(ActionListener.wrap(
+                    logTypeSnapshot -> {
+                        metrics.record(CorrelationMetrics.Stage.LOG_TYPE_LOOKUP, logTypeLookupStart);
+                        listener.onResponse(logTypeSnapshot.getLogTypes());
+                    },
+                    listener::onFailure
+            ));
+        }
+
         private SearchRequest getSearchMetadataIndexRequest() {
             BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
                     .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L));
@@ -510,6 +761,9 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         public void onOperation() {
             this.response.set(RestStatus.OK);
             if (counter.compareAndSet(false, true)) {
+                metrics.inc(CorrelationMetrics.Counter.FINDINGS_OUT);
+                metrics.record(CorrelationMetrics.Stage.TOTAL, startTime);
+                metrics.recordMillis(CorrelationMetrics.Stage.CORRELATION_LAG, System.currentTimeMillis() - request.getFinding().getTimestamp().toEpochMilli());
                 finishHim(null);
             }
         }
@@ -518,6 +772,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             log.error("Exception occurred while processing correlations for monitor id "
                     + request.getMonitorId() + " and finding id " + request.getFinding().getId(), t);
             if (counter.compareAndSet(false, true)) {
+                metrics.inc(CorrelationMetrics.Counter.FINDINGS_FAILED);
                 finishHim(t);
             }
         }
@@ -0,0 +1,146 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.securityanalytics.action.CorrelationGraphAction;
+import org.opensearch.securityanalytics.action.CorrelationGraphRequest;
+import org.opensearch.securityanalytics.action.CorrelationGraphResponse;
+import org.opensearch.securityanalytics.correlation.CorrelationGraph;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Breadth-first traversal of the {@link CorrelationGraph}, resolving the adjacency lists of each hop with one realtime
+ * multi-get on {@link CorrelationIndices#CORRELATION_GRAPH_INDEX}.
+ */
+public class TransportCorrelationGraphAction extends HandledTransportAction<CorrelationGraphRequest, CorrelationGraphResponse> implements SecureTransportAction {
+
+    private static final Logger log = LogManager.getLogger(TransportCorrelationGraphAction.class);
+
+    private static final FetchSourceContext NEIGHBOURS_SOURCE = new FetchSourceContext(true, new String[]{CorrelationGraph.NEIGHBOURS_FIELD}, null);
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    @Inject
+    public TransportCorrelationGraphAction(TransportService transportService,
+                                           Client client,
+                                           ActionFilters actionFilters) {
+        super(CorrelationGraphAction.NAME, transportService, actionFilters, CorrelationGraphRequest::new);
+        this.client = client;
+        this.threadPool = this.client.threadPool();
+    }
+
+    @Override
+    protected void doExecute(Task task, CorrelationGraphRequest request, ActionListener<CorrelationGraphResponse> actionListener) {
+        Traversal traversal = new Traversal(request, actionListener);
+        traversal.expand(List.of(request.getFindingId()), 0);
+    }
+
+    private class Traversal {
+        private final CorrelationGraphRequest request;
+        private final ActionListener<CorrelationGraphResponse> listener;
+
+        /**
+         * distance of every reached finding from the requested finding, in traversal order.
+         */
+        private final Map<String, Integer> findings = new LinkedHashMap<>();
+        private final List<List<String>> edges = new ArrayList<>();
+        private final Set<String> expanded = new HashSet<>();
+        private boolean truncated = false;
+
+        private Traversal(CorrelationGraphRequest request, ActionListener<CorrelationGraphResponse> listener) {
+            this.request = request;
+            this.listener = listener;
+            findings.put(request.getFindingId(), 0);
+        }
+
+        private void expand(List<String> frontier, int depth) {
+            MultiGetRequest multiGetRequest = new MultiGetRequest();
+            for (String findingId: frontier) {
+                multiGetRequest.add(new MultiGetRequest.Item(CorrelationIndices.CORRELATION_GRAPH_INDEX, findingId).fetchSourceContext(NEIGHBOURS_SOURCE));
+            }
+
+            client.multiGet(multiGetRequest, ActionListener.wrap(response -> {
+                List<String> nextFrontier = new ArrayList<>();
+                for (MultiGetItemResponse item: response.getResponses()) {
+                    if (item.isFailed()) {
+                        if (item.getFailure().getFailure() instanceof IndexNotFoundException) {
+                            continue;
+                        }
+                        finish(null, item.getFailure().getFailure());
+                        return;
+                    }
+                    if (!item.getResponse().isExists()) {
+                        continue;
+                    }
+
+                    String findingId = item.getId();
+                    expanded.add(findingId);
+                    for (String neighbour: CorrelationGraph.getNeighbours(item.getResponse().getSourceAsMap())) {
+                        if (findings.containsKey(neighbour)) {
+                            // each edge is reported once, by the first of its findings to be expanded.
+                            if (!expanded.contains(neighbour)) {
+                                edges.add(List.of(findingId, neighbour));
+                            }
+                            continue;
+                        }
+                        if (findings.size() >= request.getMaxFindings()) {
+                            truncated = true;
+                            continue;
+                        }
+                        findings.put(neighbour, depth + 1);
+                        edges.add(List.of(findingId, neighbour));
+                        nextFrontier.add(neighbour);
+                    }
+                }
+
+                if (nextFrontier.isEmpty() || (request.getHops() > 0 && depth + 1 >= request.getHops())) {
+                    finish(new CorrelationGraphResponse(findings, edges, truncated), null);
+                } else {
+                    expand(nextFrontier, depth + 1);
+                }
+            }, e -> finish(null, e)));
+        }
+
+        private void finish(CorrelationGraphResponse response, Exception t) {
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
+                if (t != null) {
+                    log.error("Failed to traverse correlation graph of finding {}", request.getFindingId(), t);
+                    if (t instanceof OpenSearchStatusException) {
+                        throw t;
+                    }
+                    throw SecurityAnalyticsException.wrap(t);
+                } else {
+                    return response;
+                }
+            }));
+        }
+    }
+}
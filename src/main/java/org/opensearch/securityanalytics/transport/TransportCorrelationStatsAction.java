@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.action.CorrelationStatsAction;
+import org.opensearch.securityanalytics.action.CorrelationStatsNodeRequest;
+import org.opensearch.securityanalytics.action.CorrelationStatsNodeResponse;
+import org.opensearch.securityanalytics.action.CorrelationStatsRequest;
+import org.opensearch.securityanalytics.action.CorrelationStatsResponse;
+import org.opensearch.securityanalytics.correlation.CorrelationMetrics;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Collects the {@link CorrelationMetrics} of every requested node.
+ */
+public class TransportCorrelationStatsAction extends TransportNodesAction<CorrelationStatsRequest, CorrelationStatsResponse, CorrelationStatsNodeRequest, CorrelationStatsNodeResponse> {
+
+    private final CorrelationMetrics metrics;
+
+    @Inject
+    public TransportCorrelationStatsAction(ThreadPool threadPool,
+                                           ClusterService clusterService,
+                                           TransportService transportService,
+                                           ActionFilters actionFilters,
+                                           CorrelationMetrics metrics) {
+        super(CorrelationStatsAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                CorrelationStatsRequest::new, CorrelationStatsNodeRequest::new, ThreadPool.Names.MANAGEMENT, CorrelationStatsNodeResponse.class);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected CorrelationStatsResponse newResponse(CorrelationStatsRequest request, List<CorrelationStatsNodeResponse> responses, List<FailedNodeException> failures) {
+        return new CorrelationStatsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected CorrelationStatsNodeRequest newNodeRequest(CorrelationStatsRequest request) {
+        return new CorrelationStatsNodeRequest();
+    }
+
+    @Override
+    protected CorrelationStatsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new CorrelationStatsNodeResponse(in);
+    }
+
+    @Override
+    protected CorrelationStatsNodeResponse nodeOperation(CorrelationStatsNodeRequest request) {
+        return new CorrelationStatsNodeResponse(clusterService.localNode(), metrics.stats());
+    }
+}
@@ -28,6 +28,7 @@ import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleRequest;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
@@ -42,17 +43,21 @@ public class TransportDeleteCorrelationRuleAction extends HandledTransportAction
 
     private CorrelationAlertService correlationAlertService;
 
+    private final CorrelationRuleCache correlationRuleCache;
+
 
     @Inject
     public TransportDeleteCorrelationRuleAction(
         TransportService transportService,
         Client client,
         ActionFilters actionFilters,
-        CorrelationAlertService correlationAlertService
+        CorrelationAlertService correlationAlertService,
+        CorrelationRuleCache correlationRuleCache
     ) {
         super(DeleteCorrelationRuleAction.NAME, transportService, actionFilters, DeleteCorrelationRuleRequest::new);
         this.client = client;
         this.correlationAlertService = correlationAlertService;
+        this.correlationRuleCache = correlationRuleCache;
     }
 
     @Override
@@ -80,6 +85,7 @@ public class TransportDeleteCorrelationRuleAction extends HandledTransportAction
                             );
                             return;
                         }
+                        correlationRuleCache.invalidate();
                         // update the alerts assosciated with correlation Rules, with error STATE and errorMessage
                         log.debug("Updating Correlation Alerts with error Message for ruleId: " + correlationRuleId);
                         correlationAlertService.updateCorrelationAlertsWithError(correlationRuleId);
@@ -332,6 +332,7 @@ public class TransportIndexCustomLogTypeAction extends HandledTransportAction<In
                                                         onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Log Type with id %s cannot be updated", logTypeId), RestStatus.INTERNAL_SERVER_ERROR));
                                                     }
                                                     request.getCustomLogType().setId(response.getId());
+                                                    logTypeService.invalidateLogTypeSnapshot();
                                                     onOperation(response, request.getCustomLogType());
                                                 }
 
@@ -418,6 +419,7 @@ public class TransportIndexCustomLogTypeAction extends HandledTransportAction<In
                         }
 
                         request.getCustomLogType().setId(response.getId());
+                        logTypeService.invalidateLogTypeSnapshot();
                         onOperation(response, request.getCustomLogType());
                     }
 
@@ -10,11 +10,11 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.search.MultiSearchRequest;
 import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
@@ -31,8 +31,9 @@ import org.opensearch.securityanalytics.action.CorrelatedFindingAction;
 import org.opensearch.securityanalytics.action.CorrelatedFindingRequest;
 import org.opensearch.securityanalytics.action.CorrelatedFindingResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriteBuffer;
+import org.opensearch.securityanalytics.correlation.CorrelationLookupCache;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
-import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.FindingWithScore;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
@@ -44,6 +45,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -63,18 +65,26 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
 
     private final ThreadPool threadPool;
 
+    private final CorrelationLookupCache lookupCache;
+
+    private final CorrelationHistoryWriteBuffer writeBuffer;
+
     @Inject
     public TransportSearchCorrelationAction(TransportService transportService,
                                             Client client,
                                             NamedXContentRegistry xContentRegistry,
                                             ClusterService clusterService,
                                             Settings settings,
-                                            ActionFilters actionFilters) {
+                                            ActionFilters actionFilters,
+                                            CorrelationLookupCache lookupCache,
+                                            CorrelationHistoryWriteBuffer writeBuffer) {
         super(CorrelatedFindingAction.NAME, transportService, actionFilters, CorrelatedFindingRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
         this.settings = settings;
+        this.lookupCache = lookupCache;
+        this.writeBuffer = writeBuffer;
         this.threadPool = this.client.threadPool();
     }
 
@@ -84,6 +94,100 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
         searchCorrelationAction.start();
     }
 
+    /**
+     * kNN search of the correlation history for the neighbours of the finding stored at the given level.
+     */
+    static SearchRequest getCorrelatedFindingsSearchRequest(long counter, long findingTimestamp, long scoreTimestamp, long timeWindow, int noOfNearbyFindings) {
+        float[] query = new float[3];
+        for (int i = 0; i < 2; ++i) {
+            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
+        }
+        query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
+
+        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
+                .mustNot(QueryBuilders.matchQuery(
+                        "finding1", ""
+                )).mustNot(QueryBuilders.matchQuery(
+                        "finding2", ""
+                )).filter(QueryBuilders.rangeQuery("timestamp")
+                        .gte(findingTimestamp - timeWindow)
+                        .lte(findingTimestamp + timeWindow)));
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(correlationQueryBuilder);
+        searchSourceBuilder.fetchSource(true);
+        searchSourceBuilder.size(noOfNearbyFindings);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return searchRequest;
+    }
+
+    /**
+     * Merges the findings correlated to the given finding into the map of (finding, log type) to (max score, correlation rules).
+     */
+    @SuppressWarnings("unchecked")
+    static void collectCorrelatedFindings(String findingId, SearchHit[] hits, Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings) {
+        for (SearchHit hit: hits) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            if (!source.get("finding1").toString().equals(findingId)) {
+                Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
+
+                if (correlatedFindings.containsKey(findingKey1)) {
+                    double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
+                    Set<String> rules = correlatedFindings.get(findingKey1).getRight();
+                    rules.addAll((List<String>) source.get("corrRules"));
+
+                    correlatedFindings.put(findingKey1, Pair.of(score, rules));
+                } else {
+                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                    correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
+                }
+            }
+            if (!source.get("finding2").toString().equals(findingId)) {
+                Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
+
+                if (correlatedFindings.containsKey(findingKey2)) {
+                    double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
+                    Set<String> rules = correlatedFindings.get(findingKey2).getRight();
+                    rules.addAll((List<String>) source.get("corrRules"));
+
+                    correlatedFindings.put(findingKey2, Pair.of(score, rules));
+                } else {
+                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                    correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
+                }
+            }
+        }
+    }
+
+    static List<FindingWithScore> toFindingsWithScore(Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings) {
+        List<FindingWithScore> findingWithScores = new ArrayList<>();
+        for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
+            findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
+                    correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
+        }
+        return findingWithScores;
+    }
+
+    /**
+     * Search of the current scoreTimestamp of the correlation metadata index.
+     */
+    static SearchRequest getScoreTimestampSearchRequest() {
+        BoolQueryBuilder scoreQueryBuilder = QueryBuilders.boolQuery()
+                .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L));
+        SearchSourceBuilder scoreSearchSourceBuilder = new SearchSourceBuilder();
+        scoreSearchSourceBuilder.query(scoreQueryBuilder);
+        scoreSearchSourceBuilder.fetchSource(true);
+        scoreSearchSourceBuilder.size(1);
+        SearchRequest scoreSearchRequest = new SearchRequest();
+        scoreSearchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
+        scoreSearchRequest.source(scoreSearchSourceBuilder);
+        scoreSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return scoreSearchRequest;
+    }
+
     class AsyncSearchCorrelationAction {
         private CorrelatedFindingRequest request;
         private ActionListener<CorrelatedFindingResponse> listener;
@@ -100,13 +204,53 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
             this.response =new AtomicReference<>();
         }
 
-        @SuppressWarnings("unchecked")
         void start() {
+            // correlations still buffered on this node are made searchable first.
+            writeBuffer.awaitSearchable(ActionListener.wrap(response -> search(), this::onFailures));
+        }
+
+        private void search() {
             String findingId = request.getFindingId();
-            String detectorType = request.getDetectorType();
             long timeWindow = request.getTimeWindow();
             int noOfNearbyFindings = request.getNoOfNearbyFindings();
 
+            resolveFindingLevel(findingId, request.getDetectorType(), ActionListener.wrap(findingLevel -> {
+                if (findingLevel == null) {
+                    onOperation(new CorrelatedFindingResponse(List.of()));
+                    return;
+                }
+
+                resolveScoreTimestamp(ActionListener.wrap(scoreTimestamp -> {
+                    MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+                    mSearchRequest.add(getCorrelatedFindingsSearchRequest(findingLevel.getCounter(), findingLevel.getTimestamp(),
+                            scoreTimestamp, timeWindow, noOfNearbyFindings));
+
+                    client.multiSearch(mSearchRequest, ActionListener.wrap(items -> {
+                        Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
+                        for (MultiSearchResponse.Item response : items.getResponses()) {
+                            if (response.isFailure()) {
+                                log.info(response.getFailureMessage());
+                                continue;
+                            }
+                            collectCorrelatedFindings(findingId, response.getResponse().getHits().getHits(), correlatedFindings);
+                        }
+
+                        onOperation(new CorrelatedFindingResponse(toFindingsWithScore(correlatedFindings)));
+                    }, this::onFailures));
+                }, this::onFailures));
+            }, this::onFailures));
+        }
+
+        /**
+         * Resolves the timestamp & level of the finding, or null if the finding has no correlation history document yet.
+         */
+        private void resolveFindingLevel(String findingId, String detectorType, ActionListener<CorrelationLookupCache.FindingLevel> listener) {
+            CorrelationLookupCache.FindingLevel cached = lookupCache.getFindingLevel(findingId);
+            if (cached != null) {
+                listener.onResponse(cached);
+                return;
+            }
+
             MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery(
                     "_id", findingId
             );
@@ -120,163 +264,61 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
             searchRequest.source(searchSourceBuilder);
             searchRequest.preference(Preference.PRIMARY_FIRST.type());
 
-            client.search(searchRequest, new ActionListener<>() {
-                @Override
-                public void onResponse(SearchResponse response) {
-                    SearchHit hit = response.getHits().getAt(0);
-                    long findingTimestamp = hit.getFields().get("timestamp").<Long>getValue();
-
-                    BoolQueryBuilder scoreQueryBuilder = QueryBuilders.boolQuery()
-                            .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L));
-                    SearchSourceBuilder scoreSearchSourceBuilder = new SearchSourceBuilder();
-                    scoreSearchSourceBuilder.query(scoreQueryBuilder);
-                    scoreSearchSourceBuilder.fetchSource(true);
-                    scoreSearchSourceBuilder.size(1);
-                    SearchRequest scoreSearchRequest = new SearchRequest();
-                    scoreSearchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
-                    scoreSearchRequest.source(scoreSearchSourceBuilder);
-                    scoreSearchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                    client.search(scoreSearchRequest, new ActionListener<>() {
-                        @Override
-                        public void onResponse(SearchResponse response) {
-                            Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
-                            long scoreTimestamp = (long) hitSource.get("scoreTimestamp");
-
-                            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                    .must(QueryBuilders.matchQuery(
-                                            "finding1", findingId
-                                    )).must(QueryBuilders.matchQuery(
-                                            "finding2", ""
-                                    ));
-
-                            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                            searchSourceBuilder.query(queryBuilder);
-                            searchSourceBuilder.fetchSource(false);
-                            searchSourceBuilder.fetchField("counter");
-                            searchSourceBuilder.size(1);
-                            SearchRequest searchRequest = new SearchRequest();
-                            searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                            searchRequest.source(searchSourceBuilder);
-                            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                            client.search(searchRequest, new ActionListener<>() {
-                                @Override
-                                public void onResponse(SearchResponse response) {
-                                    MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-                                    SearchHit[] hits = response.getHits().getHits();
-
-                                    for (SearchHit hit: hits) {
-                                        long counter = hit.getFields().get("counter").<Long>getValue();
-                                        float[] query = new float[3];
-                                        for (int i = 0; i < 2; ++i) {
-                                            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
-                                        }
-                                        query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
-
-                                        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
-                                                .mustNot(QueryBuilders.matchQuery(
-                                                        "finding1", ""
-                                                )).mustNot(QueryBuilders.matchQuery(
-                                                        "finding2", ""
-                                                )).filter(QueryBuilders.rangeQuery("timestamp")
-                                                        .gte(findingTimestamp - timeWindow)
-                                                        .lte(findingTimestamp + timeWindow)));
-
-                                        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                        searchSourceBuilder.query(correlationQueryBuilder);
-                                        searchSourceBuilder.fetchSource(true);
-                                        searchSourceBuilder.size(noOfNearbyFindings);
-                                        SearchRequest searchRequest = new SearchRequest();
-                                        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                                        searchRequest.source(searchSourceBuilder);
-                                        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                                        mSearchRequest.add(searchRequest);
-                                    }
-
-                                    client.multiSearch(mSearchRequest, new ActionListener<>() {
-                                        @Override
-                                        public void onResponse(MultiSearchResponse items) {
-                                            MultiSearchResponse.Item[] responses = items.getResponses();
-                                            Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
-
-                                            for (MultiSearchResponse.Item response : responses) {
-                                                if (response.isFailure()) {
-                                                    log.info(response.getFailureMessage());
-                                                    continue;
-                                                }
-
-                                                SearchHit[] hits = response.getResponse().getHits().getHits();
-                                                for (SearchHit hit: hits) {
-                                                    Map<String, Object> source = hit.getSourceAsMap();
-                                                    if (!source.get("finding1").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
-
-                                                        if (correlatedFindings.containsKey(findingKey1)) {
-                                                            double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey1).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey1, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                    if (!source.get("finding2").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
-
-                                                        if (correlatedFindings.containsKey(findingKey2)) {
-                                                            double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey2).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey2, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                }
-                                            }
-
-                                            List<FindingWithScore> findingWithScores = new ArrayList<>();
-                                            for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
-                                                findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
-                                                        correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
-                                            }
-
-                                            onOperation(new CorrelatedFindingResponse(findingWithScores));
-                                        }
-
-                                        @Override
-                                        public void onFailure(Exception e) {
-                                            onFailures(e);
-                                        }
-                                    });
-                                }
-
-                                @Override
-                                public void onFailure(Exception e) {
-                                    onFailures(e);
-                                }
-                            });
-                        }
-
-                        @Override
-                        public void onFailure(Exception e) {
-                            onFailures(e);
-                        }
-                    });
+            client.search(searchRequest, ActionListener.wrap(response -> {
+                if (response.getHits().getHits().length == 0) {
+                    listener.onFailure(new OpenSearchStatusException(String.format(Locale.getDefault(), "Finding %s not found", findingId), RestStatus.NOT_FOUND));
+                    return;
                 }
+                SearchHit hit = response.getHits().getAt(0);
+                long findingTimestamp = hit.getFields().get("timestamp").<Long>getValue();
+
+                BoolQueryBuilder counterQueryBuilder = QueryBuilders.boolQuery()
+                        .must(QueryBuilders.matchQuery(
+                                "finding1", findingId
+                        )).must(QueryBuilders.matchQuery(
+                                "finding2", ""
+                        ));
+
+                SearchSourceBuilder counterSearchSourceBuilder = new SearchSourceBuilder();
+                counterSearchSourceBuilder.query(counterQueryBuilder);
+                counterSearchSourceBuilder.fetchSource(false);
+                counterSearchSourceBuilder.fetchField("counter");
+                counterSearchSourceBuilder.size(1);
+                SearchRequest counterSearchRequest = new SearchRequest();
+                counterSearchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+                counterSearchRequest.source(counterSearchSourceBuilder);
+                counterSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+                client.search(counterSearchRequest, ActionListener.wrap(counterResponse -> {
+                    SearchHit[] hits = counterResponse.getHits().getHits();
+                    if (hits.length == 0) {
+                        listener.onResponse(null);
+                        return;
+                    }
 
-                @Override
-                public void onFailure(Exception e) {
-                    onFailures(e);
-                }
-            });
+                    long counter = hits[0].getFields().get("counter").<Long>getValue();
+                    lookupCache.putFindingLevel(findingId, findingTimestamp, counter);
+                    listener.onResponse(new CorrelationLookupCache.FindingLevel(findingTimestamp, counter));
+                }, listener::onFailure));
+            }, listener::onFailure));
+        }
 
+        private void resolveScoreTimestamp(ActionListener<Long> listener) {
+            Long cached = lookupCache.getScoreTimestamp();
+            if (cached != null) {
+                listener.onResponse(cached);
+                return;
+            }
+
+            client.search(getScoreTimestampSearchRequest(), ActionListener.wrap(response -> {
+                if (response.getHits().getHits().length == 0) {
+                    listener.onFailure(new OpenSearchStatusException("Failed to find scoreTimestamp in correlation metadata index", RestStatus.NOT_FOUND));
+                    return;
+                }
+                long scoreTimestamp = (long) response.getHits().getHits()[0].getSourceAsMap().get("scoreTimestamp");
+                lookupCache.putScoreTimestamp(scoreTimestamp);
+                listener.onResponse(scoreTimestamp);
+            }, listener::onFailure));
         }
 
         private void onOperation(CorrelatedFindingResponse response) {
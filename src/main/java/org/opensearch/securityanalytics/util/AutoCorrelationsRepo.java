@@ -11,6 +11,7 @@ import org.opensearch.core.xcontent.MediaType;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,43 +21,129 @@ import java.util.Set;
 
 public class AutoCorrelationsRepo {
 
+    private static final String AUTO_CORRELATIONS_RESOURCE = "correlations/mitre_correlation.json";
+
+    private static volatile AutoCorrelations autoCorrelations;
+
     private static String autoCorrelations() throws IOException {
-        return new String(Objects.requireNonNull(AutoCorrelationsRepo.class.getClassLoader().getResourceAsStream("correlations/mitre_correlation.json")).readAllBytes(), Charset.defaultCharset());
+        return new String(Objects.requireNonNull(AutoCorrelationsRepo.class.getClassLoader().getResourceAsStream(AUTO_CORRELATIONS_RESOURCE)).readAllBytes(), Charset.defaultCharset());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Returns the parsed intrusion set -> mitre tags map. The underlying file is read and parsed only once per node,
+     * subsequent calls return the cached immutable snapshot.
+     */
     public static Map<String, Set<String>> autoCorrelationsAsMap() throws IOException {
+        return getAutoCorrelations().intrusionSetToTags;
+    }
+
+    /**
+     * Returns the intrusion sets which contain at least one of the given mitre tags.
+     */
+    public static Set<String> validIntrusionSets(Set<String> tags) throws IOException {
+        return getAutoCorrelations().validIntrusionSets(tags);
+    }
+
+    /**
+     * Returns the mitre tags a finding needs to carry at least one of to be auto correlated with a finding carrying the
+     * given tags, i.e. the given tags & all tags of the intrusion sets which contain one of them.
+     */
+    public static Set<String> correlatableTags(Set<String> tags) throws IOException {
+        AutoCorrelations current = getAutoCorrelations();
+        Set<String> correlatableTags = new HashSet<>(tags);
+        for (String intrusionSet: current.validIntrusionSets(tags)) {
+            correlatableTags.addAll(current.intrusionSetToTags.get(intrusionSet));
+        }
+        return correlatableTags;
+    }
+
+    public static Set<String> validIntrusionSets(Map<String, Set<String>> autoCorrelations, Set<String> tags) {
+        Set<String> intrusionSets = new HashSet<>();
+        for (Map.Entry<String, Set<String>> autoCorrelation: autoCorrelations.entrySet()) {
+            for (String tag: tags) {
+                if (autoCorrelation.getValue().contains(tag)) {
+                    intrusionSets.add(autoCorrelation.getKey());
+                }
+            }
+        }
+        return intrusionSets;
+    }
+
+    /**
+     * Re-reads the bundled auto correlations file and atomically swaps the cached snapshot.
+     */
+    public static void reload() throws IOException {
+        reload(autoCorrelations());
+    }
+
+    /**
+     * Atomically swaps the cached snapshot with the one parsed from the given json content, e.g. an override
+     * stored in an index.
+     */
+    public static synchronized void reload(String autoCorrelationsJson) throws IOException {
+        autoCorrelations = parse(autoCorrelationsJson);
+    }
+
+    private static AutoCorrelations getAutoCorrelations() throws IOException {
+        AutoCorrelations current = autoCorrelations;
+        if (current == null) {
+            synchronized (AutoCorrelationsRepo.class) {
+                current = autoCorrelations;
+                if (current == null) {
+                    current = parse(autoCorrelations());
+                    autoCorrelations = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AutoCorrelations parse(String autoCorrelationsJson) {
         MediaType contentType = XContentType.JSON;
         Map<String, Object> autoCorrelationData = XContentHelper.convertToMap(
                 contentType.xContent(),
-                autoCorrelations(),
+                autoCorrelationsJson,
                 false
         );
 
-        Map<String, Set<String>> autoCorrelations = new HashMap<>();
+        Map<String, Set<String>> intrusionSetToTags = new HashMap<>();
+        Map<String, Set<String>> tagToIntrusionSets = new HashMap<>();
         for (Map.Entry<String, Object> autoCorrelationDataEntry: autoCorrelationData.entrySet()) {
             String intrusionSet = autoCorrelationDataEntry.getKey();
             Set<String> tags = new HashSet<>();
             if (autoCorrelationDataEntry.getValue() instanceof ArrayList) {
                 List<Map<String, Object>> autoCorrelationTags = (List<Map<String, Object>>) autoCorrelationDataEntry.getValue();
                 for (Map<String, Object> autoCorrelationTag: autoCorrelationTags) {
-                    tags.add(autoCorrelationTag.get("mitreAttackId").toString());
+                    String tag = autoCorrelationTag.get("mitreAttackId").toString();
+                    tags.add(tag);
+                    tagToIntrusionSets.computeIfAbsent(tag, k -> new HashSet<>()).add(intrusionSet);
                 }
             }
-            autoCorrelations.put(intrusionSet, tags);
+            intrusionSetToTags.put(intrusionSet, Collections.unmodifiableSet(tags));
         }
-        return autoCorrelations;
+        tagToIntrusionSets.replaceAll((tag, intrusionSets) -> Collections.unmodifiableSet(intrusionSets));
+        return new AutoCorrelations(Collections.unmodifiableMap(intrusionSetToTags), Collections.unmodifiableMap(tagToIntrusionSets));
     }
 
-    public static Set<String> validIntrusionSets(Map<String, Set<String>> autoCorrelations, Set<String> tags) {
-        Set<String> intrusionSets = new HashSet<>();
-        for (Map.Entry<String, Set<String>> autoCorrelation: autoCorrelations.entrySet()) {
+    private static class AutoCorrelations {
+        private final Map<String, Set<String>> intrusionSetToTags;
+        private final Map<String, Set<String>> tagToIntrusionSets;
+
+        private AutoCorrelations(Map<String, Set<String>> intrusionSetToTags, Map<String, Set<String>> tagToIntrusionSets) {
+            this.intrusionSetToTags = intrusionSetToTags;
+            this.tagToIntrusionSets = tagToIntrusionSets;
+        }
+
+        private Set<String> validIntrusionSets(Set<String> tags) {
+            Set<String> intrusionSets = new HashSet<>();
             for (String tag: tags) {
-                if (autoCorrelation.getValue().contains(tag)) {
-                    intrusionSets.add(autoCorrelation.getKey());
+                Set<String> tagIntrusionSets = tagToIntrusionSets.get(tag);
+                if (tagIntrusionSets != null) {
+                    intrusionSets.addAll(tagIntrusionSets);
                 }
             }
+            return intrusionSets;
         }
-        return intrusionSets;
     }
-}
\ No newline at end of file
+}
@@ -21,6 +21,10 @@ import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.BulkByScrollResponse;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -38,6 +42,8 @@ public class CorrelationIndices {
     public static final String CORRELATION_HISTORY_WRITE_INDEX = ".opensearch-sap-correlation-history-write";
 
     public static final String CORRELATION_ALERT_INDEX = ".opensearch-sap-correlation-alerts";
+
+    public static final String CORRELATION_GRAPH_INDEX = ".opensearch-sap-correlation-graph";
     public static final long FIXED_HISTORICAL_INTERVAL = 24L * 60L * 60L * 20L * 1000L;
 
     private final Client client;
@@ -91,6 +97,11 @@ public class CorrelationIndices {
         return clusterState.metadata().hasIndex(CORRELATION_ALERT_INDEX);
     }
 
+    public boolean correlationGraphIndexExists() {
+        ClusterState clusterState = clusterService.state();
+        return clusterState.metadata().hasIndex(CORRELATION_GRAPH_INDEX);
+    }
+
     public void setupCorrelationIndex(TimeValue indexTimeout, Long setupTimestamp, ActionListener<BulkResponse> listener) throws IOException {
         try {
             long currentTimestamp = System.currentTimeMillis();
@@ -122,14 +133,29 @@ public class CorrelationIndices {
             bulkRequest.add(scoreIndexRequest);
             bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
 
-
-            client.bulk(bulkRequest, listener);
+            // edges of the previous correlation history must not outlive it.
+            clearCorrelationGraph(ActionListener.wrap(response -> client.bulk(bulkRequest, listener), listener::onFailure));
         } catch (IOException ex) {
             log.error(ex);
             throw ex;
         }
     }
 
+    /**
+     * Deletes all documents of the correlation graph, if it exists.
+     */
+    public void clearCorrelationGraph(ActionListener<BulkByScrollResponse> listener) {
+        if (!correlationGraphIndexExists()) {
+            listener.onResponse(null);
+            return;
+        }
+        new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
+                .source(CORRELATION_GRAPH_INDEX)
+                .filter(QueryBuilders.matchAllQuery())
+                .refresh(true)
+                .execute(listener);
+    }
+
     public static String correlationAlertIndexMappings() throws IOException {
         return new String(Objects.requireNonNull(CorrelationIndices.class.getClassLoader().getResourceAsStream("mappings/correlation_alert_mapping.json")).readAllBytes(), Charset.defaultCharset());
     }
@@ -142,4 +168,15 @@ public class CorrelationIndices {
                 .settings(correlationAlertSettings);
         client.admin().indices().create(indexRequest, actionListener);
     }
-}
\ No newline at end of file
+
+    public static String correlationGraphMappings() throws IOException {
+        return new String(Objects.requireNonNull(CorrelationIndices.class.getClassLoader().getResourceAsStream("mappings/correlation_graph.json")).readAllBytes(), Charset.defaultCharset());
+    }
+
+    public void initCorrelationGraphIndex(ActionListener<CreateIndexResponse> actionListener) throws IOException {
+        CreateIndexRequest indexRequest = new CreateIndexRequest(CORRELATION_GRAPH_INDEX)
+                .mapping(correlationGraphMappings())
+                .settings(Settings.builder().put("index.hidden", true).build());
+        client.admin().indices().create(indexRequest, actionListener);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.CheckedConsumer;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams all hits of a search in pages of bounded size instead of fetching them with a single search.
+ *
+ * The first page is fetched with a plain search sorted on the given unique sort field. Only if it is full, a point in
+ * time is opened on the searched indices and the remaining hits are streamed through it using search_after, starting
+ * after the last hit of the first page.
+ */
+public class PagedSearch {
+
+    private static final Logger log = LogManager.getLogger(PagedSearch.class);
+
+    private static final TimeValue PIT_KEEP_ALIVE = TimeValue.timeValueMinutes(1L);
+
+    public interface PageConsumer {
+        void accept(int requestIdx, SearchHit[] hits) throws Exception;
+    }
+
+    /**
+     * Runs all searches concurrently. The listener receives the failure of every search, or null if it succeeded.
+     */
+    public static void searchAll(Client client, List<SearchRequest> requests, String sortField, int pageSize,
+                                 PageConsumer consumer, ActionListener<Exception[]> listener) {
+        Exception[] failures = new Exception[requests.size()];
+        if (requests.isEmpty()) {
+            listener.onResponse(failures);
+            return;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(requests.size());
+        for (int idx = 0; idx < requests.size(); ++idx) {
+            int requestIdx = idx;
+            search(client, requests.get(idx), sortField, pageSize, hits -> consumer.accept(requestIdx, hits), new ActionListener<>() {
+                @Override
+                public void onResponse(Void response) {
+                    onDone();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    failures[requestIdx] = e;
+                    onDone();
+                }
+
+                private void onDone() {
+                    if (remaining.decrementAndGet() == 0) {
+                        listener.onResponse(failures);
+                    }
+                }
+            });
+        }
+    }
+
+    public static void search(Client client, SearchRequest request, String sortField, int pageSize,
+                              CheckedConsumer<SearchHit[], Exception> consumer, ActionListener<Void> listener) {
+        SearchSourceBuilder source = request.source();
+        source.size(pageSize);
+        source.sort(SortBuilders.fieldSort(sortField).order(SortOrder.ASC));
+
+        client.search(request, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            consumer.accept(hits);
+            if (hits.length < pageSize) {
+                listener.onResponse(null);
+                return;
+            }
+
+            // the hits do not fit into one page, stream the remaining ones through a point in time.
+            CreatePitRequest pitRequest = new CreatePitRequest(PIT_KEEP_ALIVE, false, request.indices());
+            pitRequest.setIndicesOptions(request.indicesOptions());
+            client.createPit(pitRequest, ActionListener.wrap(pitResponse -> {
+                String pitId = pitResponse.getId();
+                searchPage(client, request, pitId, hits[hits.length - 1].getSortValues(), pageSize, consumer,
+                        ActionListener.runAfter(listener, () -> deletePit(client, pitId)));
+            }, listener::onFailure));
+        }, listener::onFailure));
+    }
+
+    private static void searchPage(Client client, SearchRequest template, String pitId, Object[] searchAfter, int pageSize,
+                                   CheckedConsumer<SearchHit[], Exception> consumer, ActionListener<Void> listener) {
+        SearchSourceBuilder source = template.source().shallowCopy()
+                .size(pageSize)
+                .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(PIT_KEEP_ALIVE))
+                .searchAfter(searchAfter);
+
+        // the indices are implied by the point in time.
+        SearchRequest request = new SearchRequest().source(source);
+        request.preference(template.preference());
+        request.setCancelAfterTimeInterval(TimeValue.timeValueSeconds(30L));
+        client.search(request, ActionListener.wrap(response -> {
+            SearchHit[] hits = response.getHits().getHits();
+            consumer.accept(hits);
+            if (hits.length < pageSize) {
+                listener.onResponse(null);
+            } else {
+                searchPage(client, template, pitId, hits[hits.length - 1].getSortValues(), pageSize, consumer, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    private static void deletePit(Client client, String pitId) {
+        client.deletePits(new DeletePitRequest(pitId), ActionListener.wrap(
+                response -> {},
+                e -> log.debug("Failed to delete point in time {}", pitId, e)
+        ));
+    }
+}
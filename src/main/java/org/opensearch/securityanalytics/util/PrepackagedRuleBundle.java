@@ -0,0 +1,151 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bundle of the pre-packaged rules compiled at build time, so importing them is reduced to streaming ready-to-index
+ * rule documents into bulk requests.
+ *
+ * The bundle is NDJSON starting with a line holding the {@link #BUNDLE_VERSION} it was written with, followed by two
+ * lines per rule: a header with the id & category of the rule, then the rule document as indexed into
+ * {@link Rule#PRE_PACKAGED_RULES_INDEX}. Categories are written in {@link RuleIndices#importOrder} & rule files in
+ * {@link RuleIndices#ruleFiles} order, the same order rules are compiled in when the bundle is missing, so the last of
+ * the rules duplicated across categories wins on both paths.
+ */
+public class PrepackagedRuleBundle {
+
+    private static final Logger log = LogManager.getLogger(PrepackagedRuleBundle.class);
+
+    public static final String BUNDLE_RESOURCE = "rules_bundle/prepackaged_rules.ndjson";
+
+    /**
+     * Version of the bundle format, to be increased on any change of the bundle lines or the rule documents.
+     */
+    public static final int BUNDLE_VERSION = 1;
+
+    private static final String BUNDLE_VERSION_FIELD = "bundle_version";
+
+    private static final String ID_FIELD = "id";
+    private static final String CATEGORY_FIELD = "category";
+
+    /**
+     * Compiles the rules directory given as first argument into the bundle file given as second argument.
+     */
+    public static void main(String[] args) throws IOException, SigmaError {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: PrepackagedRuleBundle <rules dir> <bundle file>");
+        }
+        Path bundle = Path.of(args[1]);
+        Files.createDirectories(bundle.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(bundle, StandardCharsets.UTF_8)) {
+            int count = writeRules(Path.of(args[0]), new BuiltinLogTypeLoader(), writer);
+            log.info(String.format(Locale.ROOT, "Compiled %d pre-packaged rules into %s", count, bundle));
+        }
+    }
+
+    /**
+     * Compiles the rules of all categories of the rules directory with the field mappings of the builtin log types &
+     * writes them to the bundle. Categories without a builtin log type are skipped, as they are never imported.
+     *
+     * @return the number of rules written
+     */
+    public static int writeRules(Path rulesDir, BuiltinLogTypeLoader logTypeLoader, Writer writer) throws IOException, SigmaError {
+        List<String> categories;
+        try (Stream<Path> dirs = Files.list(rulesDir)) {
+            categories = dirs.filter(Files::isDirectory).map(dir -> dir.getFileName().toString()).collect(Collectors.toList());
+        }
+
+        int count = 0;
+        BufferedWriter out = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        XContentBuilder version = XContentFactory.jsonBuilder().startObject().field(BUNDLE_VERSION_FIELD, BUNDLE_VERSION).endObject();
+        out.write(BytesReference.bytes(version).utf8ToString());
+        out.write('\n');
+        for (String category: RuleIndices.importOrder(categories)) {
+            if (!logTypeLoader.logTypeExists(category)) {
+                continue;
+            }
+            Map<String, String> fieldMappings = LogTypeService.getRuleFieldMappings(logTypeLoader.getLogTypeByName(category));
+
+            for (Path ruleFile: RuleIndices.ruleFiles(rulesDir.resolve(category))) {
+                String ruleStr = Files.readString(ruleFile, StandardCharsets.UTF_8);
+                Rule rule = RuleIndices.compileRule(new OSQueryBackend(fieldMappings, true, true), category, ruleStr);
+
+                XContentBuilder header = XContentFactory.jsonBuilder().startObject()
+                        .field(ID_FIELD, rule.getId())
+                        .field(CATEGORY_FIELD, category)
+                        .endObject();
+                XContentBuilder source = rule.toXContent(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true")));
+                out.write(BytesReference.bytes(header).utf8ToString());
+                out.write('\n');
+                out.write(BytesReference.bytes(source).utf8ToString());
+                out.write('\n');
+                ++count;
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Streams the id & document of the bundled rules of the given categories, in bundle order.
+     *
+     * @return false without streaming any rule if the bundle was not written with {@link #BUNDLE_VERSION}
+     */
+    public static boolean readRules(InputStream in, Set<String> categories, BiConsumer<String, BytesReference> consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String version = reader.readLine();
+        if (version == null || !Integer.valueOf(BUNDLE_VERSION).equals(
+                XContentHelper.convertToMap(JsonXContent.jsonXContent, version, false).get(BUNDLE_VERSION_FIELD))) {
+            return false;
+        }
+        String header;
+        while ((header = reader.readLine()) != null) {
+            if (header.isEmpty()) {
+                continue;
+            }
+            String source = reader.readLine();
+            if (source == null) {
+                throw new IOException("Pre-packaged rule bundle is truncated");
+            }
+            Map<String, Object> headerMap = XContentHelper.convertToMap(JsonXContent.jsonXContent, header, false);
+            if (categories.contains(headerMap.get(CATEGORY_FIELD).toString())) {
+                consumer.accept(headerMap.get(ID_FIELD).toString(), new BytesArray(source));
+            }
+        }
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkItemResponse;
@@ -16,6 +17,7 @@ import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
@@ -25,9 +27,12 @@ import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.hash.MessageDigests;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
@@ -46,14 +51,20 @@ import org.opensearch.securityanalytics.rules.backend.QueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.threadpool.ThreadPool;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -71,11 +82,20 @@ public class RuleIndices {
 
     private final LogTypeService logTypeService;
 
+    /**
+     * pre-packaged rules compiled by the last import, keyed by the hash of their category, field mappings & yaml.
+     */
+    private volatile Map<String, Rule> compiledRules = Map.of();
+
+    private volatile int compilationParallelism;
+
     public RuleIndices(LogTypeService logTypeService, Client client, ClusterService clusterService, ThreadPool threadPool) {
         this.client = client;
         this.clusterService = clusterService;
         this.threadPool = threadPool;
         this.logTypeService = logTypeService;
+        this.compilationParallelism = SecurityAnalyticsSettings.RULE_COMPILATION_PARALLELISM.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_COMPILATION_PARALLELISM, it -> compilationParallelism = it);
     }
 
     public static String ruleMappings() throws IOException {
@@ -188,20 +208,41 @@ public class RuleIndices {
         }
     }
 
+    /**
+     * Imports the pre-packaged rules, streaming them from the bundle compiled at build time.
+     */
     public void importRules(WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
-        try {
-            final String url = Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI().toString();
+        importRules(PrepackagedRuleBundle.BUNDLE_RESOURCE, refreshPolicy, indexTimeout, listener);
+    }
 
-            if (url.contains("!")) {
-                final String[] paths = url.split("!");
-                loadQueries(paths, refreshPolicy, indexTimeout, listener);
-            } else {
-                Path path = Path.of(url);
-                loadQueries(path, refreshPolicy, indexTimeout, listener);
+    /**
+     * Imports the pre-packaged rules of the given bundle resource. The rule resources are only compiled here when the
+     * bundle is missing, i.e. the plugin runs from its sources without the bundle build step, or when it was written in
+     * another format than {@link PrepackagedRuleBundle#BUNDLE_VERSION}.
+     */
+    void importRules(String bundleResource, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        getLogTypeNames(ActionListener.wrap(logTypeNames -> {
+            BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(refreshPolicy).timeout(indexTimeout);
+            boolean bundled;
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(bundleResource)) {
+                bundled = in != null && PrepackagedRuleBundle.readRules(in, logTypeNames, (id, source) -> bulkRequest.add(
+                        new IndexRequest(Rule.PRE_PACKAGED_RULES_INDEX)
+                                .id(id)
+                                .source(source, XContentType.JSON)
+                                .timeout(indexTimeout)
+                ));
             }
-        } catch (URISyntaxException | IOException | SigmaError ex) {
-            log.info(ex.getMessage());
-        }
+            if (!bundled) {
+                log.info("Pre-packaged rule bundle {} is missing or incompatible, compiling the rule resources", bundleResource);
+                ingestQueries(readRuleResources(logTypeNames), refreshPolicy, indexTimeout, listener);
+                return;
+            }
+            if (bulkRequest.requests().isEmpty()) {
+                listener.onResponse(new BulkResponse(new BulkItemResponse[]{}, 1));
+                return;
+            }
+            client.bulk(bulkRequest, listener);
+        }, listener::onFailure));
     }
 
     public void deleteRules(ActionListener<BulkByScrollResponse> listener) {
@@ -236,84 +277,155 @@ public class RuleIndices {
         client.search(searchRequest, listener);
     }
 
-    private List<String> getRules(List<Path> listOfRules) {
-        List<String> rules = new ArrayList<>();
+    /**
+     * Reads the rule resources of the given categories, keyed by category.
+     */
+    private Map<String, List<String>> readRuleResources(Set<String> categories) throws URISyntaxException, IOException {
+        final URI uri = Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI();
+        final String url = uri.toString();
+        Path path = url.contains("!") ? FileUtils.getFs().getPath(url.split("!")[1]) : Path.of(uri);
 
-        listOfRules.forEach(path -> {
-            try {
-                if (Files.isDirectory(path)) {
-                    rules.addAll(getRules(Files.list(path).collect(Collectors.toList())));
-                } else {
-                    rules.add(Files.readString(path, Charset.defaultCharset()));
+        Map<String, List<String>> logIndexToRules = new HashMap<>();
+        try (Stream<Path> folder = Files.list(path)) {
+            for (Path folderPath: folder.collect(Collectors.toList())) {
+                String ruleCategory = folderPath.getFileName().toString();
+                if (!Files.isDirectory(folderPath) || !categories.contains(ruleCategory)) {
+                    continue;
+                }
+                List<String> rules = new ArrayList<>();
+                for (Path ruleFile: ruleFiles(folderPath)) {
+                    rules.add(Files.readString(ruleFile, StandardCharsets.UTF_8));
                 }
-            } catch (IOException ex) {
-                // suppress with log
-                log.warn("rules cannot be parsed");
+                logIndexToRules.put(ruleCategory, rules);
             }
-        });
-        return rules;
+        }
+        return logIndexToRules;
     }
 
-    private void loadQueries(Path path, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException, SigmaError {
-        Stream<Path> folder = Files.list(path);
-        List<Path> folderPaths = folder.collect(Collectors.toList());
-        Map<String, List<String>> logIndexToRules = new HashMap<>();
+    /**
+     * Orders rule categories the way they are imported: sorted by name, with others_cloud first.
+     */
+    static List<String> importOrder(Collection<String> categories) {
+        List<String> ordered = new ArrayList<>(new TreeSet<>(categories));
+        // Moving others_cloud to the top so those queries are indexed first and can be overwritten if other categories
+        // contain the same rules. Tracking issue: https://github.com/opensearch-project/security-analytics/issues/630
+        if (ordered.remove("others_cloud")) {
+            ordered.add(0, "others_cloud");
+        }
+        return ordered;
+    }
 
-        for (Path folderPath: folderPaths) {
-            List<String> rules = getRules(List.of(folderPath));
-            String ruleCategory = getRuleCategory(folderPath);
-            logIndexToRules.put(ruleCategory, rules);
+    /**
+     * Lists the rule files of a category directory in the order they are imported, sorted by path.
+     */
+    static List<Path> ruleFiles(Path categoryDir) throws IOException {
+        try (Stream<Path> files = Files.walk(categoryDir)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
         }
-        checkLogTypes(logIndexToRules, refreshPolicy, indexTimeout, listener);
     }
 
-    private String getRuleCategory(Path folderPath) {
-        return folderPath.getFileName().toString();
+    /**
+     * Compiles the rules of all categories and bulk loads them in category order.
+     */
+    private void ingestQueries(Map<String, List<String>> logIndexToRules, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        compileRules(logIndexToRules, ActionListener.wrap(
+                queries -> loadRules(queries, refreshPolicy, indexTimeout, listener, true),
+                listener::onFailure
+        ));
     }
 
-    private void ingestQueries(Map<String, List<String>> logIndexToRules, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws SigmaError, IOException, CompositeSigmaErrors {
-        List<Rule> queries = new ArrayList<>();
+    /**
+     * Compiles the rules of all categories on the generic thread pool in at most
+     * {@link SecurityAnalyticsSettings#RULE_COMPILATION_PARALLELISM} tasks, in {@link #importOrder}. Rules compiled by
+     * a previous import with the same content & field mappings are taken from the cache.
+     */
+    void compileRules(Map<String, List<String>> logIndexToRules, ActionListener<List<Rule>> listener) {
+        List<RuleResource> resources = new ArrayList<>();
+        for (String category: importOrder(logIndexToRules.keySet())) {
+            Map<String, String> fieldMappings = logTypeService.getRuleFieldMappingsForBuiltinLogType(category);
+            String mappingsHash = contentHash(fieldMappings != null ? new TreeMap<>(fieldMappings).toString() : "");
+            for (String ruleStr: logIndexToRules.get(category)) {
+                resources.add(new RuleResource(category, fieldMappings, mappingsHash, ruleStr));
+            }
+        }
+        if (resources.isEmpty()) {
+            listener.onResponse(List.of());
+            return;
+        }
 
-        // Moving others_cloud to the top so those queries are indexed first and can be overwritten if other categories
-        // contain the same rules. Tracking issue: https://github.com/opensearch-project/security-analytics/issues/630
-        List<String> categories = new ArrayList<>(logIndexToRules.keySet());
-        if (categories.remove("others_cloud")) {
-            categories.add(0, "others_cloud");
+        Map<String, Rule> rulesCache = compiledRules;
+        Map<String, Rule> usedRules = new ConcurrentHashMap<>();
+        Rule[] queries = new Rule[resources.size()];
+        int tasks = Math.min(compilationParallelism(), resources.size());
+        GroupedActionListener<Void> compiledListener = new GroupedActionListener<>(ActionListener.wrap(compiled -> {
+            // only the rules of this import are kept, so rules removed from the resources do not stay cached.
+            compiledRules = usedRules;
+            listener.onResponse(Arrays.asList(queries));
+        }, listener::onFailure), tasks);
+
+        ExecutorService executor = threadPool.executor(ThreadPool.Names.GENERIC);
+        for (int task = 0; task < tasks; ++task) {
+            int firstIdx = task;
+            executor.execute(ActionRunnable.run(compiledListener, () -> {
+                for (int idx = firstIdx; idx < resources.size(); idx += tasks) {
+                    queries[idx] = getQuery(resources.get(idx), rulesCache, usedRules);
+                }
+            }));
         }
-        for (String category: categories) {
-            Map<String, String> fieldMappings = logTypeService.getRuleFieldMappingsForBuiltinLogType(category);
-            final QueryBackend backend = new OSQueryBackend(fieldMappings, true, true);
-            queries.addAll(getQueries(backend, category, logIndexToRules.get(category)));
+    }
+
+    private int compilationParallelism() {
+        int parallelism = compilationParallelism;
+        return parallelism > 0 ? parallelism : OpenSearchExecutors.allocatedProcessors(clusterService.getSettings());
+    }
+
+    private static Rule getQuery(RuleResource resource, Map<String, Rule> rulesCache, Map<String, Rule> usedRules) throws SigmaError {
+        String key = contentHash(resource.category + "\n" + resource.mappingsHash + "\n" + resource.ruleStr);
+        Rule ruleModel = rulesCache.get(key);
+        if (ruleModel == null) {
+            ruleModel = compileRule(new OSQueryBackend(resource.fieldMappings, true, true), resource.category, resource.ruleStr);
         }
-        loadRules(queries, refreshPolicy, indexTimeout, listener, true);
+        usedRules.put(key, ruleModel);
+        return ruleModel;
+    }
+
+    static Rule compileRule(QueryBackend backend, String category, String ruleStr) throws SigmaError, CompositeSigmaErrors {
+        SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
+        // TODO: Check if there are cx errors from the rule created and throw errors
+        backend.resetQueryFields();
+        List<Object> ruleQueries = backend.convertRule(rule);
+        Set<String> queryFieldNames = backend.getQueryFields().keySet();
+
+        return new Rule(
+                rule.getId().toString(), NO_VERSION, rule, category,
+                ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
+                new ArrayList<>(queryFieldNames),
+                ruleStr
+        );
     }
 
-    private void loadQueries(String[] paths, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException, SigmaError {
-        Path path = FileUtils.getFs().getPath(paths[1]);
-        loadQueries(path, refreshPolicy, indexTimeout, listener);
+    private static String contentHash(String content) {
+        return MessageDigests.toHexString(MessageDigests.sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
     }
 
-    private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules) throws SigmaError, CompositeSigmaErrors {
-        List<Rule> queries = new ArrayList<>();
-        for (String ruleStr: rules) {
-            SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
-            // TODO: Check if there are cx errors from the rule created and throw errors
-            backend.resetQueryFields();
-            List<Object> ruleQueries = backend.convertRule(rule);
-            Set<String> queryFieldNames = backend.getQueryFields().keySet();
-
-            Rule ruleModel = new Rule(
-                    rule.getId().toString(), NO_VERSION, rule, category,
-                    ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
-                    new ArrayList<>(queryFieldNames),
-                    ruleStr
-            );
-            queries.add(ruleModel);
+    /**
+     * A rule yaml of a category to compile, with the field mappings of the category.
+     */
+    private static class RuleResource {
+        private final String category;
+        private final Map<String, String> fieldMappings;
+        private final String mappingsHash;
+        private final String ruleStr;
+
+        private RuleResource(String category, Map<String, String> fieldMappings, String mappingsHash, String ruleStr) {
+            this.category = category;
+            this.fieldMappings = fieldMappings;
+            this.mappingsHash = mappingsHash;
+            this.ruleStr = ruleStr;
         }
-        return queries;
     }
 
-    private void checkLogTypes(Map<String, List<String>> logIndexToRules, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+    private void getLogTypeNames(ActionListener<Set<String>> listener) {
         logTypeService.ensureConfigIndexIsInitialized(new ActionListener<>() {
             @Override
             public void onResponse(Void unused) {
@@ -332,21 +444,13 @@ public class RuleIndices {
                     public void onResponse(SearchResponse response) {
                         if (response.isTimedOut()) {
                             listener.onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                            return;
                         }
-                        try {
-                            SearchHit[] hits = response.getHits().getHits();
-                            Map<String, List<String>> filteredLogIndexToRules = new HashMap<>();
-                            for (SearchHit hit : hits) {
-                                String name = hit.getSourceAsMap().get("name").toString();
-
-                                if (logIndexToRules.containsKey(name)) {
-                                    filteredLogIndexToRules.put(name, logIndexToRules.get(name));
-                                }
-                            }
-                            ingestQueries(filteredLogIndexToRules, refreshPolicy, indexTimeout, listener);
-                        } catch (SigmaError | IOException | CompositeSigmaErrors e) {
-                            onFailure(e);
+                        Set<String> logTypeNames = new HashSet<>();
+                        for (SearchHit hit : response.getHits().getHits()) {
+                            logTypeNames.add(hit.getSourceAsMap().get("name").toString());
                         }
+                        listener.onResponse(logTypeNames);
                     }
 
                     @Override
@@ -362,4 +466,4 @@ public class RuleIndices {
             }
         });
     }
-}
\ No newline at end of file
+}
@@ -13,10 +13,13 @@ import java.util.concurrent.ExecutionException;
 import org.junit.Before;
 import org.opensearch.action.admin.indices.refresh.RefreshRequest;
 import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.plugins.Plugin;
 import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.logtype.LogTypeSnapshot;
 import org.opensearch.securityanalytics.model.FieldMappingDoc;
 import org.opensearch.securityanalytics.model.LogType;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
@@ -32,6 +35,7 @@ public class LogTypeServiceTests extends OpenSearchIntegTestCase {
 
     private LogTypeService logTypeService;
 
+    private BuiltinLogTypeLoader builtinLogTypeLoader;
 
     @Override
     protected Collection<Class<? extends Plugin>> nodePlugins() {
@@ -41,7 +45,7 @@ public class LogTypeServiceTests extends OpenSearchIntegTestCase {
     @Before
     protected void beforeTest() throws Exception {
         if (logTypeService == null) {
-            BuiltinLogTypeLoader builtinLogTypeLoader = mock(BuiltinLogTypeLoader.class);
+            builtinLogTypeLoader = mock(BuiltinLogTypeLoader.class);
             doNothing().when(builtinLogTypeLoader).ensureLogTypesLoaded();
 
             List<LogType> dummyLogTypes = List.of(
@@ -107,6 +111,57 @@ public class LogTypeServiceTests extends OpenSearchIntegTestCase {
 
     }
 
+    public void testLogTypeSnapshotIsReloadedAfterWrites() {
+        ensureGreen();
+
+        indexFieldMappings(List.of(
+                new FieldMappingDoc("fld1", Map.of("ecs", "ecs_fld1", "ocsf", "ocsf_fld1"), Set.of("windows"))
+        ));
+
+        LogTypeSnapshot snapshot = getLogTypeSnapshot();
+        assertSame(snapshot, getLogTypeSnapshot());
+        assertEquals(1, snapshot.getFieldMappings(List.of("windows")).size());
+
+        indexFieldMappings(List.of(
+                new FieldMappingDoc("fld2", Map.of("ecs", "ecs_fld2", "ocsf", "ocsf_fld2"), Set.of("windows"))
+        ));
+
+        LogTypeSnapshot reloaded = getLogTypeSnapshot();
+        assertNotSame(snapshot, reloaded);
+        assertTrue(reloaded.getVersion() > snapshot.getVersion());
+        assertEquals(2, reloaded.getFieldMappings(List.of("windows")).size());
+    }
+
+    public void testLogTypeSnapshotExpiresOnNodesWithoutConfigIndexCopy() throws Exception {
+        ensureGreen();
+
+        String coordinatingNode = internalCluster().startCoordinatingOnlyNode(Settings.EMPTY);
+        LogTypeService coordinatingLogTypeService = new LogTypeService(internalCluster().client(coordinatingNode),
+                internalCluster().getInstance(ClusterService.class, coordinatingNode), xContentRegistry(), builtinLogTypeLoader);
+        client().admin().cluster().prepareUpdateSettings().setTransientSettings(
+                Settings.builder().put(SecurityAnalyticsSettings.LOG_TYPE_SNAPSHOT_TTL.getKey(), "1s")).get();
+        try {
+            indexFieldMappings(List.of(
+                    new FieldMappingDoc("fld1", Map.of("ecs", "ecs_fld1", "ocsf", "ocsf_fld1"), Set.of("macos"))
+            ));
+            assertEquals(1, getLogTypeSnapshot(coordinatingLogTypeService).getFieldMappings(List.of("macos")).size());
+
+            // written through another node, the coordinating node has no indexing listener seeing the write.
+            indexFieldMappings(List.of(
+                    new FieldMappingDoc("fld2", Map.of("ecs", "ecs_fld2", "ocsf", "ocsf_fld2"), Set.of("macos"))
+            ));
+            assertBusy(() -> assertEquals(2, getLogTypeSnapshot(coordinatingLogTypeService).getFieldMappings(List.of("macos")).size()));
+
+            // nodes holding a copy of the config index keep their snapshot until it is invalidated.
+            LogTypeSnapshot snapshot = getLogTypeSnapshot();
+            Thread.sleep(1100L);
+            assertSame(snapshot, getLogTypeSnapshot());
+        } finally {
+            client().admin().cluster().prepareUpdateSettings().setTransientSettings(
+                    Settings.builder().putNull(SecurityAnalyticsSettings.LOG_TYPE_SNAPSHOT_TTL.getKey())).get();
+        }
+    }
+
     public void testSetLogTypeMappingSchema() {
         int expectedVersion = 2;
         int version = logTypeService.logTypeMappingVersion;
@@ -135,6 +190,21 @@ public class LogTypeServiceTests extends OpenSearchIntegTestCase {
         return null;
     }
 
+    private LogTypeSnapshot getLogTypeSnapshot() {
+        return getLogTypeSnapshot(logTypeService);
+    }
+
+    private LogTypeSnapshot getLogTypeSnapshot(LogTypeService service) {
+        PlainActionFuture<LogTypeSnapshot> future = new PlainActionFuture<>();
+        service.getLogTypeSnapshot(future);
+        try {
+            return future.get();
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+        return null;
+    }
+
     private List<String> getAllLogTypes() {
         PlainActionFuture<List<String>> getAllLogTypesFuture = new PlainActionFuture<>();
         logTypeService.getAllLogTypes(getAllLogTypesFuture);
@@ -149,7 +219,7 @@ public class LogTypeServiceTests extends OpenSearchIntegTestCase {
     public static class TestPlugin extends Plugin {
         @Override
         public List<Setting<?>> getSettings() {
-            return Arrays.asList(SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA);
+            return Arrays.asList(SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA, SecurityAnalyticsSettings.LOG_TYPE_SNAPSHOT_TTL);
         }
     }
 
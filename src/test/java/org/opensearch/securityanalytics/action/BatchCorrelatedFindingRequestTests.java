@@ -0,0 +1,45 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchCorrelatedFindingRequestTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        BatchCorrelatedFindingRequest req = new BatchCorrelatedFindingRequest(List.of("f1", "f2"), "windows", 300000L, 10);
+        req.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        BatchCorrelatedFindingRequest newReq = new BatchCorrelatedFindingRequest(sin);
+
+        assertEquals(List.of("f1", "f2"), newReq.getFindingIds());
+        assertEquals("windows", newReq.getDetectorType());
+        assertEquals(300000L, newReq.getTimeWindow());
+        assertEquals(10, newReq.getNoOfNearbyFindings());
+    }
+
+    public void testValidate() {
+        assertNull(new BatchCorrelatedFindingRequest(List.of("f1"), "windows", 300000L, 10).validate());
+
+        ActionRequestValidationException validate = new BatchCorrelatedFindingRequest(Collections.emptyList(), "windows", 300000L, 10).validate();
+        assertTrue(validate.getMessage().contains("finding ids list cannot be empty"));
+
+        validate = new BatchCorrelatedFindingRequest(List.of("f1"), null, 300000L, 10).validate();
+        assertTrue(validate.getMessage().contains("detector type is missing"));
+
+        validate = new BatchCorrelatedFindingRequest(Collections.nCopies(BatchCorrelatedFindingRequest.MAX_FINDINGS + 1, "f1"), "windows", 300000L, 10).validate();
+        assertTrue(validate.getMessage().contains("cannot correlate more than"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryStringQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+public class CompiledCorrelationRuleTests extends OpenSearchTestCase {
+
+    private static CompiledCorrelationRule compile() {
+        return CompiledCorrelationRule.compile(new CorrelationRule(CorrelationRule.NO_ID, CorrelationRule.NO_VERSION, "s3 to app logs",
+                List.of(
+                        new CorrelationQuery("s3_access_logs", "aws.cloudtrail.eventName:ReplicateObject", "s3", "aws.cloudtrail.eventSource"),
+                        new CorrelationQuery("app_logs", "keywords:PermissionDenied", "others_application", null)
+                ), 300000L, null));
+    }
+
+    public void testQueriesAreIndexedByCategory() {
+        CompiledCorrelationRule rule = compile();
+
+        assertEquals(2, rule.getQueries().size());
+        assertEquals("s3_access_logs", rule.getQuery("s3").getQuery().getIndex());
+        assertEquals("app_logs", rule.getQuery("others_application").getQuery().getIndex());
+        assertNull(rule.getQuery("windows"));
+    }
+
+    public void testBindDocIds() {
+        CompiledCorrelationRule rule = compile();
+
+        BoolQueryBuilder withField = (BoolQueryBuilder) rule.getQuery("s3").bindDocIds(List.of("1", "2"));
+        assertEquals(List.of("1", "2"), ((TermsQueryBuilder) withField.filter().get(0)).values());
+        assertEquals("aws.cloudtrail.eventSource", ((ExistsQueryBuilder) withField.must().get(0)).fieldName());
+
+        BoolQueryBuilder withoutField = (BoolQueryBuilder) rule.getQuery("others_application").bindDocIds(List.of("3"));
+        assertEquals("keywords:PermissionDenied", ((QueryStringQueryBuilder) withoutField.must().get(0)).queryString());
+    }
+
+    public void testBindFieldValues() {
+        CompiledCorrelationRule rule = compile();
+
+        BoolQueryBuilder withField = (BoolQueryBuilder) rule.getQuery("s3").bindFieldValues(List.of("s3.amazonaws.com", "ec2.amazonaws.com"));
+        assertEquals("aws.cloudtrail.eventSource:(s3.amazonaws.com OR ec2.amazonaws.com)",
+                ((QueryStringQueryBuilder) withField.must().get(0)).queryString());
+        assertEquals("aws.cloudtrail.eventName:ReplicateObject", ((QueryStringQueryBuilder) withField.must().get(1)).queryString());
+
+        QueryBuilder withoutField = rule.getQuery("others_application").bindFieldValues(List.of());
+        assertEquals("keywords:PermissionDenied", ((QueryStringQueryBuilder) withoutField).queryString());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Client;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.transport.TransportCorrelateFindingAction;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.TestHelpers.xContentRegistry;
+
+public class CorrelationBatchTests extends OpenSearchTestCase {
+
+    private static SearchHit detectorHit(String id, Detector detector) throws IOException {
+        SearchHit hit = new SearchHit(1, id, Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(detector.toXContentWithUser(XContentFactory.jsonBuilder(),
+                new ToXContent.MapParams(Map.of("with_type", "true")))));
+        return hit;
+    }
+
+    private static SearchResponse detectorResponse(boolean timedOut, SearchHit... hits) {
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.isTimedOut()).thenReturn(timedOut);
+        when(response.getHits()).thenReturn(new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+
+    public void testDetectorsOfMixedTypesByMonitorId() throws IOException {
+        Detector windowsDetector = randomDetector(List.of(), "test_windows");
+        windowsDetector.setMonitorIds(List.of("windows-monitor-1", "windows-monitor-2"));
+        Detector networkDetector = randomDetector(List.of(), "network");
+        networkDetector.setMonitorIds(List.of("network-monitor"));
+
+        Map<String, Detector> detectors = CorrelationBatch.detectorsByMonitorId(
+                detectorResponse(false, detectorHit("windows-detector", windowsDetector), detectorHit("network-detector", networkDetector)),
+                xContentRegistry());
+
+        assertEquals(Set.of("windows-monitor-1", "windows-monitor-2", "network-monitor"), detectors.keySet());
+        assertEquals("windows-detector", detectors.get("windows-monitor-1").getId());
+        assertEquals("windows-detector", detectors.get("windows-monitor-2").getId());
+        assertEquals("test_windows", detectors.get("windows-monitor-1").getDetectorType());
+        assertEquals("network-detector", detectors.get("network-monitor").getId());
+        assertEquals("network", detectors.get("network-monitor").getDetectorType());
+        assertNull(detectors.get("unknown-monitor"));
+    }
+
+    public void testTimedOutDetectorLookupFailsTheBatch() throws IOException {
+        Detector detector = randomDetector(List.of(), "test_windows");
+        detector.setMonitorIds(List.of("windows-monitor"));
+
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> CorrelationBatch.detectorsByMonitorId(
+                detectorResponse(true, detectorHit("windows-detector", detector)), xContentRegistry()));
+        assertEquals(RestStatus.REQUEST_TIMEOUT, e.status());
+    }
+
+    public void testFindingWithoutCandidatesIsCorrelated() {
+        Detector detector = randomDetector(List.of(), "test_windows");
+        detector.setMonitorIds(List.of("windows-monitor"));
+        Finding finding = new Finding(
+                "finding-1",
+                List.of("doc1"),
+                List.of("doc1"),
+                "windows-monitor",
+                "windows monitor",
+                "windows",
+                List.of(new DocLevelQuery("1", "myQuery", List.of(), "fieldA:valABC", List.of("attack.t1003"))),
+                Instant.now(),
+                "1234"
+        );
+
+        TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction =
+                mock(TransportCorrelateFindingAction.AsyncCorrelateFindingAction.class);
+        CorrelationRuleCache correlationRuleCache = mock(CorrelationRuleCache.class);
+        JoinEngine joinEngine = new JoinEngine(mock(Client.class), null, xContentRegistry(), 300000L, TimeValue.timeValueSeconds(60L),
+                correlateFindingAction, null, correlationRuleCache, true, null, null, 50, new CorrelationMetrics());
+
+        // the candidate searches of the finding's tags returned nothing.
+        CorrelationBatch batch = new CorrelationBatch(Map.of("windows-monitor", detector), Map.of(), Map.of());
+        joinEngine.onSearchDetectorResponse(detector, finding, batch);
+
+        verify(correlationRuleCache).getCorrelationRules(eq("test_windows"), any(ActionListener.class));
+        verify(correlateFindingAction, never()).onFailures(any());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CorrelationGraphTests extends OpenSearchTestCase {
+
+    public void testEdgeUpdatesAreGroupedPerFinding() throws IOException {
+        List<UpdateRequest> updates = CorrelationGraph.getEdgeUpdateRequests(List.of(
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "", 100L, 1000L, null),
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "finding-2", 75L, 1000L, null),
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "finding-3", 75L, 2000L, null)
+        ), TimeValue.timeValueSeconds(60));
+
+        assertEquals(3, updates.size());
+
+        UpdateRequest update = updates.get(0);
+        assertEquals(CorrelationIndices.CORRELATION_GRAPH_INDEX, update.index());
+        assertEquals("finding-1", update.id());
+        assertEquals(List.of("finding-2", "finding-3"), update.script().getParams().get(CorrelationGraph.NEIGHBOURS_FIELD));
+        assertEquals(2000L, update.script().getParams().get(CorrelationGraph.TIMESTAMP_FIELD));
+        assertNotNull(update.upsertRequest());
+
+        assertEquals("finding-2", updates.get(1).id());
+        assertEquals(List.of("finding-1"), updates.get(1).script().getParams().get(CorrelationGraph.NEIGHBOURS_FIELD));
+        assertEquals("finding-3", updates.get(2).id());
+    }
+
+    public void testFindingRecordsAddNoEdges() throws IOException {
+        assertTrue(CorrelationGraph.getEdgeUpdateRequests(List.of(
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "", 100L, 1000L, null)
+        ), TimeValue.timeValueSeconds(60)).isEmpty());
+    }
+
+    public void testNeighboursAreCapped() throws IOException {
+        List<CorrelationHistoryWriteBuffer.Record> records = new ArrayList<>();
+        for (int idx = 0; idx < CorrelationGraph.MAX_NEIGHBOURS + 5; ++idx) {
+            records.add(new CorrelationHistoryWriteBuffer.Record("finding-0", "neighbour-" + idx, 75L, 1000L + idx, null));
+        }
+        UpdateRequest update = CorrelationGraph.getEdgeUpdateRequests(records, TimeValue.timeValueSeconds(60)).get(0);
+        assertEquals("finding-0", update.id());
+
+        @SuppressWarnings("unchecked")
+        List<String> neighbours = (List<String>) update.script().getParams().get(CorrelationGraph.NEIGHBOURS_FIELD);
+        assertEquals(CorrelationGraph.MAX_NEIGHBOURS, neighbours.size());
+        assertEquals("neighbour-5", neighbours.get(0));
+        assertEquals("neighbour-" + (CorrelationGraph.MAX_NEIGHBOURS + 4), neighbours.get(neighbours.size() - 1));
+        assertEquals(CorrelationGraph.MAX_NEIGHBOURS, update.script().getParams().get("max_neighbours"));
+    }
+
+    public void testGetNeighbours() {
+        assertEquals(List.of("finding-2"), CorrelationGraph.getNeighbours(Map.of(CorrelationGraph.NEIGHBOURS_FIELD, List.of("finding-2"))));
+        assertEquals(List.of(), CorrelationGraph.getNeighbours(Map.of()));
+    }
+}
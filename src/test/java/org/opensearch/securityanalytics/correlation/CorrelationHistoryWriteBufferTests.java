@@ -0,0 +1,141 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.client.AdminClient;
+import org.opensearch.client.Client;
+import org.opensearch.client.IndicesAdminClient;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationHistoryWriteBufferTests extends OpenSearchTestCase {
+
+    private CorrelationHistoryWriteBuffer newBuffer(Client client, ThreadPool threadPool, int flushSize) {
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_SIZE.getKey(), flushSize)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_ASYNC_WRITES,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_INTERVAL,
+                SecurityAnalyticsSettings.CORRELATION_HISTORY_FLUSH_SIZE,
+                SecurityAnalyticsSettings.INDEX_TIMEOUT
+        )));
+        return new CorrelationHistoryWriteBuffer(client, clusterService, threadPool);
+    }
+
+    public void testBufferedRecordsAreVisibleBeforeFlush() throws Exception {
+        Client client = mock(Client.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        CorrelationHistoryWriteBuffer buffer = newBuffer(client, threadPool, 10);
+
+        buffer.write(List.of(
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "", 100L, 1000L, null),
+                new CorrelationHistoryWriteBuffer.Record("finding-1", "finding-2", 75L, 1000L, null)
+        ), ActionListener.wrap(response -> {}, e -> fail()));
+
+        assertEquals(100L, buffer.getFindingRecord("finding-1").getCounter());
+        assertNull(buffer.getFindingRecord("finding-2"));
+        assertTrue(buffer.hasCorrelationRecord(75L, 0L, 2000L));
+        assertFalse(buffer.hasCorrelationRecord(75L, 1500L, 2000L));
+        assertFalse(buffer.hasCorrelationRecord(125L, 0L, 2000L));
+
+        verify(threadPool, times(1)).schedule(any(Runnable.class), any(TimeValue.class), eq(ThreadPool.Names.GENERIC));
+        verify(client, never()).bulk(any(BulkRequest.class), any());
+    }
+
+    public void testFlushSizeTriggersBulk() throws Exception {
+        Client client = mock(Client.class);
+        ThreadPool threadPool = mock(ThreadPool.class);
+        CorrelationHistoryWriteBuffer buffer = newBuffer(client, threadPool, 2);
+
+        buffer.write(List.of(new CorrelationHistoryWriteBuffer.Record("finding-1", "", 50L, 1000L, emptySource())),
+                ActionListener.wrap(response -> {}, e -> fail()));
+        verify(client, never()).bulk(any(BulkRequest.class), any());
+
+        buffer.write(List.of(new CorrelationHistoryWriteBuffer.Record("finding-2", "", 100L, 1000L, emptySource())),
+                ActionListener.wrap(response -> {}, e -> fail()));
+        verify(client, times(1)).bulk(any(BulkRequest.class), any());
+        verify(threadPool, times(1)).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+    }
+
+    public void testSearchRightAfterCorrelationWaitsForRefresh() throws Exception {
+        List<ActionListener<BulkResponse>> pendingBulks = new ArrayList<>();
+        List<ActionListener<RefreshResponse>> pendingRefreshes = new ArrayList<>();
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            pendingBulks.add(invocation.getArgument(1));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+        AdminClient adminClient = mock(AdminClient.class);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        doAnswer(invocation -> {
+            pendingRefreshes.add(invocation.getArgument(1));
+            return null;
+        }).when(indicesAdminClient).refresh(any(RefreshRequest.class), any());
+        CorrelationHistoryWriteBuffer buffer = newBuffer(client, mock(ThreadPool.class), 10);
+
+        AtomicInteger searchable = new AtomicInteger();
+        buffer.awaitSearchable(ActionListener.wrap(response -> searchable.incrementAndGet(), e -> fail()));
+        assertEquals(1, searchable.get());
+        assertTrue(pendingBulks.isEmpty());
+
+        buffer.write(List.of(new CorrelationHistoryWriteBuffer.Record("finding-1", "", 50L, 1000L, emptySource())),
+                ActionListener.wrap(response -> {}, e -> fail()));
+        // the search flushes the correlation instead of waiting for the flush interval.
+        buffer.awaitSearchable(ActionListener.wrap(response -> searchable.incrementAndGet(), e -> fail()));
+        assertEquals(1, pendingBulks.size());
+        assertEquals(0, buffer.pendingDocs());
+        // a second search waits for the same in-flight flush.
+        buffer.awaitSearchable(ActionListener.wrap(response -> searchable.incrementAndGet(), e -> fail()));
+        assertEquals(1, pendingBulks.size());
+
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(false);
+        pendingBulks.get(0).onResponse(new BulkResponse(new BulkItemResponse[]{item}, 1L));
+        assertEquals(1, searchable.get());
+        assertNotNull(buffer.getFindingRecord("finding-1"));
+
+        pendingRefreshes.get(0).onResponse(mock(RefreshResponse.class));
+        assertEquals(3, searchable.get());
+        assertNull(buffer.getFindingRecord("finding-1"));
+    }
+
+    private static XContentBuilder emptySource() throws IOException {
+        return XContentFactory.jsonBuilder().startObject().endObject();
+    }
+}
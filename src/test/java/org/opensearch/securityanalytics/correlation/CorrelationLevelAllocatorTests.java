@@ -0,0 +1,149 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationLevelAllocatorTests extends OpenSearchTestCase {
+
+    private CorrelationLevelAllocator newAllocator(Client client) {
+        Settings settings = Settings.EMPTY;
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
+                SecurityAnalyticsSettings.CORRELATION_LEVEL_LEASE_SIZE,
+                SecurityAnalyticsSettings.INDEX_TIMEOUT
+        )));
+        return new CorrelationLevelAllocator(client, clusterService);
+    }
+
+    private Client newClient(List<ActionListener<GetResponse>> pendingGets) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchResponse response = mock(SearchResponse.class);
+            when(response.getHits()).thenReturn(new SearchHits(new SearchHit[]{new SearchHit(1, "root", Map.of(), Map.of())},
+                    new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 1.0f));
+            listener.onResponse(response);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            pendingGets.add(invocation.getArgument(1));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> listener = invocation.getArgument(1);
+            listener.onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(client).index(any(IndexRequest.class), any());
+        return client;
+    }
+
+    private static GetResponse rootDocument(long counter, long timestamp) {
+        GetResponse response = mock(GetResponse.class);
+        when(response.isExists()).thenReturn(true);
+        when(response.getSourceAsMap()).thenReturn(Map.of("counter", counter, "timestamp", timestamp));
+        when(response.getSeqNo()).thenReturn(1L);
+        when(response.getPrimaryTerm()).thenReturn(1L);
+        return response;
+    }
+
+    public void testConcurrentCallersShareOneLease() throws Exception {
+        List<ActionListener<GetResponse>> pendingGets = new CopyOnWriteArrayList<>();
+        Client client = newClient(pendingGets);
+        CorrelationLevelAllocator allocator = newAllocator(client);
+
+        int callers = 100;
+        long timestamp = System.currentTimeMillis();
+        List<Long> levels = new CopyOnWriteArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(callers);
+        List<Thread> threads = new ArrayList<>();
+        for (int idx = 0; idx < callers; ++idx) {
+            Thread thread = new Thread(() -> allocator.currentLevel(timestamp, ActionListener.wrap(level -> {
+                levels.add(level);
+                done.countDown();
+            }, e -> {
+                failures.incrementAndGet();
+                done.countDown();
+            })));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+
+        assertEquals(1, pendingGets.size());
+        pendingGets.get(0).onResponse(rootDocument(0L, 0L));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(0, failures.get());
+        assertEquals(callers, levels.size());
+        for (Long level: levels) {
+            assertEquals(Long.valueOf(CorrelationLevelAllocator.LEVEL_GAP), level);
+        }
+        verify(client, times(1)).get(any(GetRequest.class), any());
+        verify(client, times(1)).index(any(IndexRequest.class), any());
+    }
+
+    public void testNewLeaseOnlyWhenBlockIsExhausted() {
+        List<ActionListener<GetResponse>> pendingGets = new CopyOnWriteArrayList<>();
+        Client client = newClient(pendingGets);
+        CorrelationLevelAllocator allocator = newAllocator(client);
+        long timestamp = System.currentTimeMillis();
+
+        List<Long> levels = new ArrayList<>();
+        allocator.currentLevel(timestamp, ActionListener.wrap(levels::add, e -> fail()));
+        pendingGets.get(0).onResponse(rootDocument(0L, 0L));
+
+        int leaseSize = SecurityAnalyticsSettings.CORRELATION_LEVEL_LEASE_SIZE.get(Settings.EMPTY);
+        for (int idx = 1; idx < leaseSize; ++idx) {
+            allocator.nextLevel(levels.get(levels.size() - 1), timestamp, ActionListener.wrap(levels::add, e -> fail()));
+        }
+        assertEquals(leaseSize, levels.size());
+        assertEquals(1, pendingGets.size());
+
+        // a stale level is answered with the current one without leasing.
+        allocator.nextLevel(CorrelationLevelAllocator.LEVEL_GAP, timestamp, ActionListener.wrap(levels::add, e -> fail()));
+        assertEquals(levels.get(levels.size() - 2), levels.get(levels.size() - 1));
+        assertEquals(1, pendingGets.size());
+
+        allocator.nextLevel(levels.get(levels.size() - 1), timestamp, ActionListener.wrap(levels::add, e -> fail()));
+        assertEquals(2, pendingGets.size());
+    }
+}
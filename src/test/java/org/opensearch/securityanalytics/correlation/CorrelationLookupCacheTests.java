@@ -0,0 +1,107 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CorrelationLookupCacheTests extends OpenSearchTestCase {
+
+    private CorrelationLookupCache newCache(int cacheSize) {
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_SIZE.getKey(), cacheSize)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_LOOKUP_CACHE_TTL
+        )));
+        return new CorrelationLookupCache(clusterService);
+    }
+
+    public void testFindingLevels() {
+        CorrelationLookupCache cache = newCache(2);
+        assertNull(cache.getFindingLevel("finding-1"));
+
+        cache.putFindingLevel("finding-1", 1000L, 50L);
+        assertEquals(1000L, cache.getFindingLevel("finding-1").getTimestamp());
+        assertEquals(50L, cache.getFindingLevel("finding-1").getCounter());
+
+        cache.putFindingLevel("finding-2", 2000L, 75L);
+        cache.putFindingLevel("finding-3", 3000L, 100L);
+        assertNull(cache.getFindingLevel("finding-1"));
+        assertEquals(100L, cache.getFindingLevel("finding-3").getCounter());
+    }
+
+    public void testScoreTimestampOnlyMovesForward() {
+        CorrelationLookupCache cache = newCache(10);
+        assertNull(cache.getScoreTimestamp());
+
+        cache.putScoreTimestamp(2000L);
+        cache.putScoreTimestamp(1000L);
+        assertEquals(Long.valueOf(2000L), cache.getScoreTimestamp());
+
+        cache.putScoreTimestamp(3000L);
+        assertEquals(Long.valueOf(3000L), cache.getScoreTimestamp());
+    }
+
+    public void testInvalidate() {
+        CorrelationLookupCache cache = newCache(10);
+        cache.putFindingLevel("finding-1", 1000L, 50L);
+        cache.putScoreTimestamp(2000L);
+
+        cache.invalidate();
+        assertNull(cache.getFindingLevel("finding-1"));
+        assertNull(cache.getScoreTimestamp());
+    }
+
+    public void testInvalidatedWhenCorrelationIndicesAreDeleted() {
+        CorrelationLookupCache cache = newCache(10);
+        cache.putFindingLevel("finding-1", 1000L, 50L);
+        cache.putScoreTimestamp(2000L);
+
+        ClusterState withIndices = clusterState(".opensearch-sap-correlation-history-2024.01.01-1", CorrelationIndices.CORRELATION_METADATA_INDEX, "other");
+        cache.clusterChanged(new ClusterChangedEvent("test", clusterState(CorrelationIndices.CORRELATION_METADATA_INDEX), withIndices));
+        assertNull(cache.getFindingLevel("finding-1"));
+        assertNull(cache.getScoreTimestamp());
+
+        cache.putFindingLevel("finding-1", 1000L, 50L);
+        cache.clusterChanged(new ClusterChangedEvent("test", clusterState(), clusterState("other")));
+        assertEquals(50L, cache.getFindingLevel("finding-1").getCounter());
+
+        cache.clusterChanged(new ClusterChangedEvent("test", clusterState(), withIndices));
+        assertNull(cache.getFindingLevel("finding-1"));
+    }
+
+    private static ClusterState clusterState(String... indices) {
+        Metadata.Builder metadata = Metadata.builder();
+        for (String index: indices) {
+            metadata.put(IndexMetadata.builder(index).settings(settings(Version.CURRENT)).numberOfShards(1).numberOfReplicas(0));
+        }
+        return ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+    }
+
+    public void testDisabled() {
+        CorrelationLookupCache cache = newCache(0);
+        cache.putFindingLevel("finding-1", 1000L, 50L);
+        assertNull(cache.getFindingLevel("finding-1"));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class CorrelationMetricsTests extends OpenSearchTestCase {
+
+    public void testStages() {
+        CorrelationMetrics metrics = new CorrelationMetrics();
+        metrics.recordMillis(CorrelationMetrics.Stage.RULE_LOOKUP, 1L);
+        metrics.recordMillis(CorrelationMetrics.Stage.RULE_LOOKUP, 3L);
+        metrics.recordMillis(CorrelationMetrics.Stage.RULE_LOOKUP, 100000L);
+        metrics.record(CorrelationMetrics.Stage.TOTAL, metrics.startTime());
+
+        CorrelationStats.StageStats ruleLookup = metrics.stats().getStages().get(CorrelationMetrics.Stage.RULE_LOOKUP.statName());
+        assertEquals(3L, ruleLookup.getCount());
+        assertEquals(1L, ruleLookup.getBuckets()[0]);
+        assertEquals(1L, ruleLookup.getBuckets()[2]);
+        assertEquals(1L, ruleLookup.getBuckets()[CorrelationMetrics.BUCKET_BOUNDS_MILLIS.length]);
+        assertEquals(5L, ruleLookup.percentileMillis(50.0));
+        assertEquals(100000L, ruleLookup.percentileMillis(99.0));
+        assertEquals(1L, metrics.stats().getStages().get(CorrelationMetrics.Stage.TOTAL.statName()).getCount());
+        assertEquals(0L, metrics.stats().getStages().get(CorrelationMetrics.Stage.VECTOR_INSERT.statName()).getCount());
+    }
+
+    public void testCountersAndQueues() {
+        CorrelationMetrics metrics = new CorrelationMetrics();
+        metrics.inc(CorrelationMetrics.Counter.FINDINGS_IN, 5L);
+        metrics.inc(CorrelationMetrics.Counter.FINDINGS_OUT, 2L);
+        metrics.inc(CorrelationMetrics.Counter.FINDINGS_FAILED);
+        metrics.registerQueue("history_write_buffer", () -> 7);
+
+        CorrelationStats stats = metrics.stats();
+        assertEquals(5L, (long) stats.getCounters().get("findings_in"));
+        assertEquals(0L, (long) stats.getCounters().get("truncated_searches"));
+        assertEquals(2L, (long) stats.getQueues().get(CorrelationMetrics.IN_FLIGHT_FINDINGS));
+        assertEquals(7L, (long) stats.getQueues().get("history_write_buffer"));
+    }
+
+    public void testMergeAndSerialization() throws IOException {
+        CorrelationMetrics node1 = new CorrelationMetrics();
+        node1.inc(CorrelationMetrics.Counter.CORRELATIONS_CREATED, 3L);
+        node1.recordMillis(CorrelationMetrics.Stage.VECTOR_INSERT, 20L);
+        CorrelationMetrics node2 = new CorrelationMetrics();
+        node2.inc(CorrelationMetrics.Counter.CORRELATIONS_CREATED, 4L);
+        node2.recordMillis(CorrelationMetrics.Stage.VECTOR_INSERT, 2000L);
+
+        CorrelationStats merged = node1.stats().merge(node2.stats());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        merged.writeTo(out);
+        StreamInput sin = out.bytes().streamInput();
+        CorrelationStats stats = new CorrelationStats(sin);
+
+        assertEquals(7L, (long) stats.getCounters().get("correlations_created"));
+        CorrelationStats.StageStats vectorInsert = stats.getStages().get(CorrelationMetrics.Stage.VECTOR_INSERT.statName());
+        assertEquals(2L, vectorInsert.getCount());
+        assertEquals(25L, vectorInsert.percentileMillis(50.0));
+        assertEquals(2000L, vectorInsert.percentileMillis(99.0));
+        assertEquals(stats.getStages().keySet(), node1.stats().getStages().keySet());
+    }
+}
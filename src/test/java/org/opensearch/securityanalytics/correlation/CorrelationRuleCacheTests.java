@@ -0,0 +1,167 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.engine.Engine;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationRuleCacheTests extends OpenSearchTestCase {
+
+    private static final ShardId RULE_SHARD = new ShardId(CorrelationRule.CORRELATION_RULE_INDEX, "_na_", 0);
+
+    private CorrelationRuleCache newCache(Client client) {
+        Settings settings = Settings.EMPTY;
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(
+                SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_TTL
+        )));
+        return new CorrelationRuleCache(client, clusterService, NamedXContentRegistry.EMPTY);
+    }
+
+    private static Client newClient(List<ActionListener<SearchResponse>> pendingSearches) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            pendingSearches.add(invocation.getArgument(1));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        return client;
+    }
+
+    private static SearchResponse rulesResponse(boolean timedOut) throws IOException {
+        CorrelationRule rule = new CorrelationRule(CorrelationRule.NO_ID, CorrelationRule.NO_VERSION, "s3 to app logs",
+                List.of(
+                        new CorrelationQuery("s3_access_logs", "aws.cloudtrail.eventName:ReplicateObject", "s3", "aws.cloudtrail.eventSource"),
+                        new CorrelationQuery("app_logs", "keywords:PermissionDenied", "others_application", null)
+                ), 300000L, null);
+        SearchHit hit = new SearchHit(1, "rule-1", Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(rule.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)));
+
+        SearchResponse response = mock(SearchResponse.class);
+        when(response.isTimedOut()).thenReturn(timedOut);
+        when(response.getHits()).thenReturn(new SearchHits(new SearchHit[]{hit}, new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return response;
+    }
+
+    public void testConcurrentMissesShareOneLoad() throws IOException {
+        List<ActionListener<SearchResponse>> pendingSearches = new ArrayList<>();
+        Client client = newClient(pendingSearches);
+        CorrelationRuleCache cache = newCache(client);
+
+        List<List<CompiledCorrelationRule>> s3Rules = new ArrayList<>();
+        List<List<CompiledCorrelationRule>> windowsRules = new ArrayList<>();
+        for (int idx = 0; idx < 10; ++idx) {
+            cache.getCorrelationRules("s3", ActionListener.wrap(s3Rules::add, e -> fail()));
+            cache.getCorrelationRules("windows", ActionListener.wrap(windowsRules::add, e -> fail()));
+        }
+        assertEquals(1, pendingSearches.size());
+
+        pendingSearches.get(0).onResponse(rulesResponse(false));
+        assertEquals(10, s3Rules.size());
+        assertEquals(10, windowsRules.size());
+        assertEquals("s3 to app logs", s3Rules.get(0).get(0).getRule().getName());
+        assertTrue(windowsRules.get(0).isEmpty());
+        verify(client, times(1)).search(any(SearchRequest.class), any());
+    }
+
+    public void testHitAndInvalidationThroughIndexingListener() throws IOException {
+        List<ActionListener<SearchResponse>> pendingSearches = new ArrayList<>();
+        Client client = newClient(pendingSearches);
+        CorrelationRuleCache cache = newCache(client);
+
+        List<List<CompiledCorrelationRule>> rules = new ArrayList<>();
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        pendingSearches.get(0).onResponse(rulesResponse(false));
+
+        // served from the cache.
+        cache.getCorrelationRules("others_application", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(2, rules.size());
+        assertEquals(1, rules.get(1).size());
+        assertEquals(1, pendingSearches.size());
+
+        // writes to other indices keep the cache.
+        cache.postIndex(new ShardId("other-index", "_na_", 0), null, new Engine.IndexResult(1L, 1L, 1L, true));
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(1, pendingSearches.size());
+
+        cache.postIndex(RULE_SHARD, null, new Engine.IndexResult(1L, 1L, 1L, true));
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(2, pendingSearches.size());
+        pendingSearches.get(1).onResponse(rulesResponse(false));
+
+        cache.postDelete(RULE_SHARD, null, new Engine.DeleteResult(2L, 1L, 2L, true));
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(3, pendingSearches.size());
+    }
+
+    public void testRulesChangedDuringLoadAreNotCached() throws IOException {
+        List<ActionListener<SearchResponse>> pendingSearches = new ArrayList<>();
+        CorrelationRuleCache cache = newCache(newClient(pendingSearches));
+
+        List<List<CompiledCorrelationRule>> rules = new ArrayList<>();
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        cache.postIndex(RULE_SHARD, null, new Engine.IndexResult(1L, 1L, 1L, true));
+
+        // misses after the invalidation start their own load.
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(2, pendingSearches.size());
+
+        pendingSearches.get(0).onResponse(rulesResponse(false));
+        assertEquals(1, rules.size());
+        cache.getCorrelationRules("s3", ActionListener.wrap(rules::add, e -> fail()));
+        assertEquals(1, rules.size());
+        assertEquals(2, pendingSearches.size());
+
+        pendingSearches.get(1).onResponse(rulesResponse(false));
+        assertEquals(3, rules.size());
+    }
+
+    public void testTimedOutLoadFailsAllWaiters() throws IOException {
+        List<ActionListener<SearchResponse>> pendingSearches = new ArrayList<>();
+        CorrelationRuleCache cache = newCache(newClient(pendingSearches));
+
+        AtomicInteger failures = new AtomicInteger();
+        cache.getCorrelationRules("s3", ActionListener.wrap(r -> fail(), e -> failures.incrementAndGet()));
+        cache.getCorrelationRules("windows", ActionListener.wrap(r -> fail(), e -> failures.incrementAndGet()));
+        pendingSearches.get(0).onResponse(rulesResponse(true));
+        assertEquals(2, failures.get());
+
+        // a failed load is not cached.
+        cache.getCorrelationRules("s3", ActionListener.wrap(r -> {}, e -> fail()));
+        assertEquals(2, pendingSearches.size());
+    }
+}
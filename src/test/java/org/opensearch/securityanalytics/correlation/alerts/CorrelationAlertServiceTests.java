@@ -4,22 +4,51 @@
  */
 package org.opensearch.securityanalytics.correlation.alerts;
 
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.client.Client;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.CorrelationAlert;
+import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
 import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertsList;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.test.OpenSearchTestCase;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class CorrelationAlertServiceTests  extends OpenSearchTestCase {
 
@@ -76,4 +105,232 @@ public class CorrelationAlertServiceTests  extends OpenSearchTestCase {
             }
         });
     }
+
+    public void testOpenAlertsAreWrittenThrough() {
+        Client client = mock(Client.class);
+        CorrelationAlertService alertsService = new CorrelationAlertService(client, mock(NamedXContentRegistry.class));
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new IndexNotFoundException(CorrelationIndices.CORRELATION_ALERT_INDEX));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            BulkRequest bulkRequest = invocation.getArgument(0);
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            BulkItemResponse[] items = new BulkItemResponse[bulkRequest.requests().size()];
+            for (int idx = 0; idx < items.length; ++idx) {
+                items[idx] = BulkItemResponse.success(idx, DocWriteRequest.OpType.INDEX, new IndexResponse(
+                        new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "_na_", 0), bulkRequest.requests().get(idx).id(), 1L, 1L, 1L, true));
+            }
+            listener.onResponse(new BulkResponse(items, 1L));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+
+        String ruleId = "correlation_rule_id_123";
+        long currentTime = System.currentTimeMillis();
+        AtomicReference<CorrelationAlertsList> openAlerts = new AtomicReference<>();
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(0, openAlerts.get().getCorrelationAlertList().size());
+
+        CorrelationAlert correlationAlert = new CorrelationAlert(
+                List.of("finding-1"),
+                ruleId,
+                "mock-rule",
+                UUID.randomUUID().toString(),
+                1L,
+                1,
+                null,
+                "mock-trigger",
+                Alert.State.ACTIVE,
+                Instant.ofEpochMilli(currentTime).minusMillis(1000L),
+                Instant.ofEpochMilli(currentTime).plusMillis(60000L),
+                null,
+                null,
+                "high",
+                new ArrayList<>()
+        );
+        alertsService.bulkIndexCorrelationAlerts(List.of(correlationAlert), TimeValue.timeValueSeconds(60), ActionListener.wrap(response -> {}, e -> fail()));
+
+        alertsService.getOpenAlerts(List.of(ruleId, "other_rule"), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        assertEquals(correlationAlert.getId(), openAlerts.get().getCorrelationAlertList().get(0).getId());
+
+        // rules with open alerts in the registry are served from memory, the others are searched.
+        verify(client, times(2)).search(any(SearchRequest.class), any());
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        verify(client, times(2)).search(any(SearchRequest.class), any());
+
+        // alerts past their time window are not open anymore.
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime + 120000L, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(0, openAlerts.get().getCorrelationAlertList().size());
+    }
+
+    public void testRulesMissingInTheRegistryAreSearched() {
+        Client client = mock(Client.class);
+        CorrelationAlertService alertsService = spy(new CorrelationAlertService(client, mock(NamedXContentRegistry.class)));
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(emptySearchResponse());
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        String ruleId = "correlation_rule_id_123";
+        long currentTime = System.currentTimeMillis();
+        // written by another node after the registry was loaded.
+        CorrelationAlert correlationAlert = activeAlert(ruleId, currentTime);
+        doAnswer(invocation -> {
+            ActionListener<CorrelationAlertsList> listener = invocation.getArgument(2);
+            listener.onResponse(new CorrelationAlertsList(List.of(correlationAlert), 1));
+            return null;
+        }).when(alertsService).getActiveAlerts(any(Collection.class), anyLong(), any());
+
+        AtomicReference<CorrelationAlertsList> openAlerts = new AtomicReference<>();
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        assertEquals(correlationAlert.getId(), openAlerts.get().getCorrelationAlertList().get(0).getId());
+
+        // found alerts are registered.
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        verify(alertsService, times(1)).getActiveAlerts(any(Collection.class), anyLong(), any());
+        verify(client, times(1)).search(any(SearchRequest.class), any());
+    }
+
+    public void testReloadKeepsAlertsRegisteredAfterItStarted() {
+        Client client = mock(Client.class);
+        CorrelationAlertService alertsService = spy(new CorrelationAlertService(client, mock(NamedXContentRegistry.class)));
+        List<ActionListener<SearchResponse>> pendingSearches = new ArrayList<>();
+        doAnswer(invocation -> {
+            pendingSearches.add(invocation.getArgument(1));
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            BulkRequest bulkRequest = invocation.getArgument(0);
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            BulkItemResponse[] items = new BulkItemResponse[bulkRequest.requests().size()];
+            for (int idx = 0; idx < items.length; ++idx) {
+                items[idx] = BulkItemResponse.success(idx, DocWriteRequest.OpType.INDEX, new IndexResponse(
+                        new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "_na_", 0), bulkRequest.requests().get(idx).id(), 1L, 1L, 1L, true));
+            }
+            listener.onResponse(new BulkResponse(items, 1L));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+
+        String ruleId = "correlation_rule_id_123";
+        long currentTime = System.currentTimeMillis();
+        AtomicReference<CorrelationAlertsList> openAlerts = new AtomicReference<>();
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, pendingSearches.size());
+
+        CorrelationAlert correlationAlert = activeAlert(ruleId, currentTime);
+        alertsService.bulkIndexCorrelationAlerts(List.of(correlationAlert), TimeValue.timeValueSeconds(60), ActionListener.wrap(response -> {}, e -> fail()));
+
+        // the load does not see the alert written while it was in flight.
+        pendingSearches.get(0).onResponse(emptySearchResponse());
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        assertEquals(correlationAlert.getId(), openAlerts.get().getCorrelationAlertList().get(0).getId());
+        verify(alertsService, never()).getActiveAlerts(any(Collection.class), anyLong(), any());
+    }
+
+    public void testAcknowledgedAlertSurvivesFlush() throws Exception {
+        Client client = mock(Client.class);
+        CorrelationAlertService alertsService = new CorrelationAlertService(client, mock(NamedXContentRegistry.class));
+        List<SearchResponse> searchResponses = new ArrayList<>();
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            if (searchResponses.isEmpty()) {
+                listener.onFailure(new IndexNotFoundException(CorrelationIndices.CORRELATION_ALERT_INDEX));
+            } else {
+                listener.onResponse(searchResponses.remove(0));
+            }
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        List<ActionListener<BulkResponse>> pendingBulks = new ArrayList<>();
+        doAnswer(invocation -> {
+            bulkRequests.add(invocation.getArgument(0));
+            pendingBulks.add(invocation.getArgument(1));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+
+        String ruleId = "correlation_rule_id_123";
+        long currentTime = System.currentTimeMillis();
+        AtomicReference<CorrelationAlertsList> openAlerts = new AtomicReference<>();
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+
+        CorrelationAlert correlationAlert = activeAlert(ruleId, currentTime);
+        alertsService.bulkIndexCorrelationAlerts(List.of(correlationAlert), TimeValue.timeValueSeconds(60), ActionListener.wrap(response -> {}, e -> fail()));
+        // overwrites are guarded by the state of the alert in the index.
+        UpdateRequest upsertRequest = (UpdateRequest) bulkRequests.get(0).requests().get(0);
+        assertTrue(upsertRequest.script().getIdOrCode().contains("ctx._source.state != 'ACTIVE'"));
+        assertEquals(correlationAlert.getId(), upsertRequest.upsertRequest().sourceAsMap().get("id"));
+        pendingBulks.get(0).onResponse(bulkResponse(bulkRequests.get(0), DocWriteResponse.Result.CREATED));
+
+        // the next flush updates the alert while it is acknowledged on this node.
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(1, openAlerts.get().getCorrelationAlertList().size());
+        alertsService.bulkIndexCorrelationAlerts(List.of(correlationAlert), TimeValue.timeValueSeconds(60), ActionListener.wrap(response -> {}, e -> fail()));
+
+        SearchHit hit = new SearchHit(1, correlationAlert.getId(), Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(upsertRequest.upsertRequest().sourceAsMap())));
+        searchResponses.add(searchResponse(hit));
+        alertsService.acknowledgeAlerts(List.of(correlationAlert.getId()), ActionListener.wrap(response -> {}, e -> fail()));
+        pendingBulks.get(2).onResponse(bulkResponse(bulkRequests.get(2), DocWriteResponse.Result.UPDATED));
+
+        // the update was applied before the acknowledgement, but must not register the alert again.
+        pendingBulks.get(1).onResponse(bulkResponse(bulkRequests.get(1), DocWriteResponse.Result.UPDATED));
+        searchResponses.add(emptySearchResponse());
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(0, openAlerts.get().getCorrelationAlertList().size());
+
+        // an update of the acknowledged alert from a stale registry is a noop & evicts the rule.
+        alertsService.bulkIndexCorrelationAlerts(List.of(correlationAlert), TimeValue.timeValueSeconds(60), ActionListener.wrap(response -> {}, e -> fail()));
+        pendingBulks.get(3).onResponse(bulkResponse(bulkRequests.get(3), DocWriteResponse.Result.NOOP));
+        searchResponses.add(emptySearchResponse());
+        alertsService.getOpenAlerts(List.of(ruleId), currentTime, ActionListener.wrap(openAlerts::set, e -> fail()));
+        assertEquals(0, openAlerts.get().getCorrelationAlertList().size());
+        assertTrue(searchResponses.isEmpty());
+    }
+
+    private static BulkResponse bulkResponse(BulkRequest bulkRequest, DocWriteResponse.Result result) {
+        BulkItemResponse[] items = new BulkItemResponse[bulkRequest.requests().size()];
+        for (int idx = 0; idx < items.length; ++idx) {
+            items[idx] = BulkItemResponse.success(idx, DocWriteRequest.OpType.UPDATE, new UpdateResponse(
+                    new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "_na_", 0), bulkRequest.requests().get(idx).id(), 1L, 1L, 1L, result));
+        }
+        return new BulkResponse(items, 1L);
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getHits()).thenReturn(new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+        return searchResponse;
+    }
+
+    private static SearchResponse emptySearchResponse() {
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(0L, TotalHits.Relation.EQUAL_TO), 0.0f));
+        return searchResponse;
+    }
+
+    private static CorrelationAlert activeAlert(String ruleId, long currentTime) {
+        return new CorrelationAlert(
+                List.of("finding-1"),
+                ruleId,
+                "mock-rule",
+                UUID.randomUUID().toString(),
+                1L,
+                1,
+                null,
+                "mock-trigger",
+                Alert.State.ACTIVE,
+                Instant.ofEpochMilli(currentTime).minusMillis(1000L),
+                Instant.ofEpochMilli(currentTime).plusMillis(60000L),
+                null,
+                null,
+                "high",
+                new ArrayList<>()
+        );
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.alerts;
+
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.alerting.model.Alert;
+import org.opensearch.commons.alerting.model.CorrelationAlert;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertService;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationAlertsList;
+import org.opensearch.securityanalytics.correlation.alert.CorrelationRuleScheduler;
+import org.opensearch.securityanalytics.correlation.alert.notifications.NotificationService;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.model.CorrelationRuleTrigger;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationRuleSchedulerTests extends OpenSearchTestCase {
+
+    private static CorrelationRule rule(String id) {
+        return new CorrelationRule(id, 1L, "rule-" + id, List.of(
+                new CorrelationQuery("windows", "EventID:1", "windows", null),
+                new CorrelationQuery("network", "action:blocked", "network", null)
+        ), 300000L, new CorrelationRuleTrigger("trigger-" + id, "trigger", "1", List.of()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRuleTasksAreCoalescedPerTick() {
+        Settings settings = Settings.EMPTY;
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(SecurityAnalyticsSettings.CORRELATION_ALERT_FLUSH_INTERVAL)));
+        ThreadPool threadPool = mock(ThreadPool.class);
+        CorrelationAlertService alertService = mock(CorrelationAlertService.class);
+        CorrelationRuleScheduler scheduler = new CorrelationRuleScheduler(alertService, mock(NotificationService.class), clusterService, threadPool);
+
+        TimeValue indexTimeout = TimeValue.timeValueSeconds(60);
+        scheduler.schedule(List.of(rule("1")), Map.of("windows", List.of("finding-1")), "finding-a", indexTimeout, null);
+        scheduler.schedule(List.of(rule("1"), rule("2")), Map.of("windows", List.of("finding-1"), "network", List.of("finding-2")), "finding-b", indexTimeout, null);
+
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool, times(1)).schedule(tick.capture(), any(TimeValue.class), eq(ThreadPool.Names.GENERIC));
+        verify(alertService, never()).getOpenAlerts(any(Collection.class), anyLong(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<CorrelationAlertsList> listener = invocation.getArgument(2);
+            listener.onResponse(new CorrelationAlertsList(Collections.emptyList(), 0));
+            return null;
+        }).when(alertService).getOpenAlerts(any(Collection.class), anyLong(), any());
+        doAnswer(invocation -> {
+            ActionListener<BulkResponse> listener = invocation.getArgument(2);
+            listener.onResponse(new BulkResponse(new BulkItemResponse[0], 1L));
+            return null;
+        }).when(alertService).bulkIndexCorrelationAlerts(any(), any(), any());
+
+        tick.getValue().run();
+
+        ArgumentCaptor<Collection<String>> ruleIds = ArgumentCaptor.forClass(Collection.class);
+        verify(alertService, times(1)).getOpenAlerts(ruleIds.capture(), anyLong(), any());
+        assertEquals(List.of("1", "2"), List.copyOf(ruleIds.getValue()));
+
+        ArgumentCaptor<List<CorrelationAlert>> alerts = ArgumentCaptor.forClass(List.class);
+        verify(alertService, times(1)).bulkIndexCorrelationAlerts(alerts.capture(), eq(indexTimeout), any());
+        assertEquals(2, alerts.getValue().size());
+        assertEquals(List.of("finding-1", "finding-2"), alerts.getValue().get(0).getCorrelatedFindingIds());
+        assertEquals(List.of("finding-1", "finding-2"), alerts.getValue().get(1).getCorrelatedFindingIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRulesWithConcurrentlyClosedAlertsAreWrittenAgain() {
+        Settings settings = Settings.EMPTY;
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(SecurityAnalyticsSettings.CORRELATION_ALERT_FLUSH_INTERVAL)));
+        ThreadPool threadPool = mock(ThreadPool.class);
+        CorrelationAlertService alertService = mock(CorrelationAlertService.class);
+        CorrelationRuleScheduler scheduler = new CorrelationRuleScheduler(alertService, mock(NotificationService.class), clusterService, threadPool);
+
+        TimeValue indexTimeout = TimeValue.timeValueSeconds(60);
+        scheduler.schedule(List.of(rule("1")), Map.of("windows", List.of("finding-1")), "finding-a", indexTimeout, null);
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool, times(1)).schedule(tick.capture(), any(TimeValue.class), eq(ThreadPool.Names.GENERIC));
+
+        // the registry still has the alert, which was acknowledged in the meantime.
+        CorrelationAlert acknowledgedAlert = new CorrelationAlert(List.of("finding-0"), "1", "rule-1", "alert-1", 1L, 1, null, "trigger-1",
+                Alert.State.ACTIVE, Instant.now().minusMillis(1000L), Instant.now().plusMillis(60000L), null, null, "1", new ArrayList<>());
+        List<CorrelationAlertsList> openAlerts = new ArrayList<>(List.of(
+                new CorrelationAlertsList(List.of(acknowledgedAlert), 1),
+                new CorrelationAlertsList(Collections.emptyList(), 0)
+        ));
+        doAnswer(invocation -> {
+            ActionListener<CorrelationAlertsList> listener = invocation.getArgument(2);
+            listener.onResponse(openAlerts.remove(0));
+            return null;
+        }).when(alertService).getOpenAlerts(any(Collection.class), anyLong(), any());
+        List<DocWriteResponse.Result> results = new ArrayList<>(List.of(DocWriteResponse.Result.NOOP, DocWriteResponse.Result.CREATED));
+        doAnswer(invocation -> {
+            List<CorrelationAlert> alerts = invocation.getArgument(0);
+            ActionListener<BulkResponse> listener = invocation.getArgument(2);
+            DocWriteResponse.Result result = results.remove(0);
+            BulkItemResponse[] items = new BulkItemResponse[alerts.size()];
+            for (int idx = 0; idx < items.length; ++idx) {
+                items[idx] = BulkItemResponse.success(idx, DocWriteRequest.OpType.UPDATE, new UpdateResponse(
+                        new ShardId(CorrelationIndices.CORRELATION_ALERT_INDEX, "_na_", 0), alerts.get(idx).getId(), 1L, 1L, 1L, result));
+            }
+            listener.onResponse(new BulkResponse(items, 1L));
+            return null;
+        }).when(alertService).bulkIndexCorrelationAlerts(any(), any(), any());
+
+        tick.getValue().run();
+
+        ArgumentCaptor<List<CorrelationAlert>> alerts = ArgumentCaptor.forClass(List.class);
+        verify(alertService, times(2)).getOpenAlerts(any(Collection.class), anyLong(), any());
+        verify(alertService, times(2)).bulkIndexCorrelationAlerts(alerts.capture(), eq(indexTimeout), any());
+        assertEquals("alert-1", alerts.getAllValues().get(0).get(0).getId());
+        // the acknowledged alert is left alone & a new one is opened.
+        assertNotEquals("alert-1", alerts.getAllValues().get(1).get(0).getId());
+        assertEquals(List.of("finding-1"), alerts.getAllValues().get(1).get(0).getCorrelatedFindingIds());
+        assertTrue(results.isEmpty());
+    }
+}
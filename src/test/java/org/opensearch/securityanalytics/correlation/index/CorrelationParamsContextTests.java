@@ -0,0 +1,35 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index;
+
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+
+public class CorrelationParamsContextTests extends OpenSearchTestCase {
+
+    public void testParseQuantization() {
+        CorrelationParamsContext context = CorrelationParamsContext.parse(Map.of(
+                CorrelationParamsContext.VECTOR_SIMILARITY_FUNCTION, VectorSimilarityFunction.EUCLIDEAN.name(),
+                CorrelationParamsContext.PARAMETERS, Map.of(
+                        CorrelationConstants.METHOD_PARAMETER_M, 16,
+                        CorrelationConstants.METHOD_PARAMETER_QUANTIZATION, "int7"
+                )
+        ));
+
+        assertEquals("int7", context.getParameters().get(CorrelationConstants.METHOD_PARAMETER_QUANTIZATION));
+        assertEquals(VectorQuantization.INT7, VectorQuantization.fromString("int7"));
+        assertEquals(7, VectorQuantization.INT7.getBits());
+    }
+
+    public void testParseInvalidQuantization() {
+        expectThrows(MapperParsingException.class, () -> CorrelationParamsContext.parse(Map.of(
+                CorrelationParamsContext.PARAMETERS, Map.of(CorrelationConstants.METHOD_PARAMETER_QUANTIZATION, "int3")
+        )));
+    }
+}
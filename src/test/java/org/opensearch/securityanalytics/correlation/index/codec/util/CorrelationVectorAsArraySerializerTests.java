@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec.util;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+public class CorrelationVectorAsArraySerializerTests extends OpenSearchTestCase {
+
+    private final CorrelationVectorSerializer serializer = new CorrelationVectorAsArraySerializer();
+
+    public void testRoundTrip() {
+        float[] vector = new float[]{12350.0f, 12300.0f, 86400.0f};
+
+        byte[] bytes = serializer.floatToByteArray(vector);
+        assertEquals(1 + 3 * Float.BYTES, bytes.length);
+        assertEquals(CorrelationVectorAsArraySerializer.FORMAT_FLOAT32_LE, bytes[0]);
+        assertArrayEquals(vector, serializer.byteToFloatArray(new ByteArrayInputStream(bytes)), 0.0f);
+    }
+
+    public void testDecodeWithOffset() {
+        byte[] encoded = serializer.floatToByteArray(new float[]{1.5f, -2.0f});
+        byte[] bytes = new byte[encoded.length + 4];
+        System.arraycopy(encoded, 0, bytes, 2, encoded.length);
+
+        assertArrayEquals(new float[]{1.5f, -2.0f}, serializer.byteToFloatArray(bytes, 2, encoded.length), 0.0f);
+    }
+
+    public void testDecodeJavaSerializedVector() throws IOException {
+        float[] vector = new float[]{50.0f, 0.0f, 3600.0f};
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectStream = new ObjectOutputStream(byteStream)) {
+            objectStream.writeObject(vector);
+        }
+
+        assertArrayEquals(vector, serializer.byteToFloatArray(new ByteArrayInputStream(byteStream.toByteArray())), 0.0f);
+    }
+
+    public void testRejectsUnknownFormat() {
+        expectThrows(IllegalArgumentException.class, () -> serializer.byteToFloatArray(new byte[]{7, 0, 0, 0, 0}, 0, 5));
+        expectThrows(IllegalArgumentException.class, () -> serializer.byteToFloatArray(new byte[]{1, 0, 0}, 0, 3));
+    }
+}
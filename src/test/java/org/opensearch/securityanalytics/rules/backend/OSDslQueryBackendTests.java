@@ -0,0 +1,110 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.PrefixQueryBuilder;
+import org.opensearch.index.query.RegexpQueryBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
+import org.opensearch.index.query.WildcardQueryBuilder;
+import org.opensearch.securityanalytics.rules.exceptions.CompositeSigmaErrors;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class OSDslQueryBackendTests extends OpenSearchTestCase {
+
+    private static Map<String, String> testFieldMapping = Map.of(
+        "fieldA", "mappedA",
+        "fieldB", "mappedB"
+    );
+
+    public void testConvertRule() throws IOException, SigmaError, CompositeSigmaErrors {
+        OSDslQueryBackend queryBackend = new OSDslQueryBackend(testFieldMapping, false, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                        "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                        "            status: test\n" +
+                        "            level: critical\n" +
+                        "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                        "            author: Florian Roth\n" +
+                        "            date: 2017/05/15\n" +
+                        "            logsource:\n" +
+                        "                category: test_category\n" +
+                        "                product: test_product\n" +
+                        "            detection:\n" +
+                        "                sel:\n" +
+                        "                    fieldA:\n" +
+                        "                        - val1\n" +
+                        "                        - val2\n" +
+                        "                        - val3\n" +
+                        "                    fieldB|startswith: pre\n" +
+                        "                    fieldC|re: 'ab.*c'\n" +
+                        "                    fieldE|contains: 'a b'\n" +
+                        "                filter:\n" +
+                        "                    fieldD: 5\n" +
+                        "                condition: sel and not filter", false));
+        Assert.assertEquals(1, queries.size());
+
+        BoolQueryBuilder query = (BoolQueryBuilder) queries.get(0);
+        Assert.assertEquals(2, query.filter().size());
+
+        BoolQueryBuilder sel = (BoolQueryBuilder) query.filter().get(0);
+        Assert.assertEquals(4, sel.filter().size());
+        TermsQueryBuilder fieldA = (TermsQueryBuilder) sel.filter().get(0);
+        Assert.assertEquals("mappedA", fieldA.fieldName());
+        Assert.assertEquals(List.of("val1", "val2", "val3"), fieldA.values());
+        PrefixQueryBuilder fieldB = (PrefixQueryBuilder) sel.filter().get(1);
+        Assert.assertEquals("mappedB", fieldB.fieldName());
+        Assert.assertEquals("pre", fieldB.value());
+        RegexpQueryBuilder fieldC = (RegexpQueryBuilder) sel.filter().get(2);
+        Assert.assertEquals("ab.*c", fieldC.value());
+        WildcardQueryBuilder fieldE = (WildcardQueryBuilder) sel.filter().get(3);
+        Assert.assertEquals("*a b*", fieldE.value());
+
+        BoolQueryBuilder filter = (BoolQueryBuilder) query.filter().get(1);
+        TermQueryBuilder fieldD = (TermQueryBuilder) filter.mustNot().get(0);
+        Assert.assertEquals("fieldD", fieldD.fieldName());
+        Assert.assertEquals(5, fieldD.value());
+        Assert.assertEquals("fieldD", ((ExistsQueryBuilder) filter.filter().get(0)).fieldName());
+
+        Assert.assertEquals(Map.of("type", "integer"), queryBackend.getQueryFields().get("fieldD"));
+        Assert.assertTrue(queryBackend.getQueryFields().containsKey("mappedA"));
+    }
+
+    public void testNegatedGroup() throws IOException, SigmaError, CompositeSigmaErrors {
+        OSDslQueryBackend queryBackend = new OSDslQueryBackend(testFieldMapping, false, true);
+        List<Object> queries = queryBackend.convertRule(SigmaRule.fromYaml(
+                "            title: Test\n" +
+                        "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                        "            status: test\n" +
+                        "            level: critical\n" +
+                        "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                        "            author: Florian Roth\n" +
+                        "            date: 2017/05/15\n" +
+                        "            logsource:\n" +
+                        "                category: test_category\n" +
+                        "                product: test_product\n" +
+                        "            detection:\n" +
+                        "                sel1:\n" +
+                        "                    fieldA: val1\n" +
+                        "                sel2:\n" +
+                        "                    fieldB: val2\n" +
+                        "                condition: not (sel1 or sel2)", false));
+
+        // not (a or b) is converted into (not a and a exists) and (not b and b exists)
+        BoolQueryBuilder query = (BoolQueryBuilder) queries.get(0);
+        Assert.assertEquals(2, query.filter().size());
+        BoolQueryBuilder notA = (BoolQueryBuilder) query.filter().get(0);
+        Assert.assertEquals("mappedA", ((TermQueryBuilder) ((BoolQueryBuilder) notA.filter().get(0)).mustNot().get(0)).fieldName());
+        Assert.assertEquals("mappedA", ((ExistsQueryBuilder) notA.filter().get(1)).fieldName());
+    }
+}
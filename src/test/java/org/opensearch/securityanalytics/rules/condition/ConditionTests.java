@@ -61,6 +61,35 @@ public class ConditionTests extends OpenSearchTestCase {
         Assert.assertTrue(conditionItem.getArgs().get(0).getLeft().isLeft() && conditionItem.getArgs().get(0).getLeft().getLeft().getArgs().size() == 2);
     }
 
+    public void testSameConditionWithOtherDetections() throws SigmaError {
+        Map<String, SigmaDetection> detections = new HashMap<>();
+        detections.put("detection1", new SigmaDetection(List.of(Either.left(new SigmaDetectionItem(null, Collections.emptyList(),
+                List.of(new SigmaString("other1")), null, null, false))), null));
+        detections.put("detection2", new SigmaDetection(List.of(Either.left(new SigmaDetectionItem(null, Collections.emptyList(),
+                List.of(new SigmaString("other2")), null, null, false))), null));
+
+        ConditionItem conditionItem = new SigmaCondition("detection1 and detection2", sigmaSimpleDetections()).parsed().getLeft();
+        Assert.assertEquals("val1", conditionItem.getArgs().get(0).getLeft().get().getValue().toString());
+
+        SigmaCondition sigmaCondition = new SigmaCondition("detection1   and\tdetection2", new SigmaDetections(detections, Collections.emptyList(), null));
+        for (int i = 0; i < 2; ++i) {
+            conditionItem = sigmaCondition.parsed().getLeft();
+            Assert.assertEquals(ConditionAND.class, conditionItem.getClass());
+            Assert.assertEquals("other1", conditionItem.getArgs().get(0).getLeft().get().getValue().toString());
+            Assert.assertEquals("other2", conditionItem.getArgs().get(1).getLeft().get().getValue().toString());
+        }
+    }
+
+    public void testSelectorWhitespaceIsNotNormalized() throws SigmaError {
+        ConditionItem conditionItem = new SigmaCondition("1 of detection*", sigmaSimpleDetections()).parsed().getLeft();
+        Assert.assertEquals(ConditionOR.class, conditionItem.getClass());
+
+        // a selector needs a literal ' of ', so this condition must not share the parse tree of the one above.
+        SigmaDetections detections = sigmaSimpleDetections();
+        SigmaConditionError e = expectThrows(SigmaConditionError.class, () -> new SigmaCondition("1  of detection*", detections).parsed());
+        Assert.assertEquals("Condition '1  of detection*' is neither a detection identifier nor a selector", e.getMessage());
+    }
+
     public void testSelector1() throws SigmaError {
         SigmaCondition sigmaCondition = new SigmaCondition("1 of detection*", sigmaSimpleDetections());
         ConditionItem conditionItem = sigmaCondition.parsed().getLeft();
@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+public class AutoCorrelationsRepoTests extends OpenSearchTestCase {
+
+    @After
+    public void resetAutoCorrelations() throws IOException {
+        AutoCorrelationsRepo.reload();
+    }
+
+    public void testAutoCorrelationsAreCached() throws IOException {
+        Map<String, Set<String>> first = AutoCorrelationsRepo.autoCorrelationsAsMap();
+        Map<String, Set<String>> second = AutoCorrelationsRepo.autoCorrelationsAsMap();
+        Assert.assertFalse(first.isEmpty());
+        Assert.assertSame(first, second);
+        expectThrows(UnsupportedOperationException.class, () -> first.put("intrusion-set", Set.of()));
+    }
+
+    public void testValidIntrusionSetsMatchesNestedLoop() throws IOException {
+        Map<String, Set<String>> autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
+        Set<String> tags = Set.of("attack.t1021.005", "attack.t1560", "attack.unknown");
+
+        Assert.assertEquals(
+                AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, tags),
+                AutoCorrelationsRepo.validIntrusionSets(tags)
+        );
+        Assert.assertTrue(AutoCorrelationsRepo.validIntrusionSets(tags).contains("intrusion-set--0ea72cd5-ca30-46ba-bc04-378f701c658f"));
+        Assert.assertTrue(AutoCorrelationsRepo.validIntrusionSets(Set.of("attack.unknown")).isEmpty());
+    }
+
+    public void testReloadSwapsSnapshot() throws IOException {
+        AutoCorrelationsRepo.reload("{\"intrusion-set--1\": [{\"mitreAttackId\": \"attack.t1\"}, {\"mitreAttackId\": \"attack.t2\"}]," +
+                "\"intrusion-set--2\": [{\"mitreAttackId\": \"attack.t2\"}]}");
+
+        Assert.assertEquals(2, AutoCorrelationsRepo.autoCorrelationsAsMap().size());
+        Assert.assertEquals(Set.of("intrusion-set--1"), AutoCorrelationsRepo.validIntrusionSets(Set.of("attack.t1")));
+        Assert.assertEquals(Set.of("intrusion-set--1", "intrusion-set--2"), AutoCorrelationsRepo.validIntrusionSets(Set.of("attack.t2")));
+    }
+
+    public void testCorrelatableTagsIncludeIntrusionSetTags() throws IOException {
+        AutoCorrelationsRepo.reload("{\"intrusion-set--1\": [{\"mitreAttackId\": \"attack.t1\"}, {\"mitreAttackId\": \"attack.t2\"}]," +
+                "\"intrusion-set--2\": [{\"mitreAttackId\": \"attack.t3\"}]}");
+
+        Assert.assertEquals(Set.of("attack.t1", "attack.t2"), AutoCorrelationsRepo.correlatableTags(Set.of("attack.t1")));
+        Assert.assertEquals(Set.of("attack.t1", "attack.t2", "attack.t3"), AutoCorrelationsRepo.correlatableTags(Set.of("attack.t2", "attack.t3")));
+        Assert.assertEquals(Set.of("attack.t4"), AutoCorrelationsRepo.correlatableTags(Set.of("attack.t4")));
+        Assert.assertTrue(AutoCorrelationsRepo.correlatableTags(Set.of()).isEmpty());
+    }
+}
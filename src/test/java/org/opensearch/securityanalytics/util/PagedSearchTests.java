@@ -0,0 +1,151 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PagedSearchTests extends OpenSearchTestCase {
+
+    private static final int PAGE_SIZE = 3;
+
+    /**
+     * Stub client serving the given hits sorted by id & honouring search_after of the point in time pages.
+     */
+    private static Client newClient(List<String> ids, List<SearchRequest> searches, Exception pitFailure) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            searches.add(request);
+            Object[] searchAfter = request.source().searchAfter();
+            List<SearchHit> hits = new ArrayList<>();
+            for (String id: ids) {
+                if ((searchAfter == null || id.compareTo(searchAfter[0].toString()) > 0) && hits.size() < request.source().size()) {
+                    SearchHit hit = new SearchHit(1, id, Map.of(), Map.of());
+                    hit.sortValues(new Object[]{id}, new DocValueFormat[]{DocValueFormat.RAW});
+                    hits.add(hit);
+                }
+            }
+            SearchResponse response = mock(SearchResponse.class);
+            when(response.getHits()).thenReturn(new SearchHits(hits.toArray(new SearchHit[0]),
+                    new TotalHits(ids.size(), TotalHits.Relation.EQUAL_TO), 1.0f));
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(response);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<CreatePitResponse> listener = invocation.getArgument(1);
+            if (pitFailure != null) {
+                listener.onFailure(pitFailure);
+            } else {
+                CreatePitResponse response = mock(CreatePitResponse.class);
+                when(response.getId()).thenReturn("pit-1");
+                listener.onResponse(response);
+            }
+            return null;
+        }).when(client).createPit(any(CreatePitRequest.class), any());
+        return client;
+    }
+
+    private static SearchRequest newRequest() {
+        SearchRequest request = new SearchRequest("findings-*");
+        request.source(new SearchSourceBuilder().query(QueryBuilders.matchAllQuery()).fetchSource(false));
+        request.preference(Preference.PRIMARY_FIRST.type());
+        return request;
+    }
+
+    private static List<String> consume(Client client, List<SearchHit[]> pages, AtomicReference<Exception> failure) {
+        PagedSearch.search(client, newRequest(), "id", PAGE_SIZE, pages::add,
+                ActionListener.wrap(response -> {}, failure::set));
+        return pages.stream().flatMap(Arrays::stream).map(SearchHit::getId).collect(Collectors.toList());
+    }
+
+    public void testPartialPageSkipsPointInTime() {
+        List<SearchRequest> searches = new ArrayList<>();
+        Client client = newClient(List.of("a", "b"), searches, null);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        assertEquals(List.of("a", "b"), consume(client, new ArrayList<>(), failure));
+        assertNull(failure.get());
+        assertEquals(1, searches.size());
+        verify(client, never()).createPit(any(CreatePitRequest.class), any());
+    }
+
+    public void testExactlyOnePageKeepsTheFirstPage() {
+        List<SearchRequest> searches = new ArrayList<>();
+        Client client = newClient(List.of("a", "b", "c"), searches, null);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        assertEquals(List.of("a", "b", "c"), consume(client, new ArrayList<>(), failure));
+        assertNull(failure.get());
+        assertEquals(2, searches.size());
+
+        // the point in time continues after the first page instead of fetching it again.
+        SearchRequest pitSearch = searches.get(1);
+        assertEquals("pit-1", pitSearch.source().pointInTimeBuilder().getId());
+        assertArrayEquals(new Object[]{"c"}, pitSearch.source().searchAfter());
+        assertEquals(Preference.PRIMARY_FIRST.type(), pitSearch.preference());
+        verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
+    }
+
+    public void testMoreThanOnePageIsStreamedThroughPointInTime() {
+        List<SearchRequest> searches = new ArrayList<>();
+        Client client = newClient(List.of("a", "b", "c", "d", "e", "f", "g"), searches, null);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        List<SearchHit[]> pages = new ArrayList<>();
+        assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), consume(client, pages, failure));
+        assertNull(failure.get());
+        assertEquals(3, pages.size());
+        assertEquals(3, searches.size());
+        assertNull(searches.get(0).source().pointInTimeBuilder());
+        for (SearchRequest pitSearch: searches.subList(1, searches.size())) {
+            assertEquals("pit-1", pitSearch.source().pointInTimeBuilder().getId());
+            assertEquals(Preference.PRIMARY_FIRST.type(), pitSearch.preference());
+        }
+        verify(client, times(1)).createPit(any(CreatePitRequest.class), any());
+        verify(client, times(1)).deletePits(any(DeletePitRequest.class), any());
+    }
+
+    public void testPointInTimeCreationFailureFailsTheSearch() {
+        List<SearchRequest> searches = new ArrayList<>();
+        Exception pitFailure = new IllegalStateException("too many point in times");
+        Client client = newClient(List.of("a", "b", "c", "d"), searches, pitFailure);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        consume(client, new ArrayList<>(), failure);
+        assertSame(pitFailure, failure.get());
+        assertEquals(1, searches.size());
+        verify(client, never()).deletePits(any(DeletePitRequest.class), any());
+    }
+}
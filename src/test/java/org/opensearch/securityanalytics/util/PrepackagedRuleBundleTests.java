@@ -0,0 +1,88 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PrepackagedRuleBundleTests extends OpenSearchTestCase {
+
+    public void testWriteAndReadRules() throws Exception {
+        Path rulesDir = createTempDir();
+        copyRule("windows/builtin/application/win_audit_cve.yml", rulesDir.resolve("windows"));
+        copyRule("linux/auditd/lnx_auditd_audio_capture.yml", rulesDir.resolve("linux"));
+        copyRule("linux/auditd/lnx_auditd_audio_capture.yml", rulesDir.resolve("unknown_log_type"));
+
+        StringWriter writer = new StringWriter();
+        int count = PrepackagedRuleBundle.writeRules(rulesDir, new BuiltinLogTypeLoader(), writer);
+        assertEquals(2, count);
+        assertEquals(5, writer.toString().split("\n").length);
+
+        Map<String, BytesReference> rules = new LinkedHashMap<>();
+        assertTrue(PrepackagedRuleBundle.readRules(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)),
+                Set.of("windows"), rules::put));
+        assertEquals(1, rules.size());
+
+        Map<String, Object> source = XContentHelper.convertToMap(JsonXContent.jsonXContent, rules.values().iterator().next().utf8ToString(), false);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> rule = (Map<String, Object>) source.get("rule");
+        assertEquals("windows", rule.get("category"));
+        assertFalse(((List<?>) rule.get("queries")).isEmpty());
+        assertNotNull(rule.get("rule"));
+    }
+
+    public void testRulesAreOrderedByCategory() throws Exception {
+        Path rulesDir = createTempDir();
+        copyRule("linux/auditd/lnx_auditd_audio_capture.yml", rulesDir.resolve("linux"));
+        copyRule("windows/builtin/application/win_audit_cve.yml", rulesDir.resolve("windows"));
+
+        StringWriter writer = new StringWriter();
+        PrepackagedRuleBundle.writeRules(rulesDir, new BuiltinLogTypeLoader(), writer);
+
+        List<String> categories = new ArrayList<>();
+        String[] lines = writer.toString().split("\n");
+        for (int idx = 1; idx < lines.length; idx += 2) {
+            categories.add(XContentHelper.convertToMap(JsonXContent.jsonXContent, lines[idx], false).get("category").toString());
+        }
+        assertEquals(List.of("linux", "windows"), categories);
+    }
+
+    public void testBundleOfOtherVersionIsNotRead() throws Exception {
+        Path rulesDir = createTempDir();
+        copyRule("windows/builtin/application/win_audit_cve.yml", rulesDir.resolve("windows"));
+
+        StringWriter writer = new StringWriter();
+        PrepackagedRuleBundle.writeRules(rulesDir, new BuiltinLogTypeLoader(), writer);
+        String bundle = writer.toString().replaceFirst("\"bundle_version\":" + PrepackagedRuleBundle.BUNDLE_VERSION,
+                "\"bundle_version\":" + (PrepackagedRuleBundle.BUNDLE_VERSION + 1));
+
+        Map<String, BytesReference> rules = new LinkedHashMap<>();
+        assertFalse(PrepackagedRuleBundle.readRules(new ByteArrayInputStream(bundle.getBytes(StandardCharsets.UTF_8)),
+                Set.of("windows"), rules::put));
+        assertTrue(rules.isEmpty());
+    }
+
+    private void copyRule(String resource, Path categoryDir) throws URISyntaxException, IOException {
+        Files.createDirectories(categoryDir);
+        Path source = Path.of(getClass().getClassLoader().getResource("rules/" + resource).toURI());
+        Files.copy(source, categoryDir.resolve(source.getFileName()));
+    }
+}
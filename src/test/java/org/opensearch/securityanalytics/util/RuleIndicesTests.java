@@ -0,0 +1,222 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.securityanalytics.logtype.BuiltinLogTypeLoader;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RuleIndicesTests extends OpenSearchTestCase {
+
+    private static final String WINDOWS_RULE = "windows/builtin/application/win_audit_cve.yml";
+
+    private static final String LINUX_RULE = "linux/auditd/lnx_auditd_audio_capture.yml";
+
+    private static final String S3_RULE_ID = "78b3756a-7804-4ef7-8555-7b9024a02e2d";
+
+    private RuleIndices newRuleIndices(int compilationParallelism) {
+        return newRuleIndices(compilationParallelism, mock(Client.class));
+    }
+
+    private RuleIndices newRuleIndices(int compilationParallelism, Client client) {
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.RULE_COMPILATION_PARALLELISM.getKey(), compilationParallelism)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(settings);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(SecurityAnalyticsSettings.RULE_COMPILATION_PARALLELISM)));
+
+        BuiltinLogTypeLoader logTypeLoader = new BuiltinLogTypeLoader();
+        LogTypeService logTypeService = mock(LogTypeService.class);
+        when(logTypeService.getRuleFieldMappingsForBuiltinLogType(anyString())).thenAnswer(
+                invocation -> LogTypeService.getRuleFieldMappings(logTypeLoader.getLogTypeByName(invocation.getArgument(0))));
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(0);
+            listener.onResponse(null);
+            return null;
+        }).when(logTypeService).ensureConfigIndexIsInitialized(any());
+
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.executor(ThreadPool.Names.GENERIC)).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        return new RuleIndices(logTypeService, client, clusterService, threadPool);
+    }
+
+    /**
+     * Stub client serving the given log types & capturing the bulk requests of the imports.
+     */
+    private static Client newClient(List<BulkRequest> bulkRequests, String... logTypes) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            SearchHit[] hits = new SearchHit[logTypes.length];
+            for (int idx = 0; idx < logTypes.length; ++idx) {
+                hits[idx] = new SearchHit(idx, logTypes[idx], Map.of(), Map.of());
+                hits[idx].sourceRef(new BytesArray("{\"name\":\"" + logTypes[idx] + "\",\"source\":\"Sigma\"}"));
+            }
+            SearchResponse response = mock(SearchResponse.class);
+            when(response.getHits()).thenReturn(new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f));
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(response);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            bulkRequests.add(invocation.getArgument(0));
+            ActionListener<BulkResponse> listener = invocation.getArgument(1);
+            listener.onResponse(new BulkResponse(new BulkItemResponse[]{}, 1));
+            return null;
+        }).when(client).bulk(any(BulkRequest.class), any());
+        return client;
+    }
+
+    private static List<String> importRules(RuleIndices ruleIndices, String bundleResource, List<BulkRequest> bulkRequests) {
+        PlainActionFuture<BulkResponse> future = new PlainActionFuture<>();
+        ruleIndices.importRules(bundleResource, WriteRequest.RefreshPolicy.NONE, TimeValue.timeValueMinutes(1L), future);
+        future.actionGet();
+        assertEquals(1, bulkRequests.size());
+        return bulkRequests.get(0).requests().stream().map(DocWriteRequest::id).collect(Collectors.toList());
+    }
+
+    private static List<Rule> compileRules(RuleIndices ruleIndices, Map<String, List<String>> logIndexToRules) {
+        PlainActionFuture<List<Rule>> future = new PlainActionFuture<>();
+        ruleIndices.compileRules(logIndexToRules, future);
+        return future.actionGet();
+    }
+
+    public void testSecondImportReusesCompiledRules() throws Exception {
+        RuleIndices ruleIndices = newRuleIndices(2);
+        Map<String, List<String>> logIndexToRules = Map.of(
+                "windows", List.of(readRule(WINDOWS_RULE)),
+                "linux", List.of(readRule(LINUX_RULE))
+        );
+
+        List<Rule> firstImport = compileRules(ruleIndices, logIndexToRules);
+        assertEquals(2, firstImport.size());
+
+        List<Rule> secondImport = compileRules(ruleIndices, logIndexToRules);
+        assertEquals(2, secondImport.size());
+        for (int idx = 0; idx < firstImport.size(); ++idx) {
+            assertSame(firstImport.get(idx), secondImport.get(idx));
+        }
+
+        // the same rule in another category is compiled with the field mappings of that category.
+        List<Rule> otherCategory = compileRules(ruleIndices, Map.of("test_windows", List.of(readRule(WINDOWS_RULE))));
+        assertNotSame(firstImport.get(0), otherCategory.get(0));
+        assertNotSame(firstImport.get(1), otherCategory.get(0));
+        assertEquals("test_windows", otherCategory.get(0).getCategory());
+    }
+
+    public void testCompilationErrorFailsTheImport() throws Exception {
+        RuleIndices ruleIndices = newRuleIndices(1);
+        PlainActionFuture<List<Rule>> future = new PlainActionFuture<>();
+        ruleIndices.compileRules(Map.of("windows", List.of(readRule(WINDOWS_RULE), "title: broken\n")), future);
+        expectThrows(Exception.class, future::actionGet);
+    }
+
+    public void testBundledRulesAreImportedWithoutCompilation() {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        RuleIndices ruleIndices = newRuleIndices(1, newClient(bulkRequests, "s3"));
+
+        assertEquals(List.of("bundled-s3-rule"), importRules(ruleIndices, "rules_bundle/test_rules.ndjson", bulkRequests));
+    }
+
+    public void testMissingBundleFallsBackToCompilation() {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        RuleIndices ruleIndices = newRuleIndices(1, newClient(bulkRequests, "s3"));
+
+        assertEquals(List.of(S3_RULE_ID), importRules(ruleIndices, "rules_bundle/missing_rules.ndjson", bulkRequests));
+    }
+
+    public void testIncompatibleBundleFallsBackToCompilation() {
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        RuleIndices ruleIndices = newRuleIndices(1, newClient(bulkRequests, "s3"));
+
+        assertEquals(List.of(S3_RULE_ID), importRules(ruleIndices, "rules_bundle/incompatible_rules.ndjson", bulkRequests));
+    }
+
+    public void testImportOrder() {
+        assertEquals(List.of("others_cloud", "linux", "test_windows", "windows"),
+                RuleIndices.importOrder(List.of("windows", "test_windows", "others_cloud", "linux")));
+    }
+
+    public void testRuleDuplicatedAcrossCategoriesIsImportedInTheSameOrderOnBothPaths() throws Exception {
+        Path rulesDir = createTempDir();
+        for (String category: List.of("windows", "test_windows")) {
+            Files.createDirectories(rulesDir.resolve(category));
+            Files.writeString(rulesDir.resolve(category).resolve("win_audit_cve.yml"), readRule(WINDOWS_RULE), StandardCharsets.UTF_8);
+        }
+        StringWriter writer = new StringWriter();
+        PrepackagedRuleBundle.writeRules(rulesDir, new BuiltinLogTypeLoader(), writer);
+
+        List<String> bundled = new ArrayList<>();
+        PrepackagedRuleBundle.readRules(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)),
+                Set.of("windows", "test_windows"), (id, source) -> bundled.add(id + "/" + ruleCategory(source)));
+
+        Map<String, List<String>> logIndexToRules = new LinkedHashMap<>();
+        logIndexToRules.put("windows", List.of(readRule(WINDOWS_RULE)));
+        logIndexToRules.put("test_windows", List.of(readRule(WINDOWS_RULE)));
+        List<String> compiled = compileRules(newRuleIndices(2), logIndexToRules).stream()
+                .map(rule -> rule.getId() + "/" + rule.getCategory())
+                .collect(Collectors.toList());
+
+        // the last of the duplicates wins the bulk load, so both paths have to agree on it.
+        assertEquals(2, compiled.size());
+        assertEquals(compiled, bundled);
+        assertTrue(compiled.get(1).endsWith("/windows"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String ruleCategory(BytesReference source) {
+        Map<String, Object> rule = (Map<String, Object>) XContentHelper.convertToMap(JsonXContent.jsonXContent, source.utf8ToString(), false).get("rule");
+        return rule.get("category").toString();
+    }
+
+    private String readRule(String resource) throws URISyntaxException, IOException {
+        return Files.readString(Path.of(getClass().getClassLoader().getResource("rules/" + resource).toURI()), StandardCharsets.UTF_8);
+    }
+}